@@ -1,34 +1,354 @@
 package ADTs;
 
-public class DLinkedList {
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
-    Node head;
+/**
+ * A doubly linked list of primitive ints.
+ * <p>
+ * Nodes are not objects: value, next and prev of node {@code i} are stored at index
+ * {@code i} of three parallel int arrays. Removed nodes are put on a free list and reused
+ * by later insertions, so a queue that keeps adding and removing elements stops allocating
+ * once the arrays have grown to its working size.
+ * <p>
+ * Methods that add an element return the node's handle, which can be passed to
+ * {@link #insertAfter(int, int)}, {@link #insertBefore(int, int)} or {@link #remove(int)}
+ * for O(1) updates in the middle of the list. A handle stays valid until its node is removed.
+ */
+public class DLinkedList implements Iterable<Integer> {
+
+    static final int NIL = -1;
+    // Marks a node on the free list, so stale handles can be detected
+    private static final int FREE = -2;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    int[] values;
+    int[] next;
+    int[] prev;
+    int head = NIL;
+    int tail = NIL;
+    private int freeList = NIL;
+    // Nodes at index >= allocated have never been used
+    private int allocated;
+    private int size;
 
     public DLinkedList() {
-        head = null;
+        this(0);
     }
 
+    /**
+     * Constructs a list holding {@code length} zeros, with storage for that many nodes but at
+     * least 16.
+     *
+     * @param length The initial number of elements.
+     * @throws IllegalArgumentException If length is negative.
+     */
     public DLinkedList(int length) {
-        Node newNode = new Node(0, 0, null, null);
-        head = newNode;
-        for (int i = 1; i < length; i++) {
-            newNode.next = new Node(0, i, null, newNode);
-            newNode = newNode.next;
+        if (length < 0) {
+            throw new IllegalArgumentException("The length must not be negative");
+        }
+        int capacity = Math.max(length, DEFAULT_CAPACITY);
+        values = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        for (int i = 0; i < length; i++) {
+            addLast(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements. The node storage is kept for reuse.
+     */
+    public void clear() {
+        head = NIL;
+        tail = NIL;
+        freeList = NIL;
+        allocated = 0;
+        size = 0;
+    }
+
+    public int addFirst(int value) {
+        int node = allocate(value);
+        link(node, NIL, head);
+        return node;
+    }
+
+    public int addLast(int value) {
+        int node = allocate(value);
+        link(node, tail, NIL);
+        return node;
+    }
+
+    /**
+     * Inserts a value directly after the given node.
+     *
+     * @param node  The handle of an element of this list.
+     * @param value The value to insert.
+     * @return The handle of the new node.
+     * @throws IllegalArgumentException If the handle does not belong to a live node.
+     */
+    public int insertAfter(int node, int value) {
+        checkNode(node);
+        int newNode = allocate(value);
+        link(newNode, node, next[node]);
+        return newNode;
+    }
+
+    /**
+     * Inserts a value directly before the given node.
+     *
+     * @param node  The handle of an element of this list.
+     * @param value The value to insert.
+     * @return The handle of the new node.
+     * @throws IllegalArgumentException If the handle does not belong to a live node.
+     */
+    public int insertBefore(int node, int value) {
+        checkNode(node);
+        int newNode = allocate(value);
+        link(newNode, prev[node], node);
+        return newNode;
+    }
+
+    public int removeFirst() {
+        if (head == NIL) {
+            throw new NoSuchElementException("The list is empty");
         }
+        return remove(head);
     }
 
-    static class Node {
-        int value;
-        int index;
-        Node next;
-        Node prev;
+    public int removeLast() {
+        if (tail == NIL) {
+            throw new NoSuchElementException("The list is empty");
+        }
+        return remove(tail);
+    }
 
-        Node(int value, int index, Node next, Node prev) {
-            this.value = value;
-            this.index = index;
-            this.next = next;
-            this.prev = prev;
+    /**
+     * Removes the given node and returns its storage to the free list.
+     *
+     * @param node The handle of an element of this list.
+     * @return The value of the removed node.
+     * @throws IllegalArgumentException If the handle does not belong to a live node.
+     */
+    public int remove(int node) {
+        checkNode(node);
+        int before = prev[node];
+        int after = next[node];
+        if (before == NIL) {
+            head = after;
+        } else {
+            next[before] = after;
         }
+        if (after == NIL) {
+            tail = before;
+        } else {
+            prev[after] = before;
+        }
+        prev[node] = FREE;
+        next[node] = freeList;
+        freeList = node;
+        size--;
+        return values[node];
     }
 
+    /**
+     * Moves the given node to the head of the list. Its handle stays the same.
+     *
+     * @param node The handle of an element of this list.
+     * @throws IllegalArgumentException If the handle does not belong to a live node.
+     */
+    public void moveToFront(int node) {
+        checkNode(node);
+        if (node == head) {
+            return;
+        }
+        int before = prev[node];
+        int after = next[node];
+        next[before] = after;
+        if (after == NIL) {
+            tail = before;
+        } else {
+            prev[after] = before;
+        }
+        link(node, NIL, head);
+    }
+
+    public int getFirst() {
+        if (head == NIL) {
+            throw new NoSuchElementException("The list is empty");
+        }
+        return values[head];
+    }
+
+    public int getLast() {
+        if (tail == NIL) {
+            throw new NoSuchElementException("The list is empty");
+        }
+        return values[tail];
+    }
+
+    /**
+     * Retrieves the element at the given position, walking from whichever end is closer.
+     *
+     * @param index The position of the element, starting at 0.
+     * @return The element at that position.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+     */
+    public int get(int index) {
+        return values[nodeAt(index)];
+    }
+
+    /**
+     * Replaces the element at the given position, walking from whichever end is closer.
+     *
+     * @param index The position of the element, starting at 0.
+     * @param value The new value.
+     * @return The previous value.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+     */
+    public int set(int index, int value) {
+        int node = nodeAt(index);
+        int old = values[node];
+        values[node] = value;
+        return old;
+    }
+
+    /**
+     * Retrieves the handle of the node at the given position.
+     *
+     * @param index The position of the element, starting at 0.
+     * @return The node handle.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+     */
+    public int nodeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int node;
+        if (index < size / 2) {
+            node = head;
+            for (int i = 0; i < index; i++) {
+                node = next[node];
+            }
+        } else {
+            node = tail;
+            for (int i = size - 1; i > index; i--) {
+                node = prev[node];
+            }
+        }
+        return node;
+    }
+
+    public int firstNode() {
+        return head;
+    }
+
+    public int lastNode() {
+        return tail;
+    }
+
+    /**
+     * @return The handle of the following node, or {@link #NIL} at the end of the list.
+     */
+    public int nextNode(int node) {
+        checkNode(node);
+        return next[node];
+    }
+
+    /**
+     * @return The handle of the preceding node, or {@link #NIL} at the start of the list.
+     */
+    public int prevNode(int node) {
+        checkNode(node);
+        return prev[node];
+    }
+
+    public int value(int node) {
+        checkNode(node);
+        return values[node];
+    }
+
+    public int[] toArray() {
+        int[] array = new int[size];
+        int i = 0;
+        for (int node = head; node != NIL; node = next[node]) {
+            array[i++] = values[node];
+        }
+        return array;
+    }
+
+    /**
+     * Iterates from head to tail without boxing when used through {@code nextInt()}.
+     * The list must not be modified during iteration.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int node = head;
+
+            @Override
+            public boolean hasNext() {
+                return node != NIL;
+            }
+
+            @Override
+            public int nextInt() {
+                if (node == NIL) {
+                    throw new NoSuchElementException();
+                }
+                int value = values[node];
+                node = next[node];
+                return value;
+            }
+        };
+    }
+
+    private int allocate(int value) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = next[node];
+        } else {
+            if (allocated == values.length) {
+                int capacity = Math.max(DEFAULT_CAPACITY, values.length * 2);
+                values = Arrays.copyOf(values, capacity);
+                next = Arrays.copyOf(next, capacity);
+                prev = Arrays.copyOf(prev, capacity);
+            }
+            node = allocated++;
+        }
+        values[node] = value;
+        size++;
+        return node;
+    }
+
+    private void link(int node, int before, int after) {
+        prev[node] = before;
+        next[node] = after;
+        if (before == NIL) {
+            head = node;
+        } else {
+            next[before] = node;
+        }
+        if (after == NIL) {
+            tail = node;
+        } else {
+            prev[after] = node;
+        }
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= allocated || prev[node] == FREE) {
+            throw new IllegalArgumentException("Invalid node handle " + node);
+        }
+    }
 }
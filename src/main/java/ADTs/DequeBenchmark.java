@@ -0,0 +1,128 @@
+package ADTs;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares {@link WorkStealingDeque} with {@link ConcurrentLinkedDeque} in a work-stealing
+ * setting: one owner thread pushes tasks and pops half of them again, while 0 to 7 thieves
+ * steal from the other end. Every measurement is repeated a few times first to warm up the
+ * JIT. The output is the number of tasks handed out per millisecond.
+ */
+public class DequeBenchmark {
+
+    private static final int TASKS = 1 << 22;
+    private static final int WARMUP_ROUNDS = 3;
+
+    interface TaskDeque {
+        void push(Integer task);
+
+        Integer pop();
+
+        Integer steal();
+    }
+
+    interface Factory {
+        TaskDeque create();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%8s %26s %30s%n", "Thieves", "WorkStealingDeque [ops/ms]", "ConcurrentLinkedDeque [ops/ms]");
+        for (int thieves = 0; thieves < 8; thieves = thieves * 2 + 1) {
+            double workStealing = measure(thieves, DequeBenchmark::workStealingDeque);
+            double linked = measure(thieves, DequeBenchmark::concurrentLinkedDeque);
+            System.out.printf("%8d %26.1f %30.1f%n", thieves, workStealing, linked);
+        }
+    }
+
+    private static TaskDeque workStealingDeque() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+        return new TaskDeque() {
+            @Override
+            public void push(Integer task) {
+                deque.push(task);
+            }
+
+            @Override
+            public Integer pop() {
+                return deque.pop();
+            }
+
+            @Override
+            public Integer steal() {
+                return deque.steal();
+            }
+        };
+    }
+
+    private static TaskDeque concurrentLinkedDeque() {
+        ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+        return new TaskDeque() {
+            @Override
+            public void push(Integer task) {
+                deque.addLast(task);
+            }
+
+            @Override
+            public Integer pop() {
+                return deque.pollLast();
+            }
+
+            @Override
+            public Integer steal() {
+                return deque.pollFirst();
+            }
+        };
+    }
+
+    private static double measure(int thieves, Factory factory) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(thieves, factory.create());
+        }
+        long nanos = run(thieves, factory.create());
+        return TASKS / (nanos / 1_000_000.0);
+    }
+
+    private static long run(int thieves, TaskDeque deque) throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        LongAdder handedOut = new LongAdder();
+        CountDownLatch finished = new CountDownLatch(thieves);
+        Integer task = 1;
+        for (int t = 0; t < thieves; t++) {
+            new Thread(() -> {
+                long stolen = 0;
+                while (!done.get()) {
+                    if (deque.steal() != null) {
+                        stolen++;
+                    }
+                }
+                while (deque.steal() != null) {
+                    stolen++;
+                }
+                handedOut.add(stolen);
+                finished.countDown();
+            }).start();
+        }
+        long begin = System.nanoTime();
+        long popped = 0;
+        for (int i = 0; i < TASKS; i++) {
+            deque.push(task);
+            if ((i & 1) == 1 && deque.pop() != null) {
+                popped++;
+            }
+        }
+        while (deque.pop() != null) {
+            popped++;
+        }
+        done.set(true);
+        finished.await();
+        long nanos = System.nanoTime() - begin;
+        handedOut.add(popped);
+        if (handedOut.sum() != TASKS) {
+            throw new IllegalStateException("Lost tasks: " + (TASKS - handedOut.sum()));
+        }
+        return nanos;
+    }
+}
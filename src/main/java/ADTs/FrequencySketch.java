@@ -0,0 +1,98 @@
+package ADTs;
+
+/**
+ * A count-min sketch with 4-bit counters that estimates how often an int key was seen
+ * (Einziger, Friedman and Manes, "TinyLFU: A Highly Efficient Cache Admission Policy").
+ * <p>
+ * Each key maps to one counter in each of four rows. A row is not a separate array: sixteen
+ * counters are packed into one long, and all four counters of a key are taken from the same
+ * long, so an update touches a single cache line. The estimate is the smallest of the four
+ * counters. Once the number of increments reaches ten times the table size, every counter
+ * is halved, so the sketch follows recent popularity instead of the whole history.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param expectedKeys The number of distinct keys to tell apart, typically the cache capacity.
+     * @throws IllegalArgumentException If expectedKeys is less than 1.
+     */
+    public FrequencySketch(int expectedKeys) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("The number of expected keys must be positive");
+        }
+        int length = Integer.highestOneBit(Math.min(expectedKeys, 1 << 26) - 1 | 1) << 1;
+        table = new long[length];
+        sampleSize = 10 * Math.max(length, 16);
+    }
+
+    /**
+     * @param key The key.
+     * @return The estimated number of recent occurrences, between 0 and 15.
+     */
+    public int frequency(int key) {
+        long word = table[index(key)];
+        int hash = spread(key);
+        int frequency = 15;
+        for (int row = 0; row < 4; row++) {
+            frequency = Math.min(frequency, (int) (word >>> offset(hash, row)) & 0xF);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts one occurrence of the key. Counters saturate at 15.
+     *
+     * @param key The key.
+     */
+    public void increment(int key) {
+        int index = index(key);
+        int hash = spread(key);
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            int offset = offset(hash, row);
+            if (((table[index] >>> offset) & 0xF) != 0xF) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    // Halves every counter, a shift per word followed by masking off the bit that crossed
+    // into the neighbouring counter
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int index(int key) {
+        return (int) ((key * SEEDS[0]) >>> 32) & (table.length - 1);
+    }
+
+    // Every row uses its own group of four counters in the word, so rows never share a counter
+    private static int offset(int hash, int row) {
+        int counter = (row << 2) + ((hash >>> (row << 3)) & 3);
+        return counter << 2;
+    }
+
+    private static int spread(int key) {
+        long hash = key * SEEDS[1];
+        hash ^= hash >>> 29;
+        return (int) (hash * SEEDS[2] >>> 32);
+    }
+}
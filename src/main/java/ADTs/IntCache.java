@@ -0,0 +1,72 @@
+package ADTs;
+
+import java.util.function.IntFunction;
+
+/**
+ * A bounded cache with primitive int keys. Null values are not allowed, so a null result
+ * always means the key is not cached.
+ *
+ * @param <V> The type of the cached values.
+ */
+public interface IntCache<V> {
+
+    /**
+     * Looks up a key and counts a hit or a miss.
+     *
+     * @param key The key.
+     * @return The cached value, or null if the key is not cached.
+     */
+    V get(int key);
+
+    /**
+     * Caches a value, evicting another entry if the cache is full.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @throws NullPointerException If the value is null.
+     */
+    void put(int key, V value);
+
+    /**
+     * Removes a key from the cache.
+     *
+     * @param key The key.
+     * @return The removed value, or null if the key was not cached.
+     */
+    V remove(int key);
+
+    void clear();
+
+    int size();
+
+    int capacity();
+
+    long hitCount();
+
+    long missCount();
+
+    long evictionCount();
+
+    /**
+     * Returns the cached value or, on a miss, loads and caches it.
+     *
+     * @param key    The key.
+     * @param loader Computes the value of a missing key. A null result is not cached.
+     * @return The cached or loaded value.
+     */
+    default V computeIfAbsent(int key, IntFunction<? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    default double hitRate() {
+        long requests = hitCount() + missCount();
+        return requests == 0 ? 0 : (double) hitCount() / requests;
+    }
+}
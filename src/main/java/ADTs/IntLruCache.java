@@ -0,0 +1,188 @@
+package ADTs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A least-recently-used cache with int keys.
+ * <p>
+ * The recency order is a {@link DLinkedList} whose element values are the keys, most recently
+ * used first. Node handles double as slots in the value array, so an entry costs one list
+ * node, one value reference and one index slot, and nothing is allocated once the cache is
+ * full. The index is an open-addressing hash table with linear probing that maps keys to
+ * node handles; removals use backward-shift deletion instead of tombstones, so probe
+ * sequences never degrade.
+ * <p>
+ * All operations run in O(1). The cache is not thread-safe, see {@link StripedIntCache}.
+ *
+ * @param <V> The type of the cached values.
+ */
+public class IntLruCache<V> implements IntCache<V> {
+
+    private static final int EMPTY = 0;
+
+    private final int capacity;
+    private final DLinkedList order;
+    private final Object[] values;
+    // Node handle + 1 per slot, EMPTY marks a free slot
+    private final int[] table;
+    private final int mask;
+    private final int shift;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The maximum number of entries.
+     * @throws IllegalArgumentException If capacity is less than 1 or greater than 2^28.
+     */
+    public IntLruCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^28");
+        }
+        this.capacity = capacity;
+        this.order = new DLinkedList();
+        this.values = new Object[capacity];
+        // At most half full, so probe sequences stay short
+        int tableSize = Integer.highestOneBit(capacity) << 2;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.shift = Integer.numberOfLeadingZeros(tableSize - 1);
+    }
+
+    @Override
+    public V get(int key) {
+        int node = find(key);
+        if (node == DLinkedList.NIL) {
+            misses++;
+            return null;
+        }
+        hits++;
+        order.moveToFront(node);
+        return value(node);
+    }
+
+    @Override
+    public void put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException("The cache does not accept null values");
+        }
+        int node = find(key);
+        if (node != DLinkedList.NIL) {
+            values[node] = value;
+            order.moveToFront(node);
+            return;
+        }
+        if (order.size() == capacity) {
+            evictions++;
+            removeNode(order.lastNode());
+        }
+        node = order.addFirst(key);
+        values[node] = value;
+        int slot = home(key);
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = node + 1;
+    }
+
+    @Override
+    public V remove(int key) {
+        int node = find(key);
+        return node == DLinkedList.NIL ? null : removeNode(node);
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) != DLinkedList.NIL;
+    }
+
+    @Override
+    public void clear() {
+        order.clear();
+        Arrays.fill(values, null);
+        Arrays.fill(table, EMPTY);
+    }
+
+    @Override
+    public int size() {
+        return order.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return order.size() == capacity;
+    }
+
+    /**
+     * @return The least recently used key, which is the next one to be evicted.
+     * @throws NoSuchElementException If the cache is empty.
+     */
+    public int eldestKey() {
+        return order.getLast();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits;
+    }
+
+    @Override
+    public long missCount() {
+        return misses;
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int node) {
+        return (V) values[node];
+    }
+
+    private int find(int key) {
+        int[] keys = order.values;
+        for (int slot = home(key); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int node = table[slot] - 1;
+            if (keys[node] == key) {
+                return node;
+            }
+        }
+        return DLinkedList.NIL;
+    }
+
+    private V removeNode(int node) {
+        int key = order.values[node];
+        int slot = home(key);
+        while (table[slot] != node + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // Backward-shift deletion: move later entries of the cluster into the gap if the gap
+        // lies between their home slot and their current slot
+        int gap = slot;
+        for (int i = (gap + 1) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+            int home = home(order.values[table[i] - 1]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table[gap] = table[i];
+                gap = i;
+            }
+        }
+        table[gap] = EMPTY;
+        V value = value(node);
+        values[node] = null;
+        order.remove(node);
+        return value;
+    }
+
+    // Fibonacci hashing, the high bits of the product are the best mixed
+    private int home(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
@@ -0,0 +1,161 @@
+package ADTs;
+
+/**
+ * A W-TinyLFU cache with int keys (Einziger, Friedman and Manes, "TinyLFU: A Highly Efficient
+ * Cache Admission Policy").
+ * <p>
+ * New entries go into a small LRU window of about 1 % of the capacity. An entry evicted from
+ * the window only enters the main area if the {@link FrequencySketch} estimates it to be
+ * requested more often than the main area's eviction victim, otherwise it is dropped. This
+ * keeps one-off keys, such as those of a scan, from flushing frequently used entries. The
+ * main area is a segmented LRU: entries start in probation and move to the protected segment
+ * (80 % of the main area) on their second hit.
+ * <p>
+ * All three segments are {@link IntLruCache}s, so every operation runs in O(1). The cache is
+ * not thread-safe, see {@link StripedIntCache}.
+ *
+ * @param <V> The type of the cached values.
+ */
+public class IntTinyLfuCache<V> implements IntCache<V> {
+
+    private final int capacity;
+    private final int mainCapacity;
+    private final IntLruCache<V> window;
+    private final IntLruCache<V> probation;
+    private final IntLruCache<V> protectedSegment;
+    private final FrequencySketch sketch;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The maximum number of entries.
+     * @throws IllegalArgumentException If capacity is less than 2 or greater than 2^28.
+     */
+    public IntTinyLfuCache(int capacity) {
+        if (capacity < 2 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("The capacity must be between 2 and 2^28");
+        }
+        this.capacity = capacity;
+        int windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = capacity - windowCapacity;
+        this.window = new IntLruCache<>(windowCapacity);
+        // Probation may hold the whole main area while the protected segment is still empty
+        this.probation = new IntLruCache<>(mainCapacity);
+        this.protectedSegment = new IntLruCache<>(Math.max(1, mainCapacity * 4 / 5));
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    @Override
+    public V get(int key) {
+        sketch.increment(key);
+        V value = window.get(key);
+        if (value == null) {
+            value = protectedSegment.get(key);
+        }
+        if (value == null) {
+            value = probation.remove(key);
+            if (value != null) {
+                promote(key, value);
+            }
+        }
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    @Override
+    public void put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException("The cache does not accept null values");
+        }
+        sketch.increment(key);
+        if (window.containsKey(key)) {
+            window.put(key, value);
+        } else if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, value);
+        } else if (probation.remove(key) != null) {
+            promote(key, value);
+        } else {
+            if (window.isFull()) {
+                int candidate = window.eldestKey();
+                admit(candidate, window.remove(candidate));
+            }
+            window.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(int key) {
+        V value = window.remove(key);
+        if (value == null) {
+            value = protectedSegment.remove(key);
+        }
+        if (value == null) {
+            value = probation.remove(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public long hitCount() {
+        return hits;
+    }
+
+    @Override
+    public long missCount() {
+        return misses;
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions;
+    }
+
+    // Moves an entry that was just removed from probation into the protected segment. If that
+    // is full, its least recently used entry goes back to probation, which has room for it.
+    private void promote(int key, V value) {
+        if (protectedSegment.isFull()) {
+            int demoted = protectedSegment.eldestKey();
+            probation.put(demoted, protectedSegment.remove(demoted));
+        }
+        protectedSegment.put(key, value);
+    }
+
+    // Decides whether an entry evicted from the window replaces the main area's victim
+    private void admit(int candidate, V value) {
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate, value);
+            return;
+        }
+        evictions++;
+        IntLruCache<V> victimSegment = probation.size() > 0 ? probation : protectedSegment;
+        int victim = victimSegment.eldestKey();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            victimSegment.remove(victim);
+            probation.put(candidate, value);
+        }
+    }
+}
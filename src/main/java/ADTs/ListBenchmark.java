@@ -0,0 +1,163 @@
+package ADTs;
+
+import java.util.ArrayList;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+/**
+ * Compares {@link UnrolledDLinkedList} with the node-per-element {@link DLinkedList} and
+ * {@code ArrayList<Integer>}.
+ * <p>
+ * Each list is built by random mid-list inserts, so the element order of the linked
+ * layouts no longer matches their memory order, and then scanned sequentially. Every
+ * measurement is repeated a few times first to warm up the JIT.
+ */
+public class ListBenchmark {
+
+    private static final int SIZE = 1 << 20;
+    private static final int MID_INSERTS = 1 << 12;
+    private static final int SCANS = 20;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        System.out.printf("%-22s %16s %16s %16s%n", "List", "build [ms]", "scan [ns/elem]", "insert [us/op]");
+        for (int blockSize : new int[]{8, 16, 32, 64}) {
+            run("Unrolled (" + blockSize + ")", () -> new UnrolledAdapter(blockSize));
+        }
+        run("DLinkedList", DLinkedAdapter::new);
+        run("ArrayList<Integer>", ArrayListAdapter::new);
+    }
+
+    interface IntList {
+        void addLast(int value);
+
+        void insert(int index, int value);
+
+        long sum();
+    }
+
+    interface Factory {
+        IntList create();
+    }
+
+    private static void run(String name, Factory factory) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(factory);
+        }
+        double[] result = measure(factory);
+        System.out.printf("%-22s %16.1f %16.2f %16.2f%n", name, result[0], result[1], result[2]);
+    }
+
+    private static double[] measure(Factory factory) {
+        Random random = new Random(42);
+        IntList list = factory.create();
+        long begin = System.nanoTime();
+        // Half the elements in order, the rest scattered by random inserts
+        for (int i = 0; i < SIZE / 2; i++) {
+            list.addLast(i);
+        }
+        int size = SIZE / 2;
+        for (int i = 0; i < MID_INSERTS; i++) {
+            list.insert(random.nextInt(size + 1), i);
+            size++;
+        }
+        long build = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < SCANS; i++) {
+            checksum += list.sum();
+        }
+        long scan = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        for (int i = 0; i < MID_INSERTS; i++) {
+            list.insert(size / 2, i);
+            size++;
+        }
+        long insert = System.nanoTime() - begin;
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return new double[]{
+                build / 1e6,
+                (double) scan / SCANS / size,
+                insert / 1e3 / MID_INSERTS
+        };
+    }
+
+    private static final class UnrolledAdapter implements IntList {
+        private final UnrolledDLinkedList list;
+
+        UnrolledAdapter(int blockSize) {
+            list = new UnrolledDLinkedList(blockSize);
+        }
+
+        @Override
+        public void addLast(int value) {
+            list.addLast(value);
+        }
+
+        @Override
+        public void insert(int index, int value) {
+            list.add(index, value);
+        }
+
+        @Override
+        public long sum() {
+            long[] sum = new long[1];
+            list.forEachInt(value -> sum[0] += value);
+            return sum[0];
+        }
+    }
+
+    private static final class DLinkedAdapter implements IntList {
+        private final DLinkedList list = new DLinkedList();
+
+        @Override
+        public void addLast(int value) {
+            list.addLast(value);
+        }
+
+        @Override
+        public void insert(int index, int value) {
+            if (index == list.size()) {
+                list.addLast(value);
+            } else {
+                list.insertBefore(list.nodeAt(index), value);
+            }
+        }
+
+        @Override
+        public long sum() {
+            long sum = 0;
+            for (PrimitiveIterator.OfInt it = list.iterator(); it.hasNext(); ) {
+                sum += it.nextInt();
+            }
+            return sum;
+        }
+    }
+
+    private static final class ArrayListAdapter implements IntList {
+        private final ArrayList<Integer> list = new ArrayList<>();
+
+        @Override
+        public void addLast(int value) {
+            list.add(value);
+        }
+
+        @Override
+        public void insert(int index, int value) {
+            list.add(index, value);
+        }
+
+        @Override
+        public long sum() {
+            long sum = 0;
+            for (int value : list) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ADTs;
+
+import java.util.function.IntFunction;
+
+/**
+ * A thread-safe cache that splits the key space into independently locked segments.
+ * <p>
+ * Each key belongs to exactly one segment, chosen by a hash of the key, and each segment is
+ * an ordinary single-threaded {@link IntCache} guarded by its own monitor. Threads that work
+ * on different segments therefore never wait for each other. The eviction policy is applied
+ * per segment, so the cache as a whole only approximates it.
+ *
+ * @param <V> The type of the cached values.
+ */
+public class StripedIntCache<V> implements IntCache<V> {
+
+    private final IntCache<V>[] segments;
+    private final int shift;
+
+    /**
+     * Constructs a striped cache.
+     *
+     * @param segmentCount The number of segments, rounded up to a power of two.
+     * @param capacity     The total capacity, split evenly across the segments.
+     * @param factory      Creates one segment with the given capacity, for example
+     *                     {@code IntLruCache::new} or {@code IntTinyLfuCache::new}.
+     * @throws IllegalArgumentException If segmentCount is less than 1 or greater than 2^16,
+     *                                  or capacity is less than segmentCount.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedIntCache(int segmentCount, int capacity, IntFunction<? extends IntCache<V>> factory) {
+        if (segmentCount < 1 || segmentCount > 1 << 16) {
+            throw new IllegalArgumentException("The number of segments must be between 1 and 2^16");
+        }
+        int count = 1;
+        while (count < segmentCount) {
+            count <<= 1;
+        }
+        if (capacity < count) {
+            throw new IllegalArgumentException("The capacity must be at least the number of segments");
+        }
+        segments = (IntCache<V>[]) new IntCache<?>[count];
+        for (int i = 0; i < count; i++) {
+            // Spread the remainder over the first segments
+            segments[i] = factory.apply(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+        shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    @Override
+    public V get(int key) {
+        IntCache<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    @Override
+    public void put(int key, V value) {
+        IntCache<V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(int key) {
+        IntCache<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Returns the cached value or loads it. The loader runs while the key's segment is
+     * locked, so every key is loaded at most once at a time.
+     */
+    @Override
+    public V computeIfAbsent(int key, IntFunction<? extends V> loader) {
+        IntCache<V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.computeIfAbsent(key, loader);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (IntCache<V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (IntCache<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        int capacity = 0;
+        for (IntCache<V> segment : segments) {
+            capacity += segment.capacity();
+        }
+        return capacity;
+    }
+
+    @Override
+    public long hitCount() {
+        long hits = 0;
+        for (IntCache<V> segment : segments) {
+            synchronized (segment) {
+                hits += segment.hitCount();
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public long missCount() {
+        long misses = 0;
+        for (IntCache<V> segment : segments) {
+            synchronized (segment) {
+                misses += segment.missCount();
+            }
+        }
+        return misses;
+    }
+
+    @Override
+    public long evictionCount() {
+        long evictions = 0;
+        for (IntCache<V> segment : segments) {
+            synchronized (segment) {
+                evictions += segment.evictionCount();
+            }
+        }
+        return evictions;
+    }
+
+    private IntCache<V> segmentFor(int key) {
+        // A single segment would need a shift by 32, which Java treats as a shift by 0
+        return segments.length == 1 ? segments[0] : segments[(key * 0x9E3779B9) >>> shift];
+    }
+}
@@ -0,0 +1,118 @@
+package ADTs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDLinkedList {
+
+    @Test
+    public void testCreateInstance() {
+        assertEquals(0, new DLinkedList().size());
+        assertArrayEquals(new int[]{0, 0, 0}, new DLinkedList(3).toArray());
+        assertThrows(IllegalArgumentException.class, () -> new DLinkedList(-1));
+    }
+
+    @Test
+    public void testDequeOperations() {
+        DLinkedList list = new DLinkedList();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    list.addFirst(i);
+                    expected.addFirst(i);
+                }
+                case 1 -> {
+                    list.addLast(i);
+                    expected.addLast(i);
+                }
+                case 2 -> {
+                    if (!expected.isEmpty()) {
+                        assertEquals(expected.removeFirst(), list.removeFirst());
+                    }
+                }
+                default -> {
+                    if (!expected.isEmpty()) {
+                        assertEquals(expected.removeLast(), list.removeLast());
+                    }
+                }
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+        for (int i = 0; i < list.size(); i += 7) {
+            assertEquals(list.toArray()[i], list.get(i));
+        }
+    }
+
+    @Test
+    public void testNodeHandles() {
+        DLinkedList list = new DLinkedList();
+        int first = list.addLast(1);
+        int third = list.addLast(3);
+        list.insertAfter(first, 2);
+        list.insertBefore(first, 0);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, list.toArray());
+
+        assertEquals(1, list.remove(first));
+        assertThrows(IllegalArgumentException.class, () -> list.remove(first));
+        // The freed node is reused
+        assertEquals(first, list.addLast(4));
+        assertArrayEquals(new int[]{0, 2, 3, 4}, list.toArray());
+        assertEquals(3, list.value(third));
+
+        list.clear();
+        assertThrows(NoSuchElementException.class, list::removeFirst);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    public void testUnrolledAgainstArrayList() {
+        UnrolledDLinkedList list = new UnrolledDLinkedList(4);
+        ArrayList<Integer> expected = new ArrayList<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(5);
+            if (operation < 3 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+                assertEquals(expected.set(index, -i), list.set(index, -i));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+        long[] sum = new long[1];
+        list.forEachInt(value -> sum[0] += value);
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), sum[0]);
+
+        // Every block except the last is at least half full
+        for (UnrolledDLinkedList.Block block = list.head; block != list.tail; block = block.next) {
+            assertTrue(block.count >= 2);
+            assertSame(block, block.next.prev);
+        }
+
+        while (!list.isEmpty()) {
+            assertEquals(expected.remove(expected.size() - 1), list.removeLast());
+            if (!list.isEmpty()) {
+                assertEquals(expected.remove(0), list.removeFirst());
+            }
+        }
+        assertNull(list.head);
+        assertThrows(NoSuchElementException.class, list::removeFirst);
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledDLinkedList(1));
+    }
+}
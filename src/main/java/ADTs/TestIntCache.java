@@ -0,0 +1,115 @@
+package ADTs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIntCache {
+
+    @Test
+    public void testLruAgainstLinkedHashMap() {
+        int capacity = 100;
+        IntLruCache<Integer> cache = new IntLruCache<>(capacity);
+        // An access-ordered LinkedHashMap that drops its eldest entry is the reference LRU
+        Map<Integer, Integer> expected = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        Random random = new Random(3);
+        long hits = 0;
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(300) - 150;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    cache.put(key, i);
+                    expected.put(key, i);
+                }
+                case 1 -> {
+                    Integer value = expected.get(key);
+                    assertEquals(value, cache.get(key));
+                    hits += value == null ? 0 : 1;
+                }
+                default -> assertEquals(expected.remove(key), cache.remove(key));
+            }
+            assertEquals(expected.size(), cache.size());
+        }
+        assertEquals(hits, cache.hitCount());
+        assertEquals(expected.keySet().iterator().next(), cache.eldestKey());
+        assertThrows(NullPointerException.class, () -> cache.put(1, null));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(expected.keySet().iterator().next()));
+    }
+
+    @Test
+    public void testTinyLfuResistsScans() {
+        IntTinyLfuCache<Integer> tinyLfu = new IntTinyLfuCache<>(1000);
+        IntLruCache<Integer> lru = new IntLruCache<>(1000);
+        // Establish 500 hot keys, then interleave requests for them with a long scan
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 500; key++) {
+                tinyLfu.computeIfAbsent(key, k -> k);
+                lru.computeIfAbsent(key, k -> k);
+            }
+        }
+        long tinyLfuHits = tinyLfu.hitCount();
+        long lruHits = lru.hitCount();
+        for (int i = 0; i < 50000; i++) {
+            int key = i % 10 == 0 ? i / 10 % 500 : 1000 + i;
+            tinyLfu.computeIfAbsent(key, k -> k);
+            lru.computeIfAbsent(key, k -> k);
+            assertTrue(tinyLfu.size() <= tinyLfu.capacity());
+        }
+        assertTrue(tinyLfu.hitCount() - tinyLfuHits > 2 * (lru.hitCount() - lruHits));
+        assertTrue(tinyLfu.evictionCount() > 0);
+        assertEquals(0, tinyLfu.get(0));
+    }
+
+    @Test
+    public void testStripedCacheConcurrently() throws InterruptedException {
+        StripedIntCache<Integer> cache = new StripedIntCache<>(8, 1000, IntTinyLfuCache::new);
+        assertEquals(1000, cache.capacity());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                Random random = new Random();
+                for (int i = 0; i < 50000; i++) {
+                    int key = random.nextInt(2000);
+                    assertEquals(key * 2, cache.computeIfAbsent(key, k -> k * 2));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(200000, cache.hitCount() + cache.missCount());
+        assertTrue(cache.size() <= cache.capacity());
+    }
+
+    @Test
+    public void testFrequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 20; i++) {
+            sketch.increment(7);
+        }
+        sketch.increment(8);
+        assertEquals(15, sketch.frequency(7));
+        assertTrue(sketch.frequency(8) >= 1);
+        // Aging halves the counters after ten increments per table slot
+        for (int i = 0; i < 1000; i++) {
+            sketch.increment(100 + i);
+        }
+        assertTrue(sketch.frequency(7) < 15);
+    }
+}
@@ -0,0 +1,77 @@
+package ADTs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWorkStealingDeque {
+
+    @Test
+    public void testOwnerAndThiefOrder() {
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(2);
+        for (int i = 0; i < 100; i++) {
+            deque.push(i);
+        }
+        assertEquals(100, deque.size());
+        // The owner works LIFO, thieves take the oldest elements
+        assertEquals(99, deque.pop());
+        assertEquals(0, deque.steal());
+        assertEquals(1, deque.steal());
+        assertEquals(98, deque.pop());
+        while (deque.pop() != null) {
+            assertFalse(deque.size() < 0);
+        }
+        assertTrue(deque.isEmpty());
+        assertNull(deque.steal());
+        assertThrows(NullPointerException.class, () -> deque.push(null));
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingDeque<>(0));
+    }
+
+    @Test
+    public void testEveryElementTakenOnce() throws InterruptedException {
+        int elements = 200000;
+        int thieves = 3;
+        WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(4);
+        AtomicIntegerArray taken = new AtomicIntegerArray(elements);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < thieves; t++) {
+            Thread thief = new Thread(() -> {
+                while (!done.get() || !deque.isEmpty()) {
+                    Integer element = deque.steal();
+                    if (element != null) {
+                        taken.incrementAndGet(element);
+                    }
+                }
+            });
+            threads.add(thief);
+            thief.start();
+        }
+        for (int i = 0; i < elements; i++) {
+            deque.push(i);
+            // Pop every third element while thieves are active, to race them at the bottom end
+            if (i % 3 == 0) {
+                Integer element = deque.pop();
+                if (element != null) {
+                    taken.incrementAndGet(element);
+                }
+            }
+        }
+        Integer element;
+        while ((element = deque.pop()) != null) {
+            taken.incrementAndGet(element);
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < elements; i++) {
+            assertEquals(1, taken.get(i), "element " + i);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package ADTs;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An unrolled doubly linked list of primitive ints.
+ * <p>
+ * Each node holds a small {@code int[]} block instead of a single value, so a sequential
+ * scan touches one node per block rather than one per element and mostly reads
+ * consecutive memory. The default block of 16 ints fills one 64-byte cache line.
+ * <p>
+ * A full block is split in half when an element is inserted into it. When a removal
+ * leaves a block less than half full it is merged with its successor if both fit into one
+ * block, otherwise elements are moved over from the successor. Every block except the last
+ * therefore stays at least half full.
+ */
+public class UnrolledDLinkedList implements Iterable<Integer> {
+
+    public static final int DEFAULT_BLOCK_SIZE = 16;
+
+    private final int blockSize;
+    Block head;
+    Block tail;
+    private int size;
+    // Offset of the element inside the block found by the last call to blockAt
+    private int foundOffset;
+
+    public UnrolledDLinkedList() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs an empty list with the given number of ints per block.
+     *
+     * @param blockSize The block capacity. Must be at least 2.
+     * @throws IllegalArgumentException If blockSize is less than 2.
+     */
+    public UnrolledDLinkedList(int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("The block size must be at least 2");
+        }
+        this.blockSize = blockSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    public void addFirst(int value) {
+        add(0, value);
+    }
+
+    public void addLast(int value) {
+        if (tail == null || tail.count == blockSize) {
+            Block block = new Block(blockSize);
+            linkAfter(tail, block);
+        }
+        tail.items[tail.count++] = value;
+        size++;
+    }
+
+    /**
+     * Inserts a value at the given position, shifting later elements back by one.
+     *
+     * @param index The position of the new element, from 0 to size inclusive.
+     * @param value The value to insert.
+     * @throws IndexOutOfBoundsException If the index is negative or greater than the size.
+     */
+    public void add(int index, int value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        if (index == size) {
+            addLast(value);
+            return;
+        }
+        Block block = blockAt(index);
+        int offset = foundOffset;
+        if (block.count == blockSize) {
+            // Split the full block, the upper half moves into a new successor
+            Block upper = new Block(blockSize);
+            int half = blockSize / 2;
+            upper.count = block.count - half;
+            System.arraycopy(block.items, half, upper.items, 0, upper.count);
+            block.count = half;
+            linkAfter(block, upper);
+            if (offset > half) {
+                block = upper;
+                offset -= half;
+            }
+        }
+        System.arraycopy(block.items, offset, block.items, offset + 1, block.count - offset);
+        block.items[offset] = value;
+        block.count++;
+        size++;
+    }
+
+    /**
+     * Removes the element at the given position.
+     *
+     * @param index The position of the element, starting at 0.
+     * @return The removed value.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+     */
+    public int remove(int index) {
+        checkIndex(index);
+        Block block = blockAt(index);
+        int removed = block.items[foundOffset];
+        System.arraycopy(block.items, foundOffset + 1, block.items, foundOffset, block.count - foundOffset - 1);
+        block.count--;
+        size--;
+        rebalance(block);
+        return removed;
+    }
+
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty");
+        }
+        return remove(0);
+    }
+
+    public int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty");
+        }
+        int removed = tail.items[--tail.count];
+        size--;
+        rebalance(tail);
+        return removed;
+    }
+
+    /**
+     * Retrieves the element at the given position. Blocks are skipped by their element
+     * count, starting from whichever end is closer.
+     *
+     * @param index The position of the element, starting at 0.
+     * @return The element at that position.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return blockAt(index).items[foundOffset];
+    }
+
+    public int set(int index, int value) {
+        checkIndex(index);
+        Block block = blockAt(index);
+        int old = block.items[foundOffset];
+        block.items[foundOffset] = value;
+        return old;
+    }
+
+    public int[] toArray() {
+        int[] array = new int[size];
+        int position = 0;
+        for (Block block = head; block != null; block = block.next) {
+            System.arraycopy(block.items, 0, array, position, block.count);
+            position += block.count;
+        }
+        return array;
+    }
+
+    /**
+     * Passes every element from head to tail to the action. Each block is walked as a plain
+     * array loop, which is the fastest way to scan the list.
+     *
+     * @param action The action to perform for each element.
+     */
+    public void forEachInt(IntConsumer action) {
+        for (Block block = head; block != null; block = block.next) {
+            int[] items = block.items;
+            for (int i = 0, count = block.count; i < count; i++) {
+                action.accept(items[i]);
+            }
+        }
+    }
+
+    /**
+     * Iterates from head to tail without boxing when used through {@code nextInt()}.
+     * The list must not be modified during iteration.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private Block block = head;
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                while (block != null && position == block.count) {
+                    block = block.next;
+                    position = 0;
+                }
+                return block != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return block.items[position++];
+            }
+        };
+    }
+
+    private Block blockAt(int index) {
+        Block block;
+        if (index < size / 2) {
+            block = head;
+            while (index >= block.count) {
+                index -= block.count;
+                block = block.next;
+            }
+        } else {
+            int fromEnd = size - 1 - index;
+            block = tail;
+            while (fromEnd >= block.count) {
+                fromEnd -= block.count;
+                block = block.prev;
+            }
+            index = block.count - 1 - fromEnd;
+        }
+        foundOffset = index;
+        return block;
+    }
+
+    private void rebalance(Block block) {
+        if (block.count == 0) {
+            unlink(block);
+            return;
+        }
+        Block next = block.next;
+        if (block.count >= blockSize / 2 || next == null) {
+            return;
+        }
+        if (block.count + next.count <= blockSize) {
+            // Merge the successor into this block
+            System.arraycopy(next.items, 0, block.items, block.count, next.count);
+            block.count += next.count;
+            unlink(next);
+        } else {
+            // Borrow elements from the successor until both are at least half full
+            int move = blockSize / 2 - block.count;
+            System.arraycopy(next.items, 0, block.items, block.count, move);
+            System.arraycopy(next.items, move, next.items, 0, next.count - move);
+            block.count += move;
+            next.count -= move;
+        }
+    }
+
+    private void linkAfter(Block before, Block block) {
+        block.prev = before;
+        if (before == null) {
+            block.next = head;
+            head = block;
+        } else {
+            block.next = before.next;
+            before.next = block;
+        }
+        if (block.next == null) {
+            tail = block;
+        } else {
+            block.next.prev = block;
+        }
+    }
+
+    private void unlink(Block block) {
+        if (block.prev == null) {
+            head = block.next;
+        } else {
+            block.prev.next = block.next;
+        }
+        if (block.next == null) {
+            tail = block.prev;
+        } else {
+            block.next.prev = block.prev;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    static class Block {
+        final int[] items;
+        int count;
+        Block next;
+        Block prev;
+
+        Block(int capacity) {
+            this.items = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ADTs;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A lock-free work-stealing deque (Chase and Lev, "Dynamic Circular Work-Stealing Deque",
+ * with the memory orderings of Lê et al., PPoPP 2013).
+ * <p>
+ * One owner thread pushes and pops at the bottom end, in LIFO order, while any number of
+ * other threads steal from the top end, in FIFO order. Like {@link DLinkedList} the elements
+ * live in an array rather than in separate node objects; here it is a circular buffer that
+ * doubles when it is full. Owner operations only need a CAS when they compete with a thief
+ * for the last element, and thieves race each other with a single CAS on {@code top}.
+ * <p>
+ * {@link #push(Object)} and {@link #pop()} must only be called by the owner thread.
+ * {@link #steal()}, {@link #size()} and {@link #isEmpty()} may be called from any thread.
+ * The slot of a stolen element is not cleared, so its reference stays reachable until the
+ * owner overwrites the slot.
+ *
+ * @param <E> The type of the elements.
+ */
+public class WorkStealingDeque<E> {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Next index to steal from, only ever incremented by a CAS
+    private volatile long top;
+    // Next index to push to, only written by the owner
+    private volatile long bottom;
+    private volatile Object[] array;
+
+    public WorkStealingDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty deque.
+     *
+     * @param capacity The initial capacity, rounded up to a power of two.
+     * @throws IllegalArgumentException If capacity is less than 1 or greater than 2^30.
+     */
+    public WorkStealingDeque(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^30");
+        }
+        int length = 1;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        array = new Object[length];
+    }
+
+    /**
+     * Adds an element at the owner end. Owner thread only.
+     *
+     * @param element The element to add.
+     * @throws NullPointerException If the element is null.
+     */
+    public void push(E element) {
+        if (element == null) {
+            throw new NullPointerException("The deque does not accept null elements");
+        }
+        long b = bottom;
+        long t = top;
+        Object[] a = array;
+        if (b - t >= a.length) {
+            a = grow(a, t, b);
+        }
+        SLOT.setRelease(a, (int) b & (a.length - 1), element);
+        // The volatile write publishes the element to thieves
+        bottom = b + 1;
+    }
+
+    /**
+     * Removes the most recently pushed element. Owner thread only.
+     *
+     * @return The element, or null if the deque is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        long b = bottom - 1;
+        Object[] a = array;
+        // Reserve the slot before reading top, both accesses are volatile and therefore ordered
+        bottom = b;
+        long t = top;
+        if (t > b) {
+            // Empty
+            bottom = b + 1;
+            return null;
+        }
+        int index = (int) b & (a.length - 1);
+        E element = (E) SLOT.getAcquire(a, index);
+        if (t == b) {
+            // Last element, race thieves for it
+            if (!TOP.compareAndSet(this, t, t + 1)) {
+                element = null;
+            }
+            bottom = b + 1;
+            return element;
+        }
+        SLOT.setRelease(a, index, null);
+        return element;
+    }
+
+    /**
+     * Removes the oldest element. May be called from any thread.
+     *
+     * @return The element, or null if the deque is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E steal() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            Object[] a = array;
+            E element = (E) SLOT.getAcquire(a, (int) t & (a.length - 1));
+            if (TOP.compareAndSet(this, t, t + 1)) {
+                return element;
+            }
+            // Another thief or the owner took the element, try the next one
+        }
+    }
+
+    /**
+     * @return The number of elements. Only a snapshot while other threads are active.
+     */
+    public int size() {
+        long size = bottom - top;
+        return size < 0 ? 0 : (int) size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Copies the live range into a buffer of twice the size. Thieves still reading the old
+    // buffer see the same elements at the same indices, so they are not disturbed.
+    private Object[] grow(Object[] old, long t, long b) {
+        if (old.length == 1 << 30) {
+            throw new IllegalStateException("The deque is full");
+        }
+        Object[] a = new Object[old.length << 1];
+        for (long i = t; i < b; i++) {
+            a[(int) i & (a.length - 1)] = old[(int) i & (old.length - 1)];
+        }
+        array = a;
+        return a;
+    }
+}
@@ -1,4 +1,9 @@
 package BTrees;
+
+import metrics.BTreeInsertEvent;
+import metrics.BTreeSearchEvent;
+import metrics.Metrics;
+
 class BTreeNode {
     int[] keys; // Array to store keys
     int t;  // Minimum degree (defines the range for number of keys)
@@ -55,8 +60,8 @@ class BTreeNode {
         return children[i].search(k);
     }
 
-    // Insert the key in the subtree rooted with this node
-    void insertNonFull(int k) {
+    // Insert the key in the subtree rooted with this node, returns the number of splits
+    int insertNonFull(int k) {
         // Initialize index as index of rightmost element
         int i = n - 1;
 
@@ -73,6 +78,7 @@ class BTreeNode {
             // Insert the new key at found location
             keys[i + 1] = k;
             n = n + 1;
+            return 0;
         } else { // If this node is not leaf
             // Find the child which is going to have the new key
             while (i >= 0 && keys[i] > k) {
@@ -80,9 +86,11 @@ class BTreeNode {
             }
 
             // See if the found child is full
+            int splits = 0;
             if (children[i + 1].n == 2 * t - 1) {
                 // If the child is full, then split it
                 splitChild(i + 1, children[i + 1]);
+                splits++;
 
                 // After split, the middle key of C[i] goes up and
                 // C[i] is split into two. See which of the two
@@ -91,13 +99,15 @@ class BTreeNode {
                     i++;
                 }
             }
-            children[i + 1].insertNonFull(k);
+            return splits + children[i + 1].insertNonFull(k);
         }
     }
 
     // A utility function to split the child y of this node. i is index of y in child array C[].
     // The Child y must be full when this function is called
     void splitChild(int i, BTreeNode y) {
+        Metrics.count(Metrics.Counter.BTREE_SPLITS);
+
         // Create a new node which is going to store (t-1) keys of y
         BTreeNode z = new BTreeNode(y.t, y.isLeaf);
         z.n = t - 1;
@@ -140,7 +150,7 @@ class BTreeNode {
     }
 }
 
-class BTree {
+public class BTree {
     BTreeNode root; // Pointer to root node
     int t;  // Minimum degree
 
@@ -157,13 +167,60 @@ class BTree {
         }
     }
 
-    // function to search a key in this tree
+    // function to search a key in this tree, reported to JFR as a BTreeSearchEvent
     public BTreeNode search(int k) {
-        return (root == null) ? null : root.search(k);
+        BTreeSearchEvent event = new BTreeSearchEvent();
+        event.begin();
+        BTreeNode found = (root == null) ? null : root.search(k);
+        event.end();
+        if (event.shouldCommit()) {
+            event.key = k;
+            event.nodesVisited = nodesOnPath(k);
+            event.found = found != null;
+            event.commit();
+        }
+        return found;
+    }
+
+    // Walks the search path for k again and counts its nodes. Only called for recorded
+    // events, so the search itself does not have to count.
+    private int nodesOnPath(int k) {
+        int nodes = 0;
+        BTreeNode node = root;
+        while (node != null) {
+            nodes++;
+            int i = 0;
+            while (i < node.n && k > node.keys[i]) {
+                i++;
+            }
+            if (i < node.n && node.keys[i] == k || node.isLeaf) {
+                break;
+            }
+            node = node.children[i];
+        }
+        return nodes;
+    }
+
+    // All leaves of a B-tree are on the same level, so the leftmost path gives the height
+    private int height() {
+        int height = 0;
+        for (BTreeNode node = root; node != null; node = node.isLeaf ? null : node.children[0]) {
+            height++;
+        }
+        return height;
     }
 
-    // The main function that inserts a new key in this B-Tree
+    // function to check whether a key is in this tree, usable outside this package
+    public boolean contains(int k) {
+        return search(k) != null;
+    }
+
+    // The main function that inserts a new key in this B-Tree, reported to JFR as a
+    // BTreeInsertEvent
     public void insert(int k) {
+        BTreeInsertEvent event = new BTreeInsertEvent();
+        event.begin();
+        int splits = 0;
         // If tree is empty
         if (root == null) {
             // Allocate memory for root
@@ -181,6 +238,7 @@ class BTree {
 
                 // Split the old root and move 1 key to the new root
                 s.splitChild(0, root);
+                splits++;
 
                 // New root has two children now.  Decide which of the two
                 // children is going to have new key
@@ -188,13 +246,21 @@ class BTree {
                 if (s.keys[0] < k) {
                     i++;
                 }
-                s.children[i].insertNonFull(k);
+                splits += s.children[i].insertNonFull(k);
 
                 // Change root
                 root = s;
             } else {  // If root is not full, call insertNonFull for root
-                root.insertNonFull(k);
+                splits += root.insertNonFull(k);
             }
         }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.key = k;
+            event.depth = height();
+            event.splits = splits;
+            event.commit();
+        }
     }
 }
\ No newline at end of file
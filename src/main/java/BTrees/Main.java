@@ -1,5 +1,8 @@
 package BTrees;
 
+import ADTs.IntCache;
+import ADTs.IntLruCache;
+
 public class Main {
     public static void main(String[] args) {
         BTree t = new BTree(3); // A B-Tree with minium degree 3
@@ -21,5 +24,12 @@ public class Main {
         } else {
             System.out.println("\nNot Present");
         }
+
+        // Repeated lookups are answered by an LRU cache in front of the tree
+        IntCache<Boolean> cache = new IntLruCache<>(4);
+        for (int key : new int[]{6, 7, 40, 6, 7, 6, 40}) {
+            cache.computeIfAbsent(key, x -> t.search(x) != null);
+        }
+        System.out.printf("Cache hits: %d, misses: %d%n", cache.hitCount(), cache.missCount());
     }
 }
\ No newline at end of file
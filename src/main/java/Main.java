@@ -1,8 +1,14 @@
+import metrics.Metrics;
 import searches.BinarySearch;
+import searches.EliasFanoSet;
 import searches.LinearSearch;
 import sorts.InsertionSort;
 import sorts.MergeSort;
+import sorts.QuickSort;
+import sorts.Sorter;
 
+import java.util.Arrays;
+import java.util.Random;
 import java.util.Scanner;
 
 public class Main {
@@ -19,16 +25,47 @@ public class Main {
             runSearches();
         else
             System.out.println("Invalid choice");
+        // Only counts with -Dmetrics.enabled=true
+        if (Metrics.ENABLED)
+            System.out.println("Metrics: " + Metrics.snapshot());
     }
 
     private static void runSorts() {
         int length = 10000;
-        int[] unsortedArray = new int[length];
-        for (int i = 0; i < unsortedArray.length; i++) {
-            unsortedArray[i] = (int) (Math.random() * length);
+        Random random = new Random();
+        String[] distributions = {"random", "sorted", "reversed", "few unique", "nearly sorted"};
+        for (String distribution : distributions) {
+            int[] unsortedArray = createArray(distribution, length, random);
+            System.out.println("Distribution: " + distribution);
+            // Every sort gets its own copy, otherwise all but the first would sort sorted input
+            runInsertionSort(unsortedArray.clone());
+            runMergeSort(unsortedArray.clone());
+            runQuickSort(unsortedArray.clone());
+            runArraysSort(unsortedArray.clone());
+            runSorter(unsortedArray.clone());
         }
-        runInsertionSort(unsortedArray);
-        runMergeSort(unsortedArray);
+    }
+
+    private static int[] createArray(String distribution, int length, Random random) {
+        int[] array = new int[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = switch (distribution) {
+                case "sorted", "nearly sorted" -> i;
+                case "reversed" -> length - i;
+                case "few unique" -> random.nextInt(10);
+                default -> random.nextInt(length);
+            };
+        }
+        if (distribution.equals("nearly sorted")) {
+            // Swap one percent of the elements with a random partner
+            for (int i = 0; i < length / 100; i++) {
+                int a = random.nextInt(length), b = random.nextInt(length);
+                int tmp = array[a];
+                array[a] = array[b];
+                array[b] = tmp;
+            }
+        }
+        return array;
     }
 
     private static void runSearches() {
@@ -43,6 +80,7 @@ public class Main {
         runLinearSearch(sortedArray, randomNumber);
         runBinarySearch(sortedArray, randomNumber);
         runRecursiveBinarySearch(sortedArray, randomNumber);
+        runEliasFanoSearch(sortedArray, randomNumber);
     }
 
     public static void runInsertionSort(int[] array) {
@@ -59,6 +97,27 @@ public class Main {
         System.out.println("Merge sort took " + (end - start) + " milliseconds");
     }
 
+    public static void runQuickSort(int[] array) {
+        long start = System.currentTimeMillis();
+        QuickSort.sort(array);
+        long end = System.currentTimeMillis();
+        System.out.println("Quick sort took " + (end - start) + " milliseconds");
+    }
+
+    public static void runArraysSort(int[] array) {
+        long start = System.currentTimeMillis();
+        Arrays.sort(array);
+        long end = System.currentTimeMillis();
+        System.out.println("Arrays.sort took " + (end - start) + " milliseconds");
+    }
+
+    public static void runSorter(int[] array) {
+        Sorter sorter = new Sorter();
+        long start = System.currentTimeMillis();
+        Sorter.Algorithm algorithm = sorter.sort(array);
+        long end = System.currentTimeMillis();
+        System.out.println("Sorter (" + algorithm + ") took " + (end - start) + " milliseconds");
+    }
 
     public static void runLinearSearch(int[] array, int searchValue) {
         long start = System.nanoTime();
@@ -83,4 +142,14 @@ public class Main {
         System.out.println("Recursive Binary search took " + (end - start) + " nanoseconds");
         System.out.println("Found at " + found + "/" + (array.length - 1));
     }
+
+    public static void runEliasFanoSearch(int[] array, int searchValue) {
+        EliasFanoSet set = new EliasFanoSet(array);
+        long start = System.nanoTime();
+        int found = set.indexOf(searchValue);
+        long end = System.nanoTime();
+        System.out.println("Elias-Fano search took " + (end - start) + " nanoseconds");
+        System.out.println("Found at " + found + "/" + (array.length - 1));
+        System.out.printf("Elias-Fano set uses %.2f bits per key instead of %d%n", set.bitsPerElement(), Integer.SIZE);
+    }
 }
@@ -0,0 +1,116 @@
+package RBTrees;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Vergleicht die {@link LockFreeSkipList} mit einem über {@code synchronized}
+ * geschützten {@link RBTree} bei 1 bis 64 Threads.
+ * <p>
+ * Die Threads teilen sich eine feste Anzahl zufälliger Operationen auf einem gemeinsamen
+ * Schlüsselbereich (10 % Einfügungen, 90 % Suchen). Vor jeder Messung werden einige
+ * Durchläufe zum Aufwärmen des JIT ausgeführt. Ausgegeben wird der Durchsatz in
+ * Operationen pro Millisekunde.
+ */
+public class ConcurrencyBenchmark {
+
+    private static final int KEY_RANGE = 1 << 18;
+    private static final int TOTAL_OPERATIONS = 1 << 21;
+    private static final int INSERT_PERCENT = 10;
+    private static final int WARMUP_ROUNDS = 2;
+
+    interface OrderedSet {
+        void insert(RBTree.IntComparable key);
+
+        boolean contains(RBTree.IntComparable key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%8s %22s %22s%n", "Threads", "sync RBTree [ops/ms]", "SkipList [ops/ms]");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            double rbTree = measure(threads, ConcurrencyBenchmark::synchronizedRBTree);
+            double skipList = measure(threads, ConcurrencyBenchmark::skipList);
+            System.out.printf("%8d %22.1f %22.1f%n", threads, rbTree, skipList);
+        }
+    }
+
+    private static OrderedSet synchronizedRBTree() {
+        RBTree<RBTree.IntComparable> tree = new RBTree<>();
+        return new OrderedSet() {
+            @Override
+            public void insert(RBTree.IntComparable key) {
+                synchronized (tree) {
+                    if (!tree.contains(key)) {
+                        tree.insertNode(key);
+                    }
+                }
+            }
+
+            @Override
+            public boolean contains(RBTree.IntComparable key) {
+                synchronized (tree) {
+                    return tree.contains(key);
+                }
+            }
+        };
+    }
+
+    private static OrderedSet skipList() {
+        LockFreeSkipList<RBTree.IntComparable> list = new LockFreeSkipList<>();
+        return new OrderedSet() {
+            @Override
+            public void insert(RBTree.IntComparable key) {
+                list.add(key);
+            }
+
+            @Override
+            public boolean contains(RBTree.IntComparable key) {
+                return list.contains(key);
+            }
+        };
+    }
+
+    private static double measure(int threads, Supplier<OrderedSet> factory) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(threads, factory.get());
+        }
+        long nanos = run(threads, factory.get());
+        return TOTAL_OPERATIONS / (nanos / 1_000_000.0);
+    }
+
+    private static long run(int threads, OrderedSet set) throws InterruptedException {
+        // Halb gefüllte Menge, damit Suchen sowohl Treffer als auch Fehlschläge liefern
+        for (int i = 0; i < KEY_RANGE; i += 2) {
+            set.insert(new RBTree.IntComparable(i));
+        }
+        int operationsPerThread = TOTAL_OPERATIONS / threads;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operationsPerThread; i++) {
+                    RBTree.IntComparable key = new RBTree.IntComparable(random.nextInt(KEY_RANGE));
+                    if (random.nextInt(100) < INSERT_PERCENT) {
+                        set.insert(key);
+                    } else {
+                        set.contains(key);
+                    }
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+}
@@ -0,0 +1,290 @@
+package RBTrees;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Nebenläufige, sortierte Menge als lock-freie Skip-Liste (nach Herlihy und Shavit,
+ * "The Art of Multiprocessor Programming", Kapitel 14).
+ * <p>
+ * Die Skip-Liste bietet dieselbe Schnittstelle wie der {@link RBTree}
+ * ({@code insertNode}, {@code contains} und In-Order-Iteration), kommt aber ohne globale
+ * Umstrukturierungen wie Rotationen aus. Jede Einfügung verändert nur die Zeiger ihrer
+ * direkten Vorgänger per CAS, daher können beliebig viele Threads gleichzeitig einfügen,
+ * löschen und suchen, ohne den gesamten Baum zu sperren.
+ * <p>
+ * Gelöschte Knoten werden zuerst logisch markiert (Marker im next-Zeiger) und
+ * danach bei späteren Suchen physisch ausgehängt. {@code contains} ist wait-free.
+ *
+ * @param <T> Der Typ der Schlüssel.
+ */
+public class LockFreeSkipList<T extends Comparable<T>> implements Iterable<T> {
+
+    private static final int MAX_LEVEL = 24;
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    // Kopf-Sentinel mit Schlüssel null (-unendlich), null als Nachfolger steht für +unendlich
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+
+    /**
+     * Fügt einen neuen Schlüssel ein.
+     *
+     * @param key Der einzufügende Schlüssel.
+     * @throws IllegalArgumentException wenn der Schlüssel bereits enthalten ist.
+     */
+    public void insertNode(T key) {
+        if (!add(key)) {
+            throw new IllegalArgumentException("SkipList already contains a node with key " + key);
+        }
+    }
+
+    /**
+     * Fügt einen Schlüssel ein, falls er noch nicht enthalten ist.
+     *
+     * @param key Der einzufügende Schlüssel.
+     * @return true, wenn der Schlüssel eingefügt wurde, false, wenn er bereits enthalten war.
+     */
+    public boolean add(T key) {
+        int topLevel = randomLevel();
+        @SuppressWarnings("unchecked")
+        Node<T>[] preds = (Node<T>[]) new Node<?>[MAX_LEVEL + 1];
+        @SuppressWarnings("unchecked")
+        Node<T>[] succs = (Node<T>[]) new Node<?>[MAX_LEVEL + 1];
+        while (true) {
+            if (find(key, preds, succs)) {
+                return false;
+            }
+            Node<T> newNode = new Node<>(key, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                newNode.next[level] = succs[level];
+            }
+            // Das Einhängen auf Ebene 0 ist der Linearisierungspunkt
+            if (!casNext(preds[0], 0, succs[0], newNode)) {
+                continue;
+            }
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node<T> pred = preds[level];
+                    Node<T> succ = succs[level];
+                    Object current = getNext(newNode, level);
+                    // Ist der neue Knoten bereits zum Löschen markiert, wird nicht weiter verlinkt
+                    if (current instanceof Marker || current != succ && !casNext(newNode, level, current, succ)) {
+                        return true;
+                    }
+                    if (casNext(pred, level, succ, newNode)) {
+                        break;
+                    }
+                    find(key, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Entfernt einen Schlüssel.
+     *
+     * @param key Der zu entfernende Schlüssel.
+     * @return true, wenn der Schlüssel von diesem Aufruf entfernt wurde.
+     */
+    public boolean deleteNode(T key) {
+        @SuppressWarnings("unchecked")
+        Node<T>[] preds = (Node<T>[]) new Node<?>[MAX_LEVEL + 1];
+        @SuppressWarnings("unchecked")
+        Node<T>[] succs = (Node<T>[]) new Node<?>[MAX_LEVEL + 1];
+        if (!find(key, preds, succs)) {
+            return false;
+        }
+        Node<T> victim = succs[0];
+        // Obere Ebenen markieren, damit dort keine neuen Knoten mehr angehängt werden
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Object succ = getNext(victim, level);
+            while (!(succ instanceof Marker) && !casNext(victim, level, succ, new Marker(succ))) {
+                succ = getNext(victim, level);
+            }
+        }
+        // Wer Ebene 0 markiert, hat den Schlüssel entfernt
+        while (true) {
+            Object succ = getNext(victim, 0);
+            if (succ instanceof Marker) {
+                return false;
+            }
+            if (casNext(victim, 0, succ, new Marker(succ))) {
+                find(key, preds, succs);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob der Schlüssel enthalten ist. Die Suche verändert die Liste nicht und
+     * kommt ohne Wiederholungen aus (wait-free).
+     *
+     * @param key Der gesuchte Schlüssel.
+     * @return true, wenn der Schlüssel enthalten ist.
+     */
+    public boolean contains(T key) {
+        Node<T> pred = head;
+        Node<T> curr = null;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            curr = node(getNext(pred, level));
+            while (curr != null) {
+                Object succ = getNext(curr, level);
+                // Markierte (gelöschte) Knoten überspringen
+                while (succ instanceof Marker) {
+                    curr = node(succ);
+                    if (curr == null) {
+                        break;
+                    }
+                    succ = getNext(curr, level);
+                }
+                if (curr == null) {
+                    break;
+                }
+                int cmp = curr.key.compareTo(key);
+                if (cmp < 0) {
+                    pred = curr;
+                    curr = node(succ);
+                } else {
+                    if (cmp == 0) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Liefert einen schwach konsistenten Iterator in aufsteigender Reihenfolge. Er wirft
+     * nie eine ConcurrentModificationException und liefert alle Schlüssel, die während
+     * der gesamten Iteration enthalten sind; gleichzeitige Änderungen können sichtbar sein.
+     *
+     * @return Ein Iterator über die Schlüssel auf Ebene 0.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> next = advance(head);
+
+            private Node<T> advance(Node<T> node) {
+                Node<T> candidate = node(getNext(node, 0));
+                while (candidate != null) {
+                    Object succ = getNext(candidate, 0);
+                    if (!(succ instanceof Marker)) {
+                        return candidate;
+                    }
+                    candidate = node(succ);
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> current = next;
+                next = advance(current);
+                return current.key;
+            }
+        };
+    }
+
+    /**
+     * Sucht auf jeder Ebene den letzten Knoten mit kleinerem Schlüssel (preds) und dessen
+     * Nachfolger (succs). Dabei werden markierte Knoten per CAS physisch ausgehängt;
+     * scheitert ein solcher CAS, beginnt die Suche erneut am Kopf.
+     *
+     * @return true, wenn auf Ebene 0 ein Knoten mit dem gesuchten Schlüssel gefunden wurde.
+     */
+    private boolean find(T key, Node<T>[] preds, Node<T>[] succs) {
+        retry:
+        while (true) {
+            Node<T> pred = head;
+            Node<T> curr = null;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                curr = node(getNext(pred, level));
+                while (curr != null) {
+                    Object succ = getNext(curr, level);
+                    while (succ instanceof Marker) {
+                        Node<T> unmarked = node(succ);
+                        if (!casNext(pred, level, curr, unmarked)) {
+                            continue retry;
+                        }
+                        curr = unmarked;
+                        if (curr == null) {
+                            break;
+                        }
+                        succ = getNext(curr, level);
+                    }
+                    if (curr == null || curr.key.compareTo(key) >= 0) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = node(succ);
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && curr.key.compareTo(key) == 0;
+        }
+    }
+
+    // Geometrisch verteilte Höhe mit p = 1/2
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << MAX_LEVEL));
+    }
+
+    private static Object getNext(Node<?> node, int level) {
+        return NEXT.getAcquire(node.next, level);
+    }
+
+    private static boolean casNext(Node<?> node, int level, Object expected, Object value) {
+        return NEXT.compareAndSet(node.next, level, expected, value);
+    }
+
+    // Liefert den eigentlichen Nachfolger, unabhängig davon, ob der Zeiger markiert ist
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T> node(Object next) {
+        return (Node<T>) (next instanceof Marker ? ((Marker) next).next : next);
+    }
+
+    /**
+     * Ein next-Eintrag ist entweder der Nachfolger selbst oder, wenn der Knoten auf dieser
+     * Ebene gelöscht wurde, ein Marker, der den Nachfolger umhüllt. So genügt ein einziger
+     * CAS auf dem Array-Eintrag, und ungelöschte Zeiger kosten keine zusätzliche Indirektion.
+     */
+    private static final class Marker {
+        final Object next;
+
+        Marker(Object next) {
+            this.next = next;
+        }
+    }
+
+    static final class Node<T> {
+        final T key;
+        final Object[] next;
+        final int topLevel;
+
+        Node(T key, int topLevel) {
+            this.key = key;
+            this.topLevel = topLevel;
+            this.next = new Object[topLevel + 1];
+        }
+    }
+}
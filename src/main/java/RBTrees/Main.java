@@ -4,10 +4,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
-import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class Main {
 
@@ -22,6 +25,7 @@ public class Main {
         RBTree<RBTree.IntComparable> tree = new RBTree<>();
         Random random = new Random();
         Set<Integer> generatedNumbers = new HashSet<>();
+        List<RBTreeLayout> snapshots = new ArrayList<>();
 
         createDirectories(PACKAGEPATH);
         for (int i = 0; i < 15; i++) {
@@ -30,97 +34,38 @@ public class Main {
                 tree.insertNode(new RBTree.IntComparable(number));
 
                 tree.printDOT(DOTPATH + "RBTree_" + (i + 1) + ".dot");
-                createSVG("RBTree_" + (i + 1));
+                snapshots.add(RBTreeLayout.of(tree));
             } else {
                 i--;
             }
         }
-        for (int i = 0; i < 15; i++) {
-            convertSvgToPdf("RBTree_" + (i + 1));
-        }
-        mergePdfFiles("RBTree_", "RBTree_Final.pdf");
-    }
-
-    /**
-     * Erstellt eine SVG-Datei aus einer DOT-Datei.
-     * 
-     * @param filename Der Name der Datei (ohne Erweiterung), für die eine SVG-Datei
-     *                 erstellt werden soll.
-     *                 Dieser Name wird sowohl für die DOT- als auch für die
-     *                 SVG-Datei verwendet.
-     *                 Der Pfad zu den DOT- und SVG-Dateien wird durch die
-     *                 Konstanten DOTPATH und SVGPATH bestimmt.
-     *                 Die DOT-Datei muss im DOTPATH-Verzeichnis und die SVG-Datei
-     *                 wird im SVGPATH-Verzeichnis erstellt.
-     */
-    public static void createSVG(String filename) {
-        try {
-            // Erstellen eines neuen Prozesses mit dem Befehl "dot"
-            ProcessBuilder processBuilder = new ProcessBuilder();
-            processBuilder.command("bash", "-c",
-                    "dot -Tsvg " + DOTPATH + filename + ".dot > " + SVGPATH + filename + ".svg");
-
-            // Starten des Prozesses
-            processBuilder.start();
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
 
-    /**
-     * Konvertiert eine SVG-Datei in eine PDF-Datei.
-     * 
-     * @param filename Der Name der Datei (ohne Erweiterung), die konvertiert werden
-     *                 soll.
-     *                 Der Pfad zu den SVG- und PDF-Dateien wird durch die
-     *                 Konstanten SVGPATH und PDFPATH bestimmt.
-     *                 Die SVG-Datei muss im SVGPATH-Verzeichnis vorhanden sein und
-     *                 die PDF-Datei wird im PDFPATH-Verzeichnis erstellt.
-     */
-    public static void convertSvgToPdf(String filename) {
-        try {
-            // Erstellen eines neuen Prozesses mit dem Befehl "rsvg-convert"
-            ProcessBuilder processBuilder = new ProcessBuilder();
-            processBuilder.command("rsvg-convert", "-f", "pdf", "-o", PDFPATH + filename + ".pdf",
-                    SVGPATH + filename + ".svg");
-            // Starten des Prozesses
-            processBuilder.start();
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        long start = System.currentTimeMillis();
+        renderSnapshots(snapshots, "RBTree_", "RBTree_Final.pdf");
+        long end = System.currentTimeMillis();
+        System.out.println("Rendern von " + snapshots.size() + " Snapshots dauerte " + (end - start) + " Millisekunden");
     }
 
     /**
-     * Fügt mehrere PDF-Dateien zu einer einzigen PDF-Datei zusammen.
-     * 
-     * @param baseFilename   Der Basisname der PDF-Dateien, die zusammengeführt
-     *                       werden sollen.
-     *                       Die Methode erwartet, dass die Dateien im
-     *                       PDFPATH-Verzeichnis vorhanden sind und die Namen
-     *                       die Form "baseFilename1.pdf", "baseFilename2.pdf", ...,
-     *                       "baseFilename15.pdf" haben.
-     * @param mergedFilename Der Name der resultierenden zusammengeführten
-     *                       PDF-Datei.
-     *                       Die resultierende Datei wird im PDFPATH-Verzeichnis
+     * Rendert alle Snapshots parallel als SVG-Dateien und als eine zusammengeführte PDF-Datei.
+     * Layout, SVG- und PDF-Erzeugung laufen vollständig in Java, es werden also weder
+     * Graphviz noch rsvg-convert oder pdftk benötigt.
+     *
+     * @param snapshots      Die Layout-Snapshots in Einfügereihenfolge.
+     * @param baseFilename   Der Basisname der SVG-Dateien. Die Dateien werden im
+     *                       SVGPATH-Verzeichnis als "baseFilename1.svg", "baseFilename2.svg", ...
      *                       erstellt.
+     * @param mergedFilename Der Name der PDF-Datei mit einer Seite pro Snapshot.
+     *                       Die Datei wird im PDFPATH-Verzeichnis erstellt.
      */
-    public static void mergePdfFiles(String baseFilename, String mergedFilename) {
+    public static void renderSnapshots(List<RBTreeLayout> snapshots, String baseFilename, String mergedFilename) {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
         try {
-            // Erstellen eines Befehls, um alle PDF-Seiten zu einer Datei zusammenzuführen
-            StringJoiner joiner = new StringJoiner(" ");
-            for (int i = 1; i <= 15; i++) {
-                joiner.add(PDFPATH + baseFilename + i + ".pdf");
-            }
-            String mergeCommand = "pdftk " + joiner.toString() + " cat output " + PDFPATH + mergedFilename;
-
-            // Ausführen des Befehls zum Zusammenführen der PDF-Seiten
-            ProcessBuilder mergePdfBuilder = new ProcessBuilder("bash", "-c", mergeCommand);
-            mergePdfBuilder.start();
-
+            RBTreeRenderer.renderAll(snapshots, Paths.get(SVGPATH), baseFilename, Paths.get(PDFPATH, mergedFilename), executor);
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            executor.shutdown();
         }
     }
 
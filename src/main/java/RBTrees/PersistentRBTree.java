@@ -0,0 +1,328 @@
+package RBTrees;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistente (unveränderliche) Variante des RBTrees.
+ * <p>
+ * Einfügen und Löschen verändern keine bestehenden Knoten, sondern kopieren nur den
+ * Pfad von der Wurzel bis zur Änderungsstelle (Path Copying) und liefern eine neue
+ * Version des Baums zurück. Alle übrigen Teilbäume werden zwischen den Versionen geteilt.
+ * Alte Versionen bleiben so lange gültig, wie sie referenziert werden, und werden danach
+ * vom Garbage Collector entfernt.
+ * <p>
+ * Da eine Version nie verändert wird, können Leser ohne Sperren auf einem konsistenten
+ * Snapshot arbeiten. Ein Schreiber veröffentlicht neue Versionen z.B. über ein
+ * {@code volatile}-Feld oder eine {@code AtomicReference}:
+ * <pre>
+ *     volatile PersistentRBTree&lt;IntComparable&gt; current = PersistentRBTree.empty();
+ *
+ *     // Schreiber
+ *     current = current.insertNode(key);
+ *
+ *     // Leser
+ *     PersistentRBTree&lt;IntComparable&gt; snapshot = current;
+ *     for (IntComparable k : snapshot) { ... }
+ * </pre>
+ * Einfügen verwendet die Balancierung nach Okasaki, Löschen wird über die join-basierten
+ * Operationen split und join2 (siehe {@link RBTreeJoin}) in persistenter Form umgesetzt.
+ *
+ * @param <T> Der Typ der Schlüssel im Baum.
+ */
+public final class PersistentRBTree<T extends Comparable<T>> implements Iterable<T> {
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentRBTree EMPTY = new PersistentRBTree<>(null, 0);
+
+    private final Node<T> root;
+    private final int size;
+
+    private PersistentRBTree(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Liefert den leeren Baum.
+     *
+     * @param <T> Der Typ der Schlüssel.
+     * @return Der leere Baum.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<T>> PersistentRBTree<T> empty() {
+        return (PersistentRBTree<T>) EMPTY;
+    }
+
+    /**
+     * Liefert eine neue Version des Baums, die zusätzlich den gegebenen Schlüssel enthält.
+     * Diese Version bleibt unverändert. Es werden O(log n) Knoten neu erzeugt.
+     *
+     * @param key Der einzufügende Schlüssel.
+     * @return Die neue Version des Baums.
+     * @throws IllegalArgumentException wenn ein Knoten mit demselben Schlüssel bereits existiert.
+     */
+    public PersistentRBTree<T> insertNode(T key) {
+        return new PersistentRBTree<>(blacken(insert(root, key)), size + 1);
+    }
+
+    /**
+     * Liefert eine neue Version des Baums ohne den gegebenen Schlüssel. Ist der Schlüssel
+     * nicht vorhanden, wird diese Version selbst zurückgegeben.
+     *
+     * @param key Der zu entfernende Schlüssel.
+     * @return Die neue Version des Baums.
+     */
+    public PersistentRBTree<T> deleteNode(T key) {
+        if (!contains(key)) {
+            return this;
+        }
+        Split<T> split = split(root, key);
+        return new PersistentRBTree<>(blacken(join2(split.left, split.right)), size - 1);
+    }
+
+    /**
+     * Prüft, ob ein Knoten mit dem gegebenen Schlüssel in dieser Version vorhanden ist.
+     *
+     * @param key Der gesuchte Schlüssel.
+     * @return true, wenn der Schlüssel enthalten ist.
+     */
+    public boolean contains(T key) {
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.data);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Liefert einen Iterator über die Schlüssel dieser Version in aufsteigender Reihenfolge.
+     * Da die Version unveränderlich ist, sieht der Iterator immer einen stabilen Snapshot,
+     * auch wenn parallel neue Versionen erzeugt werden.
+     *
+     * @return Ein Iterator in In-Order-Reihenfolge.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            // Die Höhe eines RBTrees ist höchstens 2 * log2(n + 1)
+            @SuppressWarnings("unchecked")
+            private final Node<T>[] stack = (Node<T>[]) new Node<?>[2 * (33 - Integer.numberOfLeadingZeros(size))];
+            private int top;
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<T> node) {
+                while (node != null) {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return top > 0;
+            }
+
+            @Override
+            public T next() {
+                if (top == 0) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> node = stack[--top];
+                stack[top] = null;
+                pushLeft(node.right);
+                return node.data;
+            }
+        };
+    }
+
+    /**
+     * Liefert die Wurzel dieser Version für Hilfsklassen im selben Package.
+     *
+     * @return Die Wurzel oder null, wenn der Baum leer ist.
+     */
+    Node<T> getRoot() {
+        return root;
+    }
+
+    private static <T extends Comparable<T>> Node<T> insert(Node<T> node, T key) {
+        if (node == null) {
+            return new Node<>(key, null, null, RED);
+        }
+        int cmp = key.compareTo(node.data);
+        if (cmp < 0) {
+            return balance(node.color, insert(node.left, key), node.data, node.right);
+        } else if (cmp > 0) {
+            return balance(node.color, node.left, node.data, insert(node.right, key));
+        }
+        throw new IllegalArgumentException("RBTree already contains a node with key " + key);
+    }
+
+    /**
+     * Behebt eine rote Eltern-Kind-Verletzung unterhalb eines schwarzen Knotens, indem die
+     * drei beteiligten Knoten als roter Knoten mit zwei schwarzen Kindern neu aufgebaut werden.
+     */
+    private static <T extends Comparable<T>> Node<T> balance(boolean color, Node<T> left, T data, Node<T> right) {
+        if (color == BLACK) {
+            if (isRed(left) && isRed(left.left)) {
+                return new Node<>(left.data, blacken(left.left), new Node<>(data, left.right, right, BLACK), RED);
+            }
+            if (isRed(left) && isRed(left.right)) {
+                Node<T> middle = left.right;
+                return new Node<>(middle.data, new Node<>(left.data, left.left, middle.left, BLACK),
+                        new Node<>(data, middle.right, right, BLACK), RED);
+            }
+            if (isRed(right) && isRed(right.left)) {
+                Node<T> middle = right.left;
+                return new Node<>(middle.data, new Node<>(data, left, middle.left, BLACK),
+                        new Node<>(right.data, middle.right, right.right, BLACK), RED);
+            }
+            if (isRed(right) && isRed(right.right)) {
+                return new Node<>(right.data, new Node<>(data, left, right.left, BLACK), blacken(right.right), RED);
+            }
+        }
+        return new Node<>(data, left, right, color);
+    }
+
+    private static final class Split<T extends Comparable<T>> {
+        final Node<T> left;
+        final T key;
+        final Node<T> right;
+
+        Split(Node<T> left, T key, Node<T> right) {
+            this.left = left;
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    private static <T extends Comparable<T>> Split<T> split(Node<T> node, T key) {
+        if (node == null) {
+            return new Split<>(null, null, null);
+        }
+        int cmp = key.compareTo(node.data);
+        if (cmp == 0) {
+            return new Split<>(node.left, node.data, node.right);
+        }
+        if (cmp < 0) {
+            Split<T> split = split(node.left, key);
+            return new Split<>(split.left, split.key, join(split.right, node.data, node.right));
+        }
+        Split<T> split = split(node.right, key);
+        return new Split<>(join(node.left, node.data, split.left), split.key, split.right);
+    }
+
+    private static <T extends Comparable<T>> Node<T> join2(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        Split<T> last = splitLast(left);
+        return join(last.left, last.key, right);
+    }
+
+    private static <T extends Comparable<T>> Split<T> splitLast(Node<T> node) {
+        if (node.right == null) {
+            return new Split<>(node.left, node.data, null);
+        }
+        Split<T> last = splitLast(node.right);
+        return new Split<>(join(node.left, node.data, last.left), last.key, null);
+    }
+
+    private static <T extends Comparable<T>> Node<T> join(Node<T> left, T key, Node<T> right) {
+        left = blacken(left);
+        right = blacken(right);
+        int leftHeight = blackHeight(left);
+        int rightHeight = blackHeight(right);
+        if (leftHeight > rightHeight) {
+            Node<T> result = joinRight(left, leftHeight, key, right, rightHeight);
+            return isRed(result) && isRed(result.right) ? blacken(result) : result;
+        }
+        if (rightHeight > leftHeight) {
+            Node<T> result = joinLeft(left, key, right, rightHeight, leftHeight);
+            return isRed(result) && isRed(result.left) ? blacken(result) : result;
+        }
+        return new Node<>(key, left, right, RED);
+    }
+
+    private static <T extends Comparable<T>> Node<T> joinRight(Node<T> left, int leftHeight, T key, Node<T> right, int rightHeight) {
+        if (!isRed(left) && leftHeight == rightHeight) {
+            return new Node<>(key, left, right, RED);
+        }
+        int childHeight = isRed(left) ? leftHeight : leftHeight - 1;
+        Node<T> child = joinRight(left.right, childHeight, key, right, rightHeight);
+        if (!isRed(left) && isRed(child) && isRed(child.right)) {
+            // Linksrotation mit Umfärben des äußeren roten Enkels
+            return new Node<>(child.data, new Node<>(left.data, left.left, child.left, BLACK), blacken(child.right), RED);
+        }
+        return new Node<>(left.data, left.left, child, left.color);
+    }
+
+    private static <T extends Comparable<T>> Node<T> joinLeft(Node<T> left, T key, Node<T> right, int rightHeight, int leftHeight) {
+        if (!isRed(right) && leftHeight == rightHeight) {
+            return new Node<>(key, left, right, RED);
+        }
+        int childHeight = isRed(right) ? rightHeight : rightHeight - 1;
+        Node<T> child = joinLeft(left, key, right.left, childHeight, leftHeight);
+        if (!isRed(right) && isRed(child) && isRed(child.left)) {
+            // Rechtsrotation mit Umfärben des äußeren roten Enkels
+            return new Node<>(child.data, blacken(child.left), new Node<>(right.data, child.right, right.right, BLACK), RED);
+        }
+        return new Node<>(right.data, child, right.right, right.color);
+    }
+
+    private static <T extends Comparable<T>> int blackHeight(Node<T> node) {
+        int height = 0;
+        while (node != null) {
+            if (node.color == BLACK) {
+                height++;
+            }
+            node = node.left;
+        }
+        return height;
+    }
+
+    private static boolean isRed(Node<?> node) {
+        return node != null && node.color == RED;
+    }
+
+    private static <T extends Comparable<T>> Node<T> blacken(Node<T> node) {
+        return isRed(node) ? new Node<>(node.data, node.left, node.right, BLACK) : node;
+    }
+
+    static final class Node<T extends Comparable<T>> {
+        final T data;
+        final Node<T> left, right;
+        final boolean color;
+
+        Node(T data, Node<T> left, Node<T> right, boolean color) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.color = color;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package RBTrees;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import metrics.Metrics;
+import metrics.RBTreeInsertEvent;
+
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class RBTree<T extends Comparable<T>> {
+public class RBTree<T extends Comparable<T>> implements Iterable<T> {
 
     private static final boolean RED = true;
     private static final boolean BLACK = false;
     private Node<T> root;
-    private static final String DOT_CODE = "[label=\"NIL\", shape=box, color=black, fontcolor=white, style=filled];\n";
-    private static final String SPACE4 = "    ";
+    // Rotationen und Umfärbungen des laufenden Einfügens, für das RBTreeInsertEvent
+    private int insertRotations;
+    private int insertRecolorings;
 
     public static class IntComparable implements Comparable<IntComparable> {
         private final int value;
@@ -24,6 +29,16 @@ public class RBTree<T extends Comparable<T>> {
             return Integer.compare(this.value, other.value);
         }
 
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IntComparable && ((IntComparable) other).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(value);
+        }
+
         @Override
         public String toString() {
             return String.valueOf(value);
@@ -36,88 +51,64 @@ public class RBTree<T extends Comparable<T>> {
      * Baumstruktur in das DOT-Format. Anschließend kann diese Datei mit einem Graphviz-kompatiblen
      * Tool visualisiert werden.
      * <p>
-     * Die Methode führt folgende Schritte aus:
-     * <p>
-     * - Öffnet einen BufferedWriter für die angegebene Datei.
-     * <p>
-     * - Schreibt den Header und die initialen Einstellungen für eine Graphviz-Datei.
-     * <p>
-     * - Ruft die Methode printDOTRecursive auf, um die Knoten und Kanten des Baums zu erzeugen.
-     * <p>
-     * - Schließt die DOT-Datei mit einer schließenden Klammer.
+     * Die Knoten werden iterativ über einen expliziten Stack durchlaufen und gepuffert
+     * über einen FileChannel geschrieben (siehe {@link RBTreeExporter}), sodass auch sehr
+     * große Bäume keinen StackOverflowError auslösen.
      *
      * @param filename Der Name der Datei, in die die DOT-Repräsentation des Baumes geschrieben wird.
      */
     public void printDOT(String filename) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filename))) {
-            bw.write("digraph RBTree {\n");
-            bw.write(SPACE4 + "graph [ratio=.48];\n");
-            bw.write(SPACE4 + "node [style=filled, color=black, shape=circle, width=.6, fontname=Helvetica, fontweight=bold, fontcolor=white, fontsize=24, fixedsize=true];");
-
-            if (root != null) {
-                printDOTRecursive(root, bw);
-            }
+        printDOT(filename, RBTreeExporter.UNLIMITED_DEPTH);
+    }
 
-            bw.write("}\n");
+    /**
+     * Erzeugt eine DOT-Datei wie {@link #printDOT(String)}, gibt aber nur die obersten
+     * Ebenen des Baums aus. Teilbäume unterhalb von {@code maxDepth} werden durch einen
+     * Platzhalterknoten ersetzt. Das ist für Bäume mit Millionen Knoten gedacht, deren
+     * vollständige Darstellung ohnehin nicht mehr lesbar wäre.
+     *
+     * @param filename Der Name der Datei, in die die DOT-Repräsentation geschrieben wird.
+     * @param maxDepth Die maximale Tiefe der ausgegebenen Knoten (Wurzel hat Tiefe 0).
+     * @throws IllegalArgumentException wenn maxDepth negativ ist.
+     */
+    public void printDOT(String filename, int maxDepth) {
+        try {
+            new RBTreeExporter<T>(maxDepth).writeDOT(root, Paths.get(filename));
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Erzeugt rekursiv eine DOT-Repräsentation (Graphviz) des RBTrees
-     * für die grafische Darstellung des Baums. Diese Methode wird für jeden Knoten
-     * des Baums aufgerufen und generiert die DOT-Anweisungen, um die Knoten und
-     * ihre Beziehungen darzustellen. Sie wird typischerweise von einer Wrapper-Methode
-     * aufgerufen, die den gesamten Baum durchläuft.
-     * <p>
-     * Diese Methode führt folgende Aktionen durch:
-     * <p>
-     * - Erzeugt eine Knotendarstellung im DOT-Format mit der Farbe des Knotens.
-     * <p>
-     * - Für jeden Kindknoten (links und rechts) erzeugt sie eine Verbindungslinie
-     *   zwischen dem aktuellen Knoten und dem Kindknoten und ruft sich selbst
-     *   rekursiv für diese Kindknoten auf.
-     * <p>
-     * - Erzeugt zusätzlich "nil" Knoten für fehlende Kinder, um die Blätter des
-     *   Baumes in der grafischen Darstellung zu verdeutlichen.
+     * Schreibt den RBTree als verschachteltes JSON-Dokument in die angegebene Datei.
+     * Teilbäume unterhalb von {@code maxDepth} werden als {@code {"truncated":true}} ausgegeben.
      *
-     * @param node Der aktuelle Knoten, der in DOT-Format umgewandelt wird.
-     * @param bw Ein BufferedWriter, der verwendet wird, um die DOT-Anweisungen
-     *           zu schreiben.
-     * @throws IOException Wenn ein I/O-Fehler beim Schreiben in den BufferedWriter auftritt.
+     * @param filename Der Name der Zieldatei.
+     * @param maxDepth Die maximale Tiefe der ausgegebenen Knoten (Wurzel hat Tiefe 0).
+     * @throws IllegalArgumentException wenn maxDepth negativ ist.
      */
-    private void printDOTRecursive(Node<T> node, BufferedWriter bw) throws IOException {
-        if (node == null) {
-            return;
-        }
-
-        // Darstellung des aktuellen Knotens
-        String nodeColor = node.color ? "red" : "black";
-        bw.write(SPACE4 + "\"" + node.data + "\" [color=" + nodeColor + ", fontcolor=white, style=filled];\n");
-
-        // Linker Kindknoten
-        if (node.left != null) {
-            bw.write(SPACE4 + "\"" + node.data + "\" -> \"" + node.left.data + "\";\n");
-            printDOTRecursive(node.left, bw);
-        } else {
-            // Darstellung eines "nil" Blattknotens für den linken Teilbaum
-            bw.write(SPACE4 + "\"nilL" + node.data + "\"" + DOT_CODE);
-            bw.write(SPACE4 + "\"" + node.data + "\" -> \"nilL" + node.data + "\";\n");
+    public void exportJSON(String filename, int maxDepth) {
+        try {
+            new RBTreeExporter<T>(maxDepth).writeJSON(root, Paths.get(filename));
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+    }
 
-        // Rechter Kindknoten
-        if (node.right != null) {
-            bw.write(SPACE4 + "\"" + node.data + "\" -> \"" + node.right.data + "\";\n");
-            printDOTRecursive(node.right, bw);
-        } else {
-            // Darstellung eines "nil" Blattknotens für den rechten Teilbaum
-            bw.write(SPACE4 + "\"nilR" + node.data + "\"" + DOT_CODE);
-            bw.write(SPACE4 + "\"" + node.data + "\" -> \"nilR" + node.data + "\";\n");
+    /**
+     * Schreibt einen kompakten binären Snapshot des RBTrees (Preorder, ein Flag-Byte
+     * und der Schlüssel pro Knoten) in die angegebene Datei.
+     *
+     * @param filename Der Name der Zieldatei.
+     */
+    public void exportBinary(String filename) {
+        try {
+            new RBTreeExporter<T>(RBTreeExporter.UNLIMITED_DEPTH).writeBinary(root, Paths.get(filename));
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
-
     /**
      * Ermittelt den Onkelknoten eines gegebenen Knotens im RBTree.
      * Der Onkel eines Knotens ist der Bruder seines Elternteils, also das andere Kind
@@ -177,6 +168,10 @@ public class RBTree<T extends Comparable<T>> {
 
         // Case 1: Parent is null, we've reached the root, the end of the recursion
         if (parent == null) {
+            if (node.color == RED) {
+                Metrics.count(Metrics.Counter.RBTREE_RECOLORINGS);
+                insertRecolorings++;
+            }
             node.color = BLACK;
             return;
         }
@@ -198,6 +193,8 @@ public class RBTree<T extends Comparable<T>> {
             parent.color = BLACK;
             grandparent.color = RED;
             uncle.color = BLACK;
+            Metrics.add(Metrics.Counter.RBTREE_RECOLORINGS, 3);
+            insertRecolorings += 3;
 
             // Call recursively for grandparent, which is now red.
             // It might be root or have a red parent, in which case we need to fix more...
@@ -209,6 +206,8 @@ public class RBTree<T extends Comparable<T>> {
             // Case 4a: Uncle is black and node is left->right "inner child" of its grandparent
             if (node == parent.right) {
                 rotateLeft(parent);
+                Metrics.count(Metrics.Counter.RBTREE_ROTATIONS);
+                insertRotations++;
 
                 // Let "parent" point to the new root node of the rotated sub-tree.
                 // It will be recolored in the next step, which we're going to fall-through to.
@@ -217,10 +216,14 @@ public class RBTree<T extends Comparable<T>> {
 
             // Case 5a: Uncle is black and node is left->left "outer child" of its grandparent
             rotateRight(grandparent);
+            Metrics.count(Metrics.Counter.RBTREE_ROTATIONS);
+            insertRotations++;
 
             // Recolor original parent and grandparent
             parent.color = BLACK;
             grandparent.color = RED;
+            Metrics.add(Metrics.Counter.RBTREE_RECOLORINGS, 2);
+            insertRecolorings += 2;
         }
 
         // Parent is right child of grandparent
@@ -228,6 +231,8 @@ public class RBTree<T extends Comparable<T>> {
             // Case 4b: Uncle is black and node is right->left "inner child" of its grandparent
             if (node == parent.left) {
                 rotateRight(parent);
+                Metrics.count(Metrics.Counter.RBTREE_ROTATIONS);
+                insertRotations++;
 
                 // Let "parent" point to the new root node of the rotated sub-tree.
                 // It will be recolored in the next step, which we're going to fall-through to.
@@ -236,10 +241,14 @@ public class RBTree<T extends Comparable<T>> {
 
             // Case 5b: Uncle is black and node is right->right "outer child" of its grandparent
             rotateLeft(grandparent);
+            Metrics.count(Metrics.Counter.RBTREE_ROTATIONS);
+            insertRotations++;
 
             // Recolor original parent and grandparent
             parent.color = BLACK;
             grandparent.color = RED;
+            Metrics.add(Metrics.Counter.RBTREE_RECOLORINGS, 2);
+            insertRecolorings += 2;
         }
     }
 
@@ -265,15 +274,25 @@ public class RBTree<T extends Comparable<T>> {
      * 4. Nach dem Einfügen des neuen Knotens wird eine Hilfsmethode aufgerufen,
      *    um eventuelle Verletzungen der Rot-Schwarz-Eigenschaften zu beheben.
      *
+     * <p>
+     * Jeder Aufruf wird als {@link RBTreeInsertEvent} an JFR gemeldet, sofern eine Aufzeichnung
+     * läuft und das Event dort aktiviert ist.
+     *
      * @param key Der Schlüssel des neuen Knotens, der eingefügt werden soll.
      * @throws IllegalArgumentException wenn ein Knoten mit demselben Schlüssel bereits existiert.
      */
      public void insertNode(T key) {
+        RBTreeInsertEvent event = new RBTreeInsertEvent();
+        event.begin();
+        insertRotations = 0;
+        insertRecolorings = 0;
         Node<T> node = root;
         Node<T> parent = null;
+        int depth = 0;
         // Traversiere den Baum nach links oder nach rechts je nach dem Wert des keys
         while (node != null) {
             parent = node;
+            depth++;
             int cmp = key.compareTo(node.data);
             if (cmp < 0) {
                 node = node.left;
@@ -297,6 +316,14 @@ public class RBTree<T extends Comparable<T>> {
         newNode.parent = parent;
 
         fixRedBlackPropertiesAfterInsert(newNode);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.depth = depth;
+            event.rotations = insertRotations;
+            event.recolorings = insertRecolorings;
+            event.commit();
+        }
     }
 
     /**
@@ -412,6 +439,231 @@ public class RBTree<T extends Comparable<T>> {
     }
 
 
+    /**
+     * Baut in O(n) einen RBTree aus streng aufsteigend sortierten Schlüsseln auf.
+     * Im Gegensatz zu n Aufrufen von {@link #insertNode(Comparable)} sind dafür weder
+     * Vergleiche entlang eines Suchpfads noch Rotationen nötig.
+     *
+     * @param sortedKeys Die Schlüssel in streng aufsteigender Reihenfolge.
+     * @param <T>        Der Typ der Schlüssel.
+     * @return Ein neuer RBTree mit allen Schlüsseln.
+     * @throws IllegalArgumentException wenn die Schlüssel nicht streng aufsteigend sortiert sind.
+     */
+    public static <T extends Comparable<T>> RBTree<T> fromSorted(T[] sortedKeys) {
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1].compareTo(sortedKeys[i]) >= 0) {
+                throw new IllegalArgumentException("Keys must be strictly ascending at index " + i);
+            }
+        }
+        RBTree<T> tree = new RBTree<>();
+        tree.root = RBTreeJoin.buildFromSorted(sortedKeys);
+        return tree;
+    }
+
+    /**
+     * Prüft, ob ein Knoten mit dem gegebenen Schlüssel im RBTree vorhanden ist.
+     *
+     * @param key Der gesuchte Schlüssel.
+     * @return true, wenn der Schlüssel im Baum enthalten ist.
+     */
+    public boolean contains(T key) {
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.data);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sucht den kleinsten Schlüssel, der echt größer als der gegebene ist. Die Suche folgt
+     * einem einzigen Pfad von der Wurzel und merkt sich den letzten passenden Knoten.
+     *
+     * @param key Der Vergleichsschlüssel, er muss nicht im Baum enthalten sein.
+     * @return Der nächstgrößere Schlüssel oder null, wenn es keinen gibt.
+     */
+    public T higher(T key) {
+        Node<T> node = root;
+        T candidate = null;
+        while (node != null) {
+            if (key.compareTo(node.data) < 0) {
+                candidate = node.data;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Prüft, ob der RBTree leer ist.
+     *
+     * @return true, wenn der Baum keine Knoten enthält.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Liefert einen Iterator, der die Schlüssel in aufsteigender Reihenfolge durchläuft.
+     * Der Iterator folgt den parent-Zeigern und benötigt daher keinen zusätzlichen Stack.
+     * Der Baum darf während der Iteration nicht verändert werden.
+     *
+     * @return Ein Iterator über alle Schlüssel in In-Order-Reihenfolge.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private Node<T> next = root == null ? null : minimum(root);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Node<T> current = next;
+                next = successor(current);
+                return current.data;
+            }
+        };
+    }
+
+    /**
+     * Trennt alle Schlüssel größer oder gleich key in einen neuen RBTree ab.
+     * Dieser Baum behält nur die Schlüssel kleiner als key. Laufzeit O(log n).
+     *
+     * @param key Der Schlüssel, an dem getrennt wird.
+     * @return Ein neuer RBTree mit allen Schlüsseln größer oder gleich key.
+     */
+    public RBTree<T> splitOff(T key) {
+        RBTreeJoin.Split<T> split = RBTreeJoin.split(root, key);
+        RBTree<T> tail = new RBTree<>();
+        tail.setRoot(split.found == null ? split.right : RBTreeJoin.join(null, split.found, split.right));
+        setRoot(split.left);
+        return tail;
+    }
+
+    /**
+     * Hängt alle Schlüssel des Baums right an diesen Baum an. Alle Schlüssel in right
+     * müssen größer als alle Schlüssel in diesem Baum sein. Laufzeit O(log n),
+     * right ist danach leer.
+     *
+     * @param right Der anzuhängende Baum.
+     * @throws IllegalArgumentException wenn sich die Schlüsselbereiche überschneiden.
+     */
+    public void join(RBTree<T> right) {
+        if (root != null && right.root != null
+                && maximum(root).data.compareTo(minimum(right.root).data) >= 0) {
+            throw new IllegalArgumentException("All keys of the right tree must be greater than the keys of this tree");
+        }
+        setRoot(RBTreeJoin.join2(root, right.root));
+        right.root = null;
+    }
+
+    /**
+     * Bildet die Vereinigung mit einem anderen RBTree. Dieser Baum enthält danach alle
+     * Schlüssel beider Bäume, other ist danach leer. Die Knoten beider Bäume werden
+     * wiederverwendet. Laufzeit O(m log(n/m + 1)) für m &lt;= n, die beiden Hälften
+     * jedes Rekursionsschritts werden per Fork/Join parallel berechnet.
+     *
+     * @param other Der andere Baum, dessen Knoten übernommen werden. Ist other dieser
+     *              Baum selbst, bleibt er unverändert.
+     */
+    public void union(RBTree<T> other) {
+        // Beide Seiten teilen sich sonst dieselben Knoten, und other.root = null leert this
+        if (other == this) {
+            return;
+        }
+        setRoot(RBTreeJoin.union(root, other.root));
+        other.root = null;
+    }
+
+    /**
+     * Bildet die Schnittmenge mit einem anderen RBTree. Dieser Baum enthält danach nur noch
+     * die Schlüssel, die in beiden Bäumen vorkommen, other ist danach leer.
+     *
+     * @param other Der andere Baum. Ist other dieser Baum selbst, bleibt er unverändert.
+     */
+    public void intersection(RBTree<T> other) {
+        if (other == this) {
+            return;
+        }
+        setRoot(RBTreeJoin.intersection(root, other.root));
+        other.root = null;
+    }
+
+    /**
+     * Entfernt alle Schlüssel aus diesem Baum, die auch in other vorkommen.
+     * other ist danach leer.
+     *
+     * @param other Der Baum mit den zu entfernenden Schlüsseln. Ist other dieser Baum
+     *              selbst, ist er danach leer.
+     */
+    public void difference(RBTree<T> other) {
+        if (other == this) {
+            root = null;
+            return;
+        }
+        setRoot(RBTreeJoin.difference(root, other.root));
+        other.root = null;
+    }
+
+    private void setRoot(Node<T> newRoot) {
+        root = newRoot;
+        if (root != null) {
+            root.parent = null;
+            root.color = BLACK;
+        }
+    }
+
+    private static <T extends Comparable<T>> Node<T> minimum(Node<T> node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static <T extends Comparable<T>> Node<T> maximum(Node<T> node) {
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    private static <T extends Comparable<T>> Node<T> successor(Node<T> node) {
+        if (node.right != null) {
+            return minimum(node.right);
+        }
+        Node<T> parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Liefert die Wurzel des Baums für Hilfsklassen im selben Package
+     * (z.B. Export und Layout).
+     *
+     * @return Die Wurzel des Baums oder null, wenn der Baum leer ist.
+     */
+    Node<T> getRoot() {
+        return root;
+    }
+
     public static class Node<T extends Comparable<T>> {
         T data;
 
@@ -0,0 +1,341 @@
+package RBTrees;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Schreibt einen RBTree iterativ (ohne Rekursion) als DOT-, JSON- oder Binärdatei.
+ * <p>
+ * Alle Ausgaben laufen über einen wiederverwendeten StringBuilder in einen großen
+ * Direct-ByteBuffer, der blockweise in einen FileChannel geschrieben wird. Dadurch
+ * entstehen pro Knoten keine temporären Strings durch Konkatenation, und auch Bäume
+ * mit Millionen Knoten führen nicht zu einem StackOverflowError.
+ * <p>
+ * Über {@code maxDepth} kann die Ausgabe auf die oberen Ebenen des Baums begrenzt
+ * werden. Abgeschnittene Teilbäume werden als eigener Platzhalterknoten dargestellt.
+ *
+ * @param <T> Der Typ der Schlüssel im Baum.
+ */
+final class RBTreeExporter<T extends Comparable<T>> {
+
+    static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int FLUSH_THRESHOLD = 1 << 13;
+    private static final String SPACE4 = "    ";
+    private static final String NIL_CODE = "[label=\"NIL\", shape=box, color=black, fontcolor=white, style=filled];\n";
+    private static final String CUT_CODE = " [label=\"...\", shape=box, color=gray, fontcolor=black, style=dashed];\n";
+
+    // Markiert auf dem Stack, dass für den Knoten darunter noch die rechte Seite fehlt
+    private static final Object RIGHT_PART = new Object();
+
+    private static final byte[] BINARY_MAGIC = {'R', 'B', 'T', '1'};
+    private static final int FLAG_RED = 1;
+    private static final int FLAG_LEFT = 2;
+    private static final int FLAG_RIGHT = 4;
+    private static final int FLAG_CUT = 8;
+
+    private final StringBuilder text = new StringBuilder(FLUSH_THRESHOLD + 256);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final int maxDepth;
+
+    // Expliziter Stack statt Rekursion: Knoten (bzw. Text-Token) und ihre Tiefe
+    private Object[] stack = new Object[64];
+    private int[] depths = new int[64];
+    private int top;
+
+    private FileChannel channel;
+
+    RBTreeExporter(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Schreibt den Baum im DOT-Format (Graphviz). Die Ausgabe entspricht der
+     * bisherigen rekursiven Darstellung inklusive der NIL-Blätter.
+     *
+     * @param root Die Wurzel des Baums, darf null sein.
+     * @param file Die Zieldatei.
+     * @throws IOException Wenn beim Schreiben ein I/O-Fehler auftritt.
+     */
+    void writeDOT(RBTree.Node<T> root, Path file) throws IOException {
+        open(file);
+        try {
+            text.append("digraph RBTree {\n");
+            text.append(SPACE4).append("graph [ratio=.48];\n");
+            text.append(SPACE4).append("node [style=filled, color=black, shape=circle, width=.6, fontname=Helvetica, fontweight=bold, fontcolor=white, fontsize=24, fixedsize=true];");
+
+            if (root != null) {
+                push(root, 0);
+            }
+            while (top > 0) {
+                top--;
+                Object item = stack[top];
+                stack[top] = null;
+
+                if (item == RIGHT_PART) {
+                    // Der linke Teilbaum ist fertig, jetzt folgt die rechte Kante des Knotens darunter
+                    top--;
+                    @SuppressWarnings("unchecked")
+                    RBTree.Node<T> node = (RBTree.Node<T>) stack[top];
+                    int depth = depths[top];
+                    stack[top] = null;
+                    appendRightPart(node, depth);
+                    flushTextIfLarge();
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                RBTree.Node<T> node = (RBTree.Node<T>) item;
+                int depth = depths[top];
+
+                // Darstellung des aktuellen Knotens
+                text.append(SPACE4).append('"').append(node.data).append("\" [color=")
+                        .append(node.color ? "red" : "black").append(", fontcolor=white, style=filled];\n");
+
+                if (depth >= maxDepth && (node.left != null || node.right != null)) {
+                    // Teilbaum wird abgeschnitten und durch einen Platzhalter ersetzt
+                    text.append(SPACE4).append("\"cut").append(node.data).append('"').append(CUT_CODE);
+                    text.append(SPACE4).append('"').append(node.data).append("\" -> \"cut").append(node.data).append("\";\n");
+                } else {
+                    // Gleiche Reihenfolge wie die frühere Rekursion: Knoten, linke Kante, linker
+                    // Teilbaum, rechte Kante, rechter Teilbaum
+                    appendChild(node, node.left, "nilL");
+                    if (node.left != null) {
+                        // Die rechte Seite wird erst nach dem linken Teilbaum ausgegeben
+                        push(node, depth);
+                        push(RIGHT_PART, depth);
+                        push(node.left, depth + 1);
+                    } else {
+                        appendRightPart(node, depth);
+                    }
+                }
+                flushTextIfLarge();
+            }
+
+            text.append("}\n");
+            flushText();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Schreibt den Baum als verschachteltes JSON-Objekt der Form
+     * {@code {"key":"..","color":"red","left":{..},"right":null}}.
+     * Abgeschnittene Teilbäume werden als {@code {"truncated":true}} ausgegeben.
+     *
+     * @param root Die Wurzel des Baums, darf null sein.
+     * @param file Die Zieldatei.
+     * @throws IOException Wenn beim Schreiben ein I/O-Fehler auftritt.
+     */
+    void writeJSON(RBTree.Node<T> root, Path file) throws IOException {
+        open(file);
+        try {
+            if (root == null) {
+                text.append("null");
+            } else {
+                push(root, 0);
+            }
+            while (top > 0) {
+                top--;
+                Object item = stack[top];
+                int depth = depths[top];
+                stack[top] = null;
+
+                if (item instanceof String) {
+                    text.append((String) item);
+                } else if (item == null) {
+                    text.append("null");
+                } else {
+                    @SuppressWarnings("unchecked")
+                    RBTree.Node<T> node = (RBTree.Node<T>) item;
+                    if (depth > maxDepth) {
+                        text.append("{\"truncated\":true}");
+                    } else {
+                        text.append("{\"key\":\"");
+                        appendEscaped(String.valueOf(node.data));
+                        text.append("\",\"color\":\"").append(node.color ? "red" : "black").append("\",\"left\":");
+                        // Umgekehrte Reihenfolge, da der Stack LIFO ist
+                        push("}", depth);
+                        push(node.right, depth + 1);
+                        push(",\"right\":", depth);
+                        push(node.left, depth + 1);
+                    }
+                }
+                flushTextIfLarge();
+            }
+            text.append('\n');
+            flushText();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Schreibt einen kompakten binären Snapshot des Baums in Preorder.
+     * Nach der Kennung "RBT1" folgt pro Knoten ein Flag-Byte (rot, hat linkes Kind,
+     * hat rechtes Kind, abgeschnitten) sowie der Schlüssel als UTF-8 mit vorangestellter
+     * Länge (int). Ein leerer Baum besteht nur aus der Kennung.
+     *
+     * @param root Die Wurzel des Baums, darf null sein.
+     * @param file Die Zieldatei.
+     * @throws IOException Wenn beim Schreiben ein I/O-Fehler auftritt.
+     */
+    void writeBinary(RBTree.Node<T> root, Path file) throws IOException {
+        open(file);
+        try {
+            buffer.put(BINARY_MAGIC);
+            if (root != null) {
+                push(root, 0);
+            }
+            while (top > 0) {
+                top--;
+                @SuppressWarnings("unchecked")
+                RBTree.Node<T> node = (RBTree.Node<T>) stack[top];
+                int depth = depths[top];
+                stack[top] = null;
+
+                boolean cut = depth >= maxDepth && (node.left != null || node.right != null);
+                int flags = node.color ? FLAG_RED : 0;
+                if (cut) {
+                    flags |= FLAG_CUT;
+                } else {
+                    flags |= (node.left != null ? FLAG_LEFT : 0) | (node.right != null ? FLAG_RIGHT : 0);
+                }
+                byte[] key = String.valueOf(node.data).getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(1 + Integer.BYTES);
+                buffer.put((byte) flags).putInt(key.length);
+                putBytes(key);
+
+                if (!cut) {
+                    if (node.right != null) {
+                        push(node.right, depth + 1);
+                    }
+                    if (node.left != null) {
+                        push(node.left, depth + 1);
+                    }
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private void appendRightPart(RBTree.Node<T> node, int depth) {
+        appendChild(node, node.right, "nilR");
+        if (node.right != null) {
+            push(node.right, depth + 1);
+        }
+    }
+
+    private void appendChild(RBTree.Node<T> node, RBTree.Node<T> child, String nilPrefix) {
+        if (child != null) {
+            text.append(SPACE4).append('"').append(node.data).append("\" -> \"").append(child.data).append("\";\n");
+        } else {
+            // Darstellung eines "nil" Blattknotens
+            text.append(SPACE4).append('"').append(nilPrefix).append(node.data).append('"').append(NIL_CODE);
+            text.append(SPACE4).append('"').append(node.data).append("\" -> \"").append(nilPrefix).append(node.data).append("\";\n");
+        }
+    }
+
+    private void appendEscaped(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                text.append('\\').append(c);
+            } else if (c < 0x20) {
+                text.append(String.format("\\u%04x", (int) c));
+            } else {
+                text.append(c);
+            }
+        }
+    }
+
+    private void push(Object item, int depth) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top * 2);
+            depths = Arrays.copyOf(depths, top * 2);
+        }
+        stack[top] = item;
+        depths[top] = depth;
+        top++;
+    }
+
+    private void open(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.clear();
+        text.setLength(0);
+        top = 0;
+    }
+
+    private void close() throws IOException {
+        try {
+            drainBuffer();
+        } finally {
+            Arrays.fill(stack, 0, top, null);
+            top = 0;
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void flushTextIfLarge() throws IOException {
+        if (text.length() >= FLUSH_THRESHOLD) {
+            flushText();
+        }
+    }
+
+    // Kodiert den gesammelten Text in den ByteBuffer und leert diesen bei Bedarf
+    private void flushText() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        CoderResult result = encoder.encode(chars, buffer, true);
+        while (result.isOverflow()) {
+            drainBuffer();
+            result = encoder.encode(chars, buffer, true);
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drainBuffer();
+        }
+        text.setLength(0);
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drainBuffer();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drainBuffer();
+        }
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,357 @@
+package RBTrees;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Join-basierte Algorithmen für RBTrees (nach Blelloch, Ferizovic und Sun, "Just Join
+ * for Parallel Ordered Sets").
+ * <p>
+ * Grundlage ist {@link #join(RBTree.Node, RBTree.Node, RBTree.Node)}, das zwei Bäume
+ * und einen mittleren Schlüssel in O(|Schwarzhöhe links - Schwarzhöhe rechts|)
+ * zu einem gültigen RBTree zusammenfügt. Darauf aufbauend arbeiten split, union,
+ * intersection und difference. Die Mengenoperationen zerlegen das Problem in zwei
+ * unabhängige Teilprobleme und werden daher über Fork/Join parallel ausgeführt.
+ * <p>
+ * Alle Methoden arbeiten destruktiv auf den übergebenen Knoten und verwenden diese
+ * wieder, anstatt neue Knoten zu erzeugen. Zurückgegebene Wurzeln haben immer
+ * {@code parent == null}, können aber rot sein.
+ */
+final class RBTreeJoin {
+
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    // Bis zu dieser Rekursionstiefe werden Teilprobleme als eigene Tasks abgespalten
+    private static final int FORK_DEPTH =
+            2 + 32 - Integer.numberOfLeadingZeros(ForkJoinPool.getCommonPoolParallelism());
+
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+
+    private RBTreeJoin() {
+    }
+
+    /**
+     * Ergebnis eines Splits: alle Schlüssel kleiner als der Suchschlüssel, der Knoten
+     * mit dem Suchschlüssel (oder null) und alle Schlüssel größer als der Suchschlüssel.
+     */
+    static final class Split<T extends Comparable<T>> {
+        RBTree.Node<T> left;
+        RBTree.Node<T> found;
+        RBTree.Node<T> right;
+
+        Split(RBTree.Node<T> left, RBTree.Node<T> found, RBTree.Node<T> right) {
+            this.left = left;
+            this.found = found;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Baut aus einem streng aufsteigend sortierten Array in O(n) einen RBTree auf.
+     * Der Baum wird perfekt balanciert über die Mittelpunkte der Teilbereiche erzeugt,
+     * sodass alle Ebenen bis auf die unterste voll sind. Färbt man genau die unterste
+     * Ebene rot, haben alle Pfade dieselbe Schwarzhöhe.
+     *
+     * @param keys Die sortierten Schlüssel.
+     * @param <T>  Der Typ der Schlüssel.
+     * @return Die Wurzel des neuen Baums oder null für ein leeres Array.
+     */
+    static <T extends Comparable<T>> RBTree.Node<T> buildFromSorted(T[] keys) {
+        if (keys.length == 0) {
+            return null;
+        }
+        int redDepth = 31 - Integer.numberOfLeadingZeros(keys.length);
+        RBTree.Node<T> root = build(keys, 0, keys.length - 1, 0, redDepth);
+        root.color = BLACK;
+        return root;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> build(T[] keys, int lo, int hi, int depth, int redDepth) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        RBTree.Node<T> node = new RBTree.Node<>(keys[mid]);
+        node.color = depth == redDepth ? RED : BLACK;
+        return link(node, build(keys, lo, mid - 1, depth + 1, redDepth), build(keys, mid + 1, hi, depth + 1, redDepth));
+    }
+
+    /**
+     * Fügt zwei Bäume und einen mittleren Knoten zusammen. Alle Schlüssel in left müssen
+     * kleiner und alle Schlüssel in right größer als der Schlüssel von middle sein.
+     *
+     * @param left   Der linke Baum (darf null sein).
+     * @param middle Der mittlere Knoten, wird wiederverwendet.
+     * @param right  Der rechte Baum (darf null sein).
+     * @param <T>    Der Typ der Schlüssel.
+     * @return Die Wurzel des zusammengefügten Baums.
+     */
+    static <T extends Comparable<T>> RBTree.Node<T> join(RBTree.Node<T> left, RBTree.Node<T> middle, RBTree.Node<T> right) {
+        // Rote Wurzeln werden schwarz gefärbt, das ist für einen eigenständigen Baum immer gültig
+        if (isRed(left)) {
+            left.color = BLACK;
+        }
+        if (isRed(right)) {
+            right.color = BLACK;
+        }
+        int leftHeight = blackHeight(left);
+        int rightHeight = blackHeight(right);
+        RBTree.Node<T> result;
+        if (leftHeight > rightHeight) {
+            result = joinRight(left, leftHeight, middle, right, rightHeight);
+            if (isRed(result) && isRed(result.right)) {
+                result.color = BLACK;
+            }
+        } else if (rightHeight > leftHeight) {
+            result = joinLeft(left, leftHeight, middle, right, rightHeight);
+            if (isRed(result) && isRed(result.left)) {
+                result.color = BLACK;
+            }
+        } else {
+            middle.color = RED;
+            result = link(middle, left, right);
+        }
+        result.parent = null;
+        return result;
+    }
+
+    /**
+     * Fügt zwei Bäume ohne mittleren Schlüssel zusammen, indem der größte Knoten des
+     * linken Baums als mittlerer Knoten verwendet wird.
+     */
+    static <T extends Comparable<T>> RBTree.Node<T> join2(RBTree.Node<T> left, RBTree.Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        Split<T> last = splitLast(left);
+        return join(last.left, last.found, right);
+    }
+
+    /**
+     * Zerlegt einen Baum anhand eines Schlüssels in die Schlüssel kleiner bzw. größer
+     * als key sowie den Knoten mit key selbst, falls vorhanden.
+     *
+     * @param node Die Wurzel des zu zerlegenden Baums.
+     * @param key  Der Schlüssel, an dem zerlegt wird.
+     * @param <T>  Der Typ der Schlüssel.
+     * @return Die drei Teile des Splits.
+     */
+    static <T extends Comparable<T>> Split<T> split(RBTree.Node<T> node, T key) {
+        if (node == null) {
+            return new Split<>(null, null, null);
+        }
+        RBTree.Node<T> left = detachLeft(node);
+        RBTree.Node<T> right = detachRight(node);
+        node.parent = null;
+
+        int cmp = key.compareTo(node.data);
+        if (cmp == 0) {
+            return new Split<>(left, node, right);
+        }
+        if (cmp < 0) {
+            Split<T> split = split(left, key);
+            split.right = join(split.right, node, right);
+            return split;
+        }
+        Split<T> split = split(right, key);
+        split.left = join(left, node, split.left);
+        return split;
+    }
+
+    static <T extends Comparable<T>> RBTree.Node<T> union(RBTree.Node<T> a, RBTree.Node<T> b) {
+        return new SetOperation<>(UNION, a, b, 0).invoke();
+    }
+
+    static <T extends Comparable<T>> RBTree.Node<T> intersection(RBTree.Node<T> a, RBTree.Node<T> b) {
+        return new SetOperation<>(INTERSECTION, a, b, 0).invoke();
+    }
+
+    static <T extends Comparable<T>> RBTree.Node<T> difference(RBTree.Node<T> a, RBTree.Node<T> b) {
+        return new SetOperation<>(DIFFERENCE, a, b, 0).invoke();
+    }
+
+    /**
+     * Rekursive Mengenoperation. Der Baum b wird an seiner Wurzel zerlegt, a wird am
+     * Schlüssel dieser Wurzel gesplittet, und die beiden Hälften werden unabhängig
+     * voneinander (bis FORK_DEPTH parallel) verarbeitet und anschließend gejoint.
+     */
+    private static final class SetOperation<T extends Comparable<T>> extends RecursiveTask<RBTree.Node<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int operation;
+        private final RBTree.Node<T> a;
+        private final RBTree.Node<T> b;
+        private final int depth;
+
+        SetOperation(int operation, RBTree.Node<T> a, RBTree.Node<T> b, int depth) {
+            this.operation = operation;
+            this.a = a;
+            this.b = b;
+            this.depth = depth;
+        }
+
+        @Override
+        protected RBTree.Node<T> compute() {
+            return apply(operation, a, b, depth);
+        }
+
+        private static <T extends Comparable<T>> RBTree.Node<T> apply(int operation, RBTree.Node<T> a, RBTree.Node<T> b, int depth) {
+            if (a == null) {
+                return operation == UNION ? b : null;
+            }
+            if (b == null) {
+                return operation == INTERSECTION ? null : a;
+            }
+            RBTree.Node<T> bLeft = detachLeft(b);
+            RBTree.Node<T> bRight = detachRight(b);
+            b.parent = null;
+            Split<T> split = split(a, b.data);
+
+            RBTree.Node<T> left;
+            RBTree.Node<T> right;
+            if (depth < FORK_DEPTH) {
+                SetOperation<T> leftTask = new SetOperation<>(operation, split.left, bLeft, depth + 1);
+                leftTask.fork();
+                right = apply(operation, split.right, bRight, depth + 1);
+                left = leftTask.join();
+            } else {
+                left = apply(operation, split.left, bLeft, depth + 1);
+                right = apply(operation, split.right, bRight, depth + 1);
+            }
+
+            switch (operation) {
+                case UNION:
+                    return RBTreeJoin.join(left, b, right);
+                case INTERSECTION:
+                    if (split.found != null) {
+                        return RBTreeJoin.join(left, split.found, right);
+                    }
+                    return RBTreeJoin.join2(left, right);
+                default:
+                    return RBTreeJoin.join2(left, right);
+            }
+        }
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> joinRight(RBTree.Node<T> left, int leftHeight,
+                                                                     RBTree.Node<T> middle, RBTree.Node<T> right, int rightHeight) {
+        if (!isRed(left) && leftHeight == rightHeight) {
+            middle.color = RED;
+            return link(middle, left, right);
+        }
+        int childHeight = isRed(left) ? leftHeight : leftHeight - 1;
+        RBTree.Node<T> child = joinRight(left.right, childHeight, middle, right, rightHeight);
+        left.right = child;
+        child.parent = left;
+        if (!isRed(left) && isRed(child) && isRed(child.right)) {
+            child.right.color = BLACK;
+            return rotateLeft(left);
+        }
+        return left;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> joinLeft(RBTree.Node<T> left, int leftHeight,
+                                                                    RBTree.Node<T> middle, RBTree.Node<T> right, int rightHeight) {
+        if (!isRed(right) && leftHeight == rightHeight) {
+            middle.color = RED;
+            return link(middle, left, right);
+        }
+        int childHeight = isRed(right) ? rightHeight : rightHeight - 1;
+        RBTree.Node<T> child = joinLeft(left, leftHeight, middle, right.left, childHeight);
+        right.left = child;
+        child.parent = right;
+        if (!isRed(right) && isRed(child) && isRed(child.left)) {
+            child.left.color = BLACK;
+            return rotateRight(right);
+        }
+        return right;
+    }
+
+    private static <T extends Comparable<T>> Split<T> splitLast(RBTree.Node<T> node) {
+        RBTree.Node<T> left = detachLeft(node);
+        RBTree.Node<T> right = detachRight(node);
+        node.parent = null;
+        if (right == null) {
+            return new Split<>(left, node, null);
+        }
+        Split<T> last = splitLast(right);
+        last.left = join(left, node, last.left);
+        return last;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> rotateLeft(RBTree.Node<T> node) {
+        RBTree.Node<T> rightChild = node.right;
+        node.right = rightChild.left;
+        if (rightChild.left != null) {
+            rightChild.left.parent = node;
+        }
+        rightChild.left = node;
+        rightChild.parent = node.parent;
+        node.parent = rightChild;
+        return rightChild;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> rotateRight(RBTree.Node<T> node) {
+        RBTree.Node<T> leftChild = node.left;
+        node.left = leftChild.right;
+        if (leftChild.right != null) {
+            leftChild.right.parent = node;
+        }
+        leftChild.right = node;
+        leftChild.parent = node.parent;
+        node.parent = leftChild;
+        return leftChild;
+    }
+
+    // Schwarzhöhe inklusive des Knotens selbst, NIL-Blätter zählen nicht
+    static <T extends Comparable<T>> int blackHeight(RBTree.Node<T> node) {
+        int height = 0;
+        while (node != null) {
+            if (!node.color) {
+                height++;
+            }
+            node = node.left;
+        }
+        return height;
+    }
+
+    private static boolean isRed(RBTree.Node<?> node) {
+        return node != null && node.color == RED;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> link(RBTree.Node<T> node, RBTree.Node<T> left, RBTree.Node<T> right) {
+        node.left = left;
+        node.right = right;
+        if (left != null) {
+            left.parent = node;
+        }
+        if (right != null) {
+            right.parent = node;
+        }
+        return node;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> detachLeft(RBTree.Node<T> node) {
+        RBTree.Node<T> left = node.left;
+        node.left = null;
+        if (left != null) {
+            left.parent = null;
+        }
+        return left;
+    }
+
+    private static <T extends Comparable<T>> RBTree.Node<T> detachRight(RBTree.Node<T> node) {
+        RBTree.Node<T> right = node.right;
+        node.right = null;
+        if (right != null) {
+            right.parent = null;
+        }
+        return right;
+    }
+}
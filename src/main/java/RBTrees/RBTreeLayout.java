@@ -0,0 +1,134 @@
+package RBTrees;
+
+import java.util.Arrays;
+
+/**
+ * Unveränderlicher Layout-Snapshot eines RBTrees für die Darstellung als SVG oder PDF.
+ * <p>
+ * Das Layout wird iterativ in einem einzigen In-Order-Durchlauf berechnet: Jeder Knoten
+ * (inklusive der NIL-Blätter) erhält eine eigene Spalte entsprechend seiner In-Order-Position
+ * und eine Zeile entsprechend seiner Tiefe. Dadurch überschneiden sich keine Teilbäume.
+ * <p>
+ * Da der Snapshot keine Referenzen auf die Knoten des Baums hält, kann er nach dem
+ * Erzeugen beliebig parallel gerendert werden, während der Baum weiter verändert wird.
+ */
+final class RBTreeLayout {
+
+    static final byte BLACK_NODE = 0;
+    static final byte RED_NODE = 1;
+    static final byte NIL_NODE = 2;
+
+    static final int COLUMN_WIDTH = 36;
+    static final int ROW_HEIGHT = 72;
+    static final int RADIUS = 20;
+    static final int NIL_WIDTH = 28;
+    static final int NIL_HEIGHT = 18;
+    static final int MARGIN = 30;
+
+    final int size;
+    final int[] x;
+    final int[] y;
+    final int[] parent;
+    final byte[] kind;
+    final String[] labels;
+    final int width;
+    final int height;
+
+    private RBTreeLayout(int size, int[] x, int[] y, int[] parent, byte[] kind, String[] labels, int columns, int rows) {
+        this.size = size;
+        this.x = x;
+        this.y = y;
+        this.parent = parent;
+        this.kind = kind;
+        this.labels = labels;
+        this.width = 2 * MARGIN + Math.max(columns, 1) * COLUMN_WIDTH;
+        this.height = 2 * MARGIN + Math.max(rows, 1) * ROW_HEIGHT;
+    }
+
+    /**
+     * Erzeugt einen Layout-Snapshot des übergebenen Baums.
+     *
+     * @param tree Der Baum, dessen aktueller Zustand dargestellt werden soll.
+     * @param <T>  Der Typ der Schlüssel im Baum.
+     * @return Der Layout-Snapshot.
+     */
+    static <T extends Comparable<T>> RBTreeLayout of(RBTree<T> tree) {
+        RBTree.Node<T> root = tree.getRoot();
+        if (root == null) {
+            return new RBTreeLayout(0, new int[0], new int[0], new int[0], new byte[0], new String[0], 0, 0);
+        }
+        int capacity = 16;
+        int[] x = new int[capacity];
+        int[] y = new int[capacity];
+        int[] parent = new int[capacity];
+        byte[] kind = new byte[capacity];
+        String[] labels = new String[capacity];
+        int size = 0;
+        int rows = 0;
+
+        // Stack für den iterativen In-Order-Durchlauf: Knoten, Tiefe und Layout-Index des Elternteils
+        @SuppressWarnings("unchecked")
+        RBTree.Node<T>[] nodes = (RBTree.Node<T>[]) new RBTree.Node<?>[16];
+        int[] depths = new int[16];
+        int[] slots = new int[16];
+        int top = 0;
+
+        // Der Index eines Knotens steht erst nach dem Besuch des linken Teilbaums fest,
+        // daher werden Knoten beim Herabsteigen bereits reserviert
+        RBTree.Node<T> current = root;
+        int currentDepth = 0;
+        int currentParent = -1;
+        int column = 0;
+        while (true) {
+            while (true) {
+                if (size == x.length) {
+                    capacity = size * 2;
+                    x = Arrays.copyOf(x, capacity);
+                    y = Arrays.copyOf(y, capacity);
+                    parent = Arrays.copyOf(parent, capacity);
+                    kind = Arrays.copyOf(kind, capacity);
+                    labels = Arrays.copyOf(labels, capacity);
+                }
+                int slot = size++;
+                y[slot] = currentDepth;
+                parent[slot] = currentParent;
+                rows = Math.max(rows, currentDepth + 1);
+                if (current == null) {
+                    kind[slot] = NIL_NODE;
+                    x[slot] = column++;
+                    break;
+                }
+                kind[slot] = current.color ? RED_NODE : BLACK_NODE;
+                labels[slot] = String.valueOf(current.data);
+                if (top == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, top * 2);
+                    depths = Arrays.copyOf(depths, top * 2);
+                    slots = Arrays.copyOf(slots, top * 2);
+                }
+                nodes[top] = current;
+                depths[top] = currentDepth;
+                slots[top] = slot;
+                top++;
+                currentParent = slot;
+                current = current.left;
+                currentDepth++;
+            }
+            if (top == 0) {
+                break;
+            }
+            top--;
+            x[slots[top]] = column++;
+            currentParent = slots[top];
+            currentDepth = depths[top] + 1;
+            current = nodes[top].right;
+            nodes[top] = null;
+        }
+
+        // Spalten und Zeilen in Pixelkoordinaten (Mittelpunkt des Knotens) umrechnen
+        for (int i = 0; i < size; i++) {
+            x[i] = MARGIN + x[i] * COLUMN_WIDTH + COLUMN_WIDTH / 2;
+            y[i] = MARGIN + y[i] * ROW_HEIGHT + ROW_HEIGHT / 2;
+        }
+        return new RBTreeLayout(size, x, y, parent, kind, labels, column, rows);
+    }
+}
@@ -0,0 +1,310 @@
+package RBTrees;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Rendert {@link RBTreeLayout}-Snapshots direkt in Java als SVG- oder PDF-Dateien.
+ * <p>
+ * Im Gegensatz zur früheren Pipeline (dot, rsvg-convert und pdftk als externe Prozesse)
+ * werden hier keine externen Programme benötigt. Mehrere Snapshots können über einen
+ * ExecutorService parallel gerendert werden, da jeder Snapshot unabhängig ist.
+ */
+final class RBTreeRenderer {
+
+    private static final String FONT = "Helvetica";
+    private static final int FONT_SIZE = 16;
+    private static final int NIL_FONT_SIZE = 9;
+    // Kontrollpunkt-Abstand für die Annäherung eines Viertelkreises durch eine Bézierkurve
+    private static final double KAPPA = 0.5522847498;
+    // Zeichenbreite von Helvetica-Bold für Ziffern in Einheiten der Schriftgröße
+    private static final double CHAR_WIDTH = 0.556;
+
+    private RBTreeRenderer() {
+    }
+
+    /**
+     * Erzeugt den SVG-Quelltext für einen Snapshot.
+     *
+     * @param layout Der darzustellende Snapshot.
+     * @return Das vollständige SVG-Dokument.
+     */
+    static String toSVG(RBTreeLayout layout) {
+        StringBuilder sb = new StringBuilder(256 + layout.size * 160);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        sb.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(layout.width)
+                .append("\" height=\"").append(layout.height).append("\" viewBox=\"0 0 ")
+                .append(layout.width).append(' ').append(layout.height).append("\">\n");
+        sb.append("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+
+        // Kanten zuerst, damit die Knoten darüber gezeichnet werden
+        sb.append("<g stroke=\"black\" stroke-width=\"1.5\">\n");
+        for (int i = 0; i < layout.size; i++) {
+            int p = layout.parent[i];
+            if (p >= 0) {
+                sb.append("<line x1=\"").append(layout.x[p]).append("\" y1=\"").append(layout.y[p])
+                        .append("\" x2=\"").append(layout.x[i]).append("\" y2=\"").append(layout.y[i]).append("\"/>\n");
+            }
+        }
+        sb.append("</g>\n");
+
+        sb.append("<g font-family=\"").append(FONT).append(", Arial, sans-serif\" font-weight=\"bold\" fill=\"white\" text-anchor=\"middle\" dominant-baseline=\"central\">\n");
+        for (int i = 0; i < layout.size; i++) {
+            int x = layout.x[i];
+            int y = layout.y[i];
+            if (layout.kind[i] == RBTreeLayout.NIL_NODE) {
+                sb.append("<rect x=\"").append(x - RBTreeLayout.NIL_WIDTH / 2).append("\" y=\"")
+                        .append(y - RBTreeLayout.NIL_HEIGHT / 2).append("\" width=\"").append(RBTreeLayout.NIL_WIDTH)
+                        .append("\" height=\"").append(RBTreeLayout.NIL_HEIGHT).append("\" fill=\"black\"/>");
+                sb.append("<text x=\"").append(x).append("\" y=\"").append(y).append("\" font-size=\"")
+                        .append(NIL_FONT_SIZE).append("\">NIL</text>\n");
+            } else {
+                String color = layout.kind[i] == RBTreeLayout.RED_NODE ? "red" : "black";
+                sb.append("<circle cx=\"").append(x).append("\" cy=\"").append(y).append("\" r=\"")
+                        .append(RBTreeLayout.RADIUS).append("\" fill=\"").append(color).append("\"/>");
+                sb.append("<text x=\"").append(x).append("\" y=\"").append(y).append("\" font-size=\"")
+                        .append(FONT_SIZE).append("\">");
+                appendXmlEscaped(sb, layout.labels[i]);
+                sb.append("</text>\n");
+            }
+        }
+        sb.append("</g>\n</svg>\n");
+        return sb.toString();
+    }
+
+    /**
+     * Schreibt einen Snapshot als SVG-Datei.
+     *
+     * @param layout Der darzustellende Snapshot.
+     * @param file   Die Zieldatei.
+     * @throws IOException Wenn beim Schreiben ein I/O-Fehler auftritt.
+     */
+    static void writeSVG(RBTreeLayout layout, Path file) throws IOException {
+        Files.write(file, toSVG(layout).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rendert alle Snapshots parallel als SVG-Dateien {@code <baseName><i>.svg}
+     * (beginnend bei 1) und zusätzlich als eine gemeinsame PDF-Datei mit einer Seite pro Snapshot.
+     *
+     * @param layouts  Die Snapshots in der gewünschten Reihenfolge.
+     * @param svgDir   Das Verzeichnis für die SVG-Dateien.
+     * @param baseName Der Basisname der SVG-Dateien.
+     * @param pdfFile  Die zusammengeführte PDF-Datei.
+     * @param executor Der ExecutorService, auf dem die Snapshots gerendert werden.
+     * @throws IOException Wenn beim Rendern oder Schreiben ein Fehler auftritt.
+     */
+    static void renderAll(List<RBTreeLayout> layouts, Path svgDir, String baseName, Path pdfFile,
+                          ExecutorService executor) throws IOException {
+        List<Callable<Void>> svgTasks = new ArrayList<>(layouts.size());
+        for (int i = 0; i < layouts.size(); i++) {
+            RBTreeLayout layout = layouts.get(i);
+            Path file = svgDir.resolve(baseName + (i + 1) + ".svg");
+            svgTasks.add(() -> {
+                writeSVG(layout, file);
+                return null;
+            });
+        }
+        List<Callable<byte[]>> pageTasks = new ArrayList<>(layouts.size());
+        for (RBTreeLayout layout : layouts) {
+            pageTasks.add(() -> pdfPageContent(layout));
+        }
+
+        try {
+            List<Future<Void>> svgs = executor.invokeAll(svgTasks);
+            List<Future<byte[]>> pages = executor.invokeAll(pageTasks);
+            List<byte[]> contents = new ArrayList<>(pages.size());
+            for (Future<byte[]> page : pages) {
+                contents.add(page.get());
+            }
+            for (Future<Void> svg : svgs) {
+                svg.get();
+            }
+            try (OutputStream out = Files.newOutputStream(pdfFile)) {
+                writePDF(layouts, contents, out);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Rendering was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Rendering failed", e.getCause());
+        }
+    }
+
+    /**
+     * Schreibt alle Snapshots als eine PDF-Datei mit einer Seite pro Snapshot.
+     *
+     * @param layouts Die Snapshots in der gewünschten Reihenfolge.
+     * @param pdfFile Die Zieldatei.
+     * @throws IOException Wenn beim Schreiben ein I/O-Fehler auftritt.
+     */
+    static void writePDF(List<RBTreeLayout> layouts, Path pdfFile) throws IOException {
+        List<byte[]> contents = new ArrayList<>(layouts.size());
+        for (RBTreeLayout layout : layouts) {
+            contents.add(pdfPageContent(layout));
+        }
+        try (OutputStream out = Files.newOutputStream(pdfFile)) {
+            writePDF(layouts, contents, out);
+        }
+    }
+
+    /**
+     * Setzt das PDF-Dokument aus den bereits erzeugten Inhaltsströmen der Seiten zusammen.
+     * Objekt 1 ist der Katalog, Objekt 2 der Seitenbaum, Objekt 3 die Schrift und ab
+     * Objekt 4 folgen je Seite ein Seitenobjekt und ein Inhaltsstrom.
+     */
+    private static void writePDF(List<RBTreeLayout> layouts, List<byte[]> contents, OutputStream target) throws IOException {
+        PdfOutput out = new PdfOutput();
+        int pages = layouts.size();
+        long[] offsets = new long[3 + 2 * pages + 1];
+
+        out.ascii("%PDF-1.4\n");
+        offsets[1] = out.size();
+        out.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+
+        offsets[2] = out.size();
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pages; i++) {
+            kids.append(4 + 2 * i).append(" 0 R ");
+        }
+        out.ascii("2 0 obj\n<< /Type /Pages /Kids [ " + kids + "] /Count " + pages + " >>\nendobj\n");
+
+        offsets[3] = out.size();
+        out.ascii("3 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /" + FONT + "-Bold >>\nendobj\n");
+
+        for (int i = 0; i < pages; i++) {
+            RBTreeLayout layout = layouts.get(i);
+            int pageObject = 4 + 2 * i;
+            byte[] content = contents.get(i);
+
+            offsets[pageObject] = out.size();
+            out.ascii(pageObject + " 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + layout.width + " "
+                    + layout.height + "] /Resources << /Font << /F1 3 0 R >> >> /Contents " + (pageObject + 1)
+                    + " 0 R >>\nendobj\n");
+
+            offsets[pageObject + 1] = out.size();
+            out.ascii((pageObject + 1) + " 0 obj\n<< /Length " + content.length + " >>\nstream\n");
+            out.write(content);
+            out.ascii("\nendstream\nendobj\n");
+        }
+
+        long xref = out.size();
+        int objects = 3 + 2 * pages + 1;
+        StringBuilder table = new StringBuilder(objects * 20 + 64);
+        table.append("xref\n0 ").append(objects).append("\n0000000000 65535 f \n");
+        for (int i = 1; i < objects; i++) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offsets[i]));
+        }
+        table.append("trailer\n<< /Size ").append(objects).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        out.ascii(table.toString());
+        out.writeTo(target);
+    }
+
+    /**
+     * Erzeugt den Inhaltsstrom einer PDF-Seite. Das PDF-Koordinatensystem beginnt unten
+     * links, daher werden die y-Koordinaten des Layouts gespiegelt.
+     */
+    private static byte[] pdfPageContent(RBTreeLayout layout) {
+        StringBuilder sb = new StringBuilder(64 + layout.size * 200);
+        int h = layout.height;
+
+        sb.append("1.5 w 0 0 0 RG\n");
+        for (int i = 0; i < layout.size; i++) {
+            int p = layout.parent[i];
+            if (p >= 0) {
+                sb.append(layout.x[p]).append(' ').append(h - layout.y[p]).append(" m ")
+                        .append(layout.x[i]).append(' ').append(h - layout.y[i]).append(" l S\n");
+            }
+        }
+
+        for (int i = 0; i < layout.size; i++) {
+            int x = layout.x[i];
+            int y = h - layout.y[i];
+            if (layout.kind[i] == RBTreeLayout.NIL_NODE) {
+                sb.append("0 0 0 rg ").append(x - RBTreeLayout.NIL_WIDTH / 2).append(' ')
+                        .append(y - RBTreeLayout.NIL_HEIGHT / 2).append(' ').append(RBTreeLayout.NIL_WIDTH)
+                        .append(' ').append(RBTreeLayout.NIL_HEIGHT).append(" re f\n");
+                appendPdfText(sb, "NIL", x, y, NIL_FONT_SIZE);
+            } else {
+                sb.append(layout.kind[i] == RBTreeLayout.RED_NODE ? "1 0 0 rg\n" : "0 0 0 rg\n");
+                appendPdfCircle(sb, x, y, RBTreeLayout.RADIUS);
+                appendPdfText(sb, layout.labels[i], x, y, FONT_SIZE);
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void appendPdfCircle(StringBuilder sb, int cx, int cy, int r) {
+        double c = r * KAPPA;
+        sb.append(cx + r).append(' ').append(cy).append(" m\n");
+        appendCurve(sb, cx + r, cy + c, cx + c, cy + r, cx, cy + r);
+        appendCurve(sb, cx - c, cy + r, cx - r, cy + c, cx - r, cy);
+        appendCurve(sb, cx - r, cy - c, cx - c, cy - r, cx, cy - r);
+        appendCurve(sb, cx + c, cy - r, cx + r, cy - c, cx + r, cy);
+        sb.append("f\n");
+    }
+
+    private static void appendCurve(StringBuilder sb, double x1, double y1, double x2, double y2, double x3, double y3) {
+        sb.append(String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f %.2f %.2f c\n", x1, y1, x2, y2, x3, y3));
+    }
+
+    private static void appendPdfText(StringBuilder sb, String text, int cx, int cy, int fontSize) {
+        // Zentrierung über die geschätzte Textbreite, die Grundlinie liegt etwa 0.35 Schriftgrößen unter der Mitte
+        double width = text.length() * CHAR_WIDTH * fontSize;
+        sb.append("1 1 1 rg BT /F1 ").append(fontSize).append(" Tf ")
+                .append(String.format(Locale.ROOT, "%.2f %.2f", cx - width / 2, cy - 0.35 * fontSize))
+                .append(" Td (");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0xFF) {
+                sb.append('?');
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append(") Tj ET\n");
+    }
+
+    private static void appendXmlEscaped(StringBuilder sb, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Byte-Puffer, der die aktuelle Position für die Cross-Reference-Tabelle kennt.
+     */
+    private static final class PdfOutput extends ByteArrayOutputStream {
+
+        void ascii(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+            write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void write(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package RBTrees;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRBTree {
+
+    @Test
+    public void testFromSorted() {
+        for (int n = 0; n < 200; n++) {
+            RBTree<RBTree.IntComparable> tree = RBTree.fromSorted(keys(range(n)));
+            assertValid(tree);
+            assertEquals(range(n), values(tree));
+        }
+        assertThrows(IllegalArgumentException.class, () -> RBTree.fromSorted(keys(List.of(1, 3, 3))));
+    }
+
+    @Test
+    public void testContainsAndIterator() {
+        RBTree<RBTree.IntComparable> tree = new RBTree<>();
+        for (int key : new int[]{5, 1, 9, 3, 7}) {
+            tree.insertNode(new RBTree.IntComparable(key));
+        }
+        assertTrue(tree.contains(new RBTree.IntComparable(7)));
+        assertFalse(tree.contains(new RBTree.IntComparable(4)));
+        assertEquals(List.of(1, 3, 5, 7, 9), values(tree));
+    }
+
+    @Test
+    public void testSplitOffAndJoin() {
+        RBTree<RBTree.IntComparable> tree = RBTree.fromSorted(keys(range(100)));
+        RBTree<RBTree.IntComparable> tail = tree.splitOff(new RBTree.IntComparable(40));
+        assertValid(tree);
+        assertValid(tail);
+        assertEquals(range(40), values(tree));
+        assertEquals(40, values(tail).get(0));
+        assertEquals(60, values(tail).size());
+
+        assertThrows(IllegalArgumentException.class, () -> tail.join(tree));
+        tree.join(tail);
+        assertValid(tree);
+        assertTrue(tail.isEmpty());
+        assertEquals(range(100), values(tree));
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            TreeSet<Integer> a = randomSet(random, random.nextInt(2000));
+            TreeSet<Integer> b = randomSet(random, random.nextInt(2000));
+
+            RBTree<RBTree.IntComparable> union = fromSet(a);
+            union.union(fromSet(b));
+            TreeSet<Integer> expectedUnion = new TreeSet<>(a);
+            expectedUnion.addAll(b);
+            assertValid(union);
+            assertEquals(new ArrayList<>(expectedUnion), values(union));
+
+            RBTree<RBTree.IntComparable> intersection = fromSet(a);
+            intersection.intersection(fromSet(b));
+            TreeSet<Integer> expectedIntersection = new TreeSet<>(a);
+            expectedIntersection.retainAll(b);
+            assertValid(intersection);
+            assertEquals(new ArrayList<>(expectedIntersection), values(intersection));
+
+            RBTree<RBTree.IntComparable> difference = fromSet(a);
+            difference.difference(fromSet(b));
+            TreeSet<Integer> expectedDifference = new TreeSet<>(a);
+            expectedDifference.removeAll(b);
+            assertValid(difference);
+            assertEquals(new ArrayList<>(expectedDifference), values(difference));
+        }
+
+        // A tree combined with itself must not lose its nodes
+        RBTree<RBTree.IntComparable> self = RBTree.fromSorted(keys(range(10)));
+        self.union(self);
+        assertValid(self);
+        assertEquals(range(10), values(self));
+        self.intersection(self);
+        assertValid(self);
+        assertEquals(range(10), values(self));
+        self.difference(self);
+        assertTrue(self.isEmpty());
+    }
+
+    @Test
+    public void testPersistentVersions() {
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        PersistentRBTree<RBTree.IntComparable> tree = PersistentRBTree.empty();
+        List<PersistentRBTree<RBTree.IntComparable>> versions = new ArrayList<>();
+        List<List<Integer>> snapshots = new ArrayList<>();
+
+        for (int i = 0; i < 3000; i++) {
+            int key = random.nextInt(1000);
+            if (expected.add(key)) {
+                tree = tree.insertNode(new RBTree.IntComparable(key));
+            } else {
+                expected.remove(key);
+                tree = tree.deleteNode(new RBTree.IntComparable(key));
+            }
+            assertValid(tree);
+            if (i % 100 == 0) {
+                versions.add(tree);
+                snapshots.add(new ArrayList<>(expected));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected), values(tree));
+        assertThrows(IllegalArgumentException.class, () -> PersistentRBTree.<RBTree.IntComparable>empty()
+                .insertNode(new RBTree.IntComparable(1)).insertNode(new RBTree.IntComparable(1)));
+
+        // Alte Versionen bleiben unverändert
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(snapshots.get(i), values(versions.get(i)));
+        }
+    }
+
+    @Test
+    public void testLockFreeSkipList() throws InterruptedException {
+        LockFreeSkipList<RBTree.IntComparable> list = new LockFreeSkipList<>();
+        int threads = 8;
+        int perThread = 5000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                // Jeder Thread fügt seine Schlüssel ein und löscht danach jeden zweiten wieder
+                for (int i = 0; i < perThread; i++) {
+                    list.insertNode(new RBTree.IntComparable(i * threads + offset));
+                }
+                for (int i = 0; i < perThread; i += 2) {
+                    assertTrue(list.deleteNode(new RBTree.IntComparable(i * threads + offset)));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int key = 0; key < threads * perThread; key++) {
+            if ((key / threads) % 2 == 1) {
+                expected.add(key);
+            }
+        }
+        assertEquals(expected, values(list));
+        assertTrue(list.contains(new RBTree.IntComparable(threads)));
+        assertFalse(list.contains(new RBTree.IntComparable(0)));
+        assertThrows(IllegalArgumentException.class, () -> list.insertNode(new RBTree.IntComparable(threads)));
+    }
+
+    @Test
+    public void testExportSmallTree(@TempDir Path directory) throws IOException {
+        RBTree<RBTree.IntComparable> tree = RBTree.fromSorted(keys(range(7)));
+        tree.insertNode(new RBTree.IntComparable(7));
+        Path dot = directory.resolve("tree.dot");
+        tree.printDOT(dot.toString());
+        assertEquals(referenceDOT(tree.getRoot()), Files.readString(dot));
+
+        Path json = directory.resolve("tree.json");
+        tree.exportJSON(json.toString(), RBTreeExporter.UNLIMITED_DEPTH);
+        assertEquals(referenceJSON(tree.getRoot()) + "\n", Files.readString(json));
+
+        Path binary = directory.resolve("tree.bin");
+        tree.exportBinary(binary.toString());
+        assertEquals(preorder(tree.getRoot()), readBinary(binary));
+    }
+
+    @Test
+    public void testExportLargeTree(@TempDir Path directory) throws IOException {
+        // Groß genug, dass der 1 MiB große Puffer mehrfach geleert werden muss
+        int n = 60000;
+        RBTree<RBTree.IntComparable> tree = RBTree.fromSorted(keys(range(n)));
+        Path dot = directory.resolve("tree.dot");
+        tree.printDOT(dot.toString());
+        assertTrue(Files.size(dot) > 4 << 20, "DOT file has only " + Files.size(dot) + " bytes");
+        assertEquals(referenceDOT(tree.getRoot()), Files.readString(dot));
+
+        Path json = directory.resolve("tree.json");
+        tree.exportJSON(json.toString(), RBTreeExporter.UNLIMITED_DEPTH);
+        assertTrue(Files.size(json) > 2 << 20, "JSON file has only " + Files.size(json) + " bytes");
+        assertEquals(referenceJSON(tree.getRoot()) + "\n", Files.readString(json));
+
+        Path binary = directory.resolve("tree.bin");
+        tree.exportBinary(binary.toString());
+        List<String> records = readBinary(binary);
+        assertEquals(n, records.size());
+        assertEquals(preorder(tree.getRoot()), records);
+    }
+
+    @Test
+    public void testExportDepthCap(@TempDir Path directory) throws IOException {
+        // Die Ebenen 0 bis 2 sind voll besetzt, die 4 Knoten auf Ebene 2 haben Kinder
+        RBTree<RBTree.IntComparable> tree = RBTree.fromSorted(keys(range(100)));
+        Path dot = directory.resolve("tree.dot");
+        tree.printDOT(dot.toString(), 2);
+        String text = Files.readString(dot);
+        assertEquals(7, count(text, "\\[color="));
+        assertEquals(4, count(text, "\"cut\\d+\" \\[label"));
+
+        Path json = directory.resolve("tree.json");
+        tree.exportJSON(json.toString(), 2);
+        text = Files.readString(json);
+        assertEquals(7, count(text, "\"key\":"));
+        assertEquals(8, count(text, "\\{\"truncated\":true\\}"));
+
+        Path binary = directory.resolve("tree.bin");
+        new RBTreeExporter<RBTree.IntComparable>(2).writeBinary(tree.getRoot(), binary);
+        List<String> records = readBinary(binary);
+        assertEquals(7, records.size());
+        assertEquals(4, records.stream().filter(record -> record.startsWith("cut ")).count());
+
+        assertThrows(IllegalArgumentException.class, () -> tree.printDOT(dot.toString(), -1));
+    }
+
+    @Test
+    public void testExportDegenerateTree(@TempDir Path directory) throws IOException {
+        // Eine Kette ohne linke Kinder, für eine Rekursion viel zu tief
+        int n = 200000;
+        RBTree.Node<RBTree.IntComparable> root = new RBTree.Node<>(new RBTree.IntComparable(0));
+        RBTree.Node<RBTree.IntComparable> node = root;
+        for (int i = 1; i < n; i++) {
+            node.right = new RBTree.Node<>(new RBTree.IntComparable(i));
+            node = node.right;
+        }
+        RBTreeExporter<RBTree.IntComparable> exporter = new RBTreeExporter<>(RBTreeExporter.UNLIMITED_DEPTH);
+        Path dot = directory.resolve("chain.dot");
+        exporter.writeDOT(root, dot);
+        assertEquals(n, count(Files.readString(dot), "\\[color="));
+
+        Path json = directory.resolve("chain.json");
+        exporter.writeJSON(root, json);
+        String text = Files.readString(json);
+        assertEquals(n, count(text, "\"key\":"));
+        assertTrue(text.endsWith("}".repeat(n) + "\n"));
+
+        Path binary = directory.resolve("chain.bin");
+        exporter.writeBinary(root, binary);
+        List<String> records = readBinary(binary);
+        assertEquals(n, records.size());
+        assertEquals("right 0", records.get(0));
+        assertEquals("leaf " + (n - 1), records.get(n - 1));
+    }
+
+    @Test
+    public void testLayout() {
+        RBTree<RBTree.IntComparable> tree = new RBTree<>();
+        Random random = new Random(5);
+        for (int key : randomSet(random, 300)) {
+            tree.insertNode(new RBTree.IntComparable(key));
+        }
+        Map<String, Integer> depths = new HashMap<>();
+        depths(tree.getRoot(), 0, depths);
+        RBTreeLayout layout = RBTreeLayout.of(tree);
+        // Jeder Knoten und jedes NIL-Blatt hat einen Eintrag
+        assertEquals(2 * depths.size() + 1, layout.size);
+
+        Integer[] byX = new Integer[layout.size];
+        for (int i = 0; i < layout.size; i++) {
+            byX[i] = i;
+            int p = layout.parent[i];
+            int depth = p < 0 ? 0 : (layout.y[p] - RBTreeLayout.MARGIN) / RBTreeLayout.ROW_HEIGHT + 1;
+            assertEquals(RBTreeLayout.MARGIN + depth * RBTreeLayout.ROW_HEIGHT + RBTreeLayout.ROW_HEIGHT / 2,
+                    layout.y[i]);
+            if (layout.kind[i] != RBTreeLayout.NIL_NODE) {
+                assertEquals(depths.get(layout.labels[i]), depth, "depth of " + layout.labels[i]);
+            }
+        }
+        Arrays.sort(byX, (a, b) -> Integer.compare(layout.x[a], layout.x[b]));
+        List<Integer> inOrder = new ArrayList<>();
+        for (int i = 0; i < layout.size; i++) {
+            if (i > 0) {
+                assertTrue(layout.x[byX[i]] > layout.x[byX[i - 1]], "two entries share a column");
+            }
+            // In-Order wechseln sich NIL-Blätter und Knoten ab
+            assertEquals(i % 2 == 0, layout.kind[byX[i]] == RBTreeLayout.NIL_NODE);
+            if (i % 2 == 1) {
+                inOrder.add(Integer.parseInt(layout.labels[byX[i]]));
+            }
+        }
+        assertEquals(values(tree), inOrder);
+        assertEquals(0, RBTreeLayout.of(new RBTree<RBTree.IntComparable>()).size);
+    }
+
+    @Test
+    public void testSVG() {
+        RBTree<RBTree.IntComparable> tree = RBTree.fromSorted(keys(range(50)));
+        RBTreeLayout layout = RBTreeLayout.of(tree);
+        String svg = RBTreeRenderer.toSVG(layout);
+        assertEquals(50, count(svg, "<circle "));
+        // Eine Kante zu jedem Eintrag außer der Wurzel, auch zu den NIL-Blättern
+        assertEquals(layout.size - 1, count(svg, "<line "));
+        assertEquals(51, count(svg, ">NIL</text>"));
+        assertTrue(svg.endsWith("</svg>\n"));
+    }
+
+    @Test
+    public void testPDF(@TempDir Path directory) throws IOException {
+        List<RBTreeLayout> snapshots = new ArrayList<>();
+        RBTree<RBTree.IntComparable> tree = new RBTree<>();
+        for (int key = 0; key < 25; key++) {
+            tree.insertNode(new RBTree.IntComparable(key * 7 % 25));
+            snapshots.add(RBTreeLayout.of(tree));
+        }
+        Path pdf = directory.resolve("tree.pdf");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            RBTreeRenderer.renderAll(snapshots, directory, "tree", pdf, executor);
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 1; i <= snapshots.size(); i++) {
+            assertTrue(Files.exists(directory.resolve("tree" + i + ".svg")));
+        }
+
+        byte[] bytes = Files.readAllBytes(pdf);
+        String text = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-"));
+        assertEquals(1, count(text, "/Count " + snapshots.size() + " "));
+        assertEquals(snapshots.size(), count(text, "/Type /Page "));
+
+        // startxref zeigt auf die xref-Tabelle, deren Einträge auf "N 0 obj" zeigen
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(text);
+        assertTrue(startxref.find());
+        int xref = Integer.parseInt(startxref.group(1));
+        assertTrue(text.startsWith("xref\n0 ", xref));
+        int objects = 3 + 2 * snapshots.size() + 1;
+        int entries = text.indexOf('\n', text.indexOf('\n', xref) + 1) + 1;
+        assertTrue(text.startsWith("0 " + objects + "\n", xref + 5));
+        for (int i = 1; i < objects; i++) {
+            String entry = text.substring(entries + 20 * i, entries + 20 * (i + 1));
+            assertTrue(entry.matches("\\d{10} 00000 n \n"), "xref entry " + i + ": " + entry);
+            int offset = Integer.parseInt(entry.substring(0, 10));
+            assertTrue(text.startsWith(i + " 0 obj\n", offset), "object " + i + " is not at " + offset);
+        }
+    }
+
+    private static TreeSet<Integer> randomSet(Random random, int size) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(random.nextInt(4000));
+        }
+        return set;
+    }
+
+    private static RBTree<RBTree.IntComparable> fromSet(TreeSet<Integer> set) {
+        return RBTree.fromSorted(keys(new ArrayList<>(set)));
+    }
+
+    private static List<Integer> range(int n) {
+        List<Integer> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static RBTree.IntComparable[] keys(List<Integer> values) {
+        RBTree.IntComparable[] keys = new RBTree.IntComparable[values.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new RBTree.IntComparable(values.get(i));
+        }
+        return keys;
+    }
+
+    private static List<Integer> values(Iterable<RBTree.IntComparable> tree) {
+        List<Integer> list = new ArrayList<>();
+        for (RBTree.IntComparable key : tree) {
+            list.add(Integer.parseInt(key.toString()));
+        }
+        return list;
+    }
+
+    // Die frühere rekursive DOT-Ausgabe als Referenz, nur für flache Bäume geeignet
+    private static <T extends Comparable<T>> String referenceDOT(RBTree.Node<T> root) {
+        StringBuilder out = new StringBuilder("digraph RBTree {\n");
+        out.append("    graph [ratio=.48];\n");
+        out.append("    node [style=filled, color=black, shape=circle, width=.6, fontname=Helvetica, fontweight=bold, fontcolor=white, fontsize=24, fixedsize=true];");
+        if (root != null) {
+            referenceDOT(root, out);
+        }
+        return out.append("}\n").toString();
+    }
+
+    private static <T extends Comparable<T>> void referenceDOT(RBTree.Node<T> node, StringBuilder out) {
+        String nil = "[label=\"NIL\", shape=box, color=black, fontcolor=white, style=filled];\n";
+        out.append("    \"").append(node.data).append("\" [color=").append(node.color ? "red" : "black")
+                .append(", fontcolor=white, style=filled];\n");
+        if (node.left != null) {
+            out.append("    \"").append(node.data).append("\" -> \"").append(node.left.data).append("\";\n");
+            referenceDOT(node.left, out);
+        } else {
+            out.append("    \"nilL").append(node.data).append('"').append(nil);
+            out.append("    \"").append(node.data).append("\" -> \"nilL").append(node.data).append("\";\n");
+        }
+        if (node.right != null) {
+            out.append("    \"").append(node.data).append("\" -> \"").append(node.right.data).append("\";\n");
+            referenceDOT(node.right, out);
+        } else {
+            out.append("    \"nilR").append(node.data).append('"').append(nil);
+            out.append("    \"").append(node.data).append("\" -> \"nilR").append(node.data).append("\";\n");
+        }
+    }
+
+    private static <T extends Comparable<T>> String referenceJSON(RBTree.Node<T> node) {
+        if (node == null) {
+            return "null";
+        }
+        return "{\"key\":\"" + node.data + "\",\"color\":\"" + (node.color ? "red" : "black")
+                + "\",\"left\":" + referenceJSON(node.left) + ",\"right\":" + referenceJSON(node.right) + "}";
+    }
+
+    // Erwartete Datensätze des Binärformats in Preorder, siehe readBinary
+    private static <T extends Comparable<T>> List<String> preorder(RBTree.Node<T> root) {
+        List<String> records = new ArrayList<>();
+        preorder(root, records);
+        return records;
+    }
+
+    private static <T extends Comparable<T>> void preorder(RBTree.Node<T> node, List<String> records) {
+        if (node != null) {
+            records.add(describe(node.color, node.left != null, node.right != null, false) + " " + node.data);
+            preorder(node.left, records);
+            preorder(node.right, records);
+        }
+    }
+
+    private static String describe(boolean red, boolean left, boolean right, boolean cut) {
+        String children = cut ? "cut" : left && right ? "both" : left ? "left" : right ? "right" : "leaf";
+        return red ? "red " + children : children;
+    }
+
+    // Liest einen binären Snapshot: Kennung "RBT1", dann pro Knoten Flags, Länge und Schlüssel
+    private static List<String> readBinary(Path file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        byte[] magic = new byte[4];
+        bytes.get(magic);
+        assertEquals("RBT1", new String(magic, StandardCharsets.US_ASCII));
+        List<String> records = new ArrayList<>();
+        while (bytes.hasRemaining()) {
+            int flags = bytes.get();
+            byte[] key = new byte[bytes.getInt()];
+            bytes.get(key);
+            assertEquals(0, flags & ~15, "unknown flags");
+            records.add(describe((flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, (flags & 8) != 0)
+                    + " " + new String(key, StandardCharsets.UTF_8));
+        }
+        return records;
+    }
+
+    private static <T extends Comparable<T>> void depths(RBTree.Node<T> node, int depth, Map<String, Integer> depths) {
+        if (node != null) {
+            depths.put(String.valueOf(node.data), depth);
+            depths(node.left, depth + 1, depths);
+            depths(node.right, depth + 1, depths);
+        }
+    }
+
+    private static int count(String text, String regex) {
+        return (int) Pattern.compile(regex).matcher(text).results().count();
+    }
+
+    // Prüft Wurzelfarbe, Eltern-Zeiger, keine roten Eltern-Kind-Paare und gleiche Schwarzhöhe
+    private static <T extends Comparable<T>> void assertValid(RBTree<T> tree) {
+        RBTree.Node<T> root = tree.getRoot();
+        if (root != null) {
+            assertNull(root.parent);
+            assertFalse(root.color, "root must be black");
+        }
+        blackHeight(root);
+    }
+
+    private static <T extends Comparable<T>> void assertValid(PersistentRBTree<T> tree) {
+        int size = 0;
+        T previous = null;
+        for (T key : tree) {
+            assertTrue(previous == null || previous.compareTo(key) < 0);
+            previous = key;
+            size++;
+        }
+        assertEquals(tree.size(), size);
+        PersistentRBTree.Node<T> root = tree.getRoot();
+        assertFalse(root != null && root.color, "root must be black");
+        blackHeight(root);
+    }
+
+    private static <T extends Comparable<T>> int blackHeight(PersistentRBTree.Node<T> node) {
+        if (node == null) {
+            return 1;
+        }
+        assertFalse(node.color && (node.left != null && node.left.color || node.right != null && node.right.color),
+                "red node with red child");
+        int left = blackHeight(node.left);
+        int right = blackHeight(node.right);
+        assertEquals(left, right, "black heights differ");
+        return left + (node.color ? 0 : 1);
+    }
+
+    private static <T extends Comparable<T>> int blackHeight(RBTree.Node<T> node) {
+        if (node == null) {
+            return 1;
+        }
+        for (RBTree.Node<T> child : List.of(node.left == null ? node : node.left, node.right == null ? node : node.right)) {
+            if (child != node) {
+                assertSame(node, child.parent);
+                assertFalse(node.color && child.color, "red node with red child");
+            }
+        }
+        if (node.left != null) {
+            assertTrue(node.left.data.compareTo(node.data) < 0);
+        }
+        if (node.right != null) {
+            assertTrue(node.right.data.compareTo(node.data) > 0);
+        }
+        int left = blackHeight(node.left);
+        int right = blackHeight(node.right);
+        assertEquals(left, right, "black heights differ");
+        return left + (node.color ? 0 : 1);
+    }
+}
@@ -0,0 +1,444 @@
+package SearchMinKey;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+
+// Binary search tree of distinct int keys, stored without node objects. Node i occupies
+// nodes[3 * i] (key), nodes[3 * i + 1] (left child) and nodes[3 * i + 2] (right child), so a
+// node is 12 bytes and never straddles more than two cache lines. Balanced builds place the
+// nodes in breadth-first order, which packs the top levels that every query visits into the
+// first few cache lines.
+//
+// The tree stays balanced under inserts and deletes as a scapegoat tree (Galperin and Rivest):
+// an insert that ends up deeper than log_{3/2}(n) rebuilds the subtree at the lowest ancestor
+// whose one child holds more than 2/3 of its nodes, and the whole tree is rebuilt after enough
+// deletes. Both are amortized O(log n).
+public class IntSearchTree {
+
+    static final int NIL = -1;
+    private static final int KEY = 0;
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final int STRIDE = 3;
+    private static final double ALPHA = 2.0 / 3.0;
+    private static final double LOG_INVERSE_ALPHA = Math.log(1 / ALPHA);
+
+    int[] nodes;
+    int root = NIL;
+    private int freeList = NIL;
+    private int allocated;
+    private int size;
+    // Largest size since the last full rebuild, decides when deletes trigger one
+    private int maxSize;
+
+    public static void main(String[] args) {
+        int n = 1 << 20;
+        int queries = 1 << 22;
+        Random random = new Random(42);
+        int[] keys = random.ints(n, 0, Integer.MAX_VALUE).sorted().distinct().toArray();
+        int[] query = random.ints(queries, 0, Integer.MAX_VALUE).toArray();
+
+        IntSearchTree bulk = IntSearchTree.fromSorted(keys);
+        int[] randomKeys = random.ints(n, 0, Integer.MAX_VALUE).toArray();
+        IntSearchTree inserted = new IntSearchTree();
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        for (int key : randomKeys) {
+            inserted.insert(key);
+            treeSet.add(key);
+        }
+        Tree objects = new Tree(randomKeys);
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("Round %d, ns per ceiling query:%n", round);
+            long begin = System.nanoTime();
+            long checksum = sum(bulk.ceilingAll(query, 0));
+            System.out.printf("  IntSearchTree (bulk build) %8.1f%n", (System.nanoTime() - begin) / (double) queries);
+            begin = System.nanoTime();
+            checksum += sum(inserted.ceilingAll(query, 0));
+            System.out.printf("  IntSearchTree (inserts)    %8.1f%n", (System.nanoTime() - begin) / (double) queries);
+            begin = System.nanoTime();
+            checksum += sum(objects.ceilingAll(query, 0));
+            System.out.printf("  Tree (Node objects)        %8.1f%n", (System.nanoTime() - begin) / (double) queries);
+            begin = System.nanoTime();
+            for (int key : query) {
+                Integer ceiling = treeSet.ceiling(key);
+                checksum += ceiling == null ? 0 : ceiling;
+            }
+            System.out.printf("  TreeSet<Integer>           %8.1f%n", (System.nanoTime() - begin) / (double) queries);
+            System.out.println("  (checksum " + checksum + ")");
+        }
+    }
+
+    private static long sum(int[] values) {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public IntSearchTree() {
+        nodes = new int[16 * STRIDE];
+    }
+
+    // Builds a perfectly balanced tree in O(n). The keys must be strictly ascending.
+    public static IntSearchTree fromSorted(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] >= sorted[i]) {
+                throw new IllegalArgumentException("Keys must be strictly ascending, index " + i);
+            }
+        }
+        IntSearchTree tree = new IntSearchTree();
+        tree.nodes = new int[Math.max(16, sorted.length) * STRIDE];
+        int[] slots = new int[sorted.length];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = i;
+        }
+        tree.allocated = sorted.length;
+        tree.size = sorted.length;
+        tree.maxSize = sorted.length;
+        tree.root = tree.build(sorted, slots, sorted.length);
+        return tree;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        int node = root;
+        while (node != NIL) {
+            int nodeKey = nodes[node * STRIDE + KEY];
+            if (nodeKey == key) {
+                return true;
+            }
+            node = nodes[node * STRIDE + (key < nodeKey ? LEFT : RIGHT)];
+        }
+        return false;
+    }
+
+    // Returns false if the key was already present
+    public boolean insert(int key) {
+        // Remember the path for the scapegoat search
+        int[] path = new int[depthLimit(maxSize + 1) + 4];
+        int depth = 0;
+        int parent = NIL;
+        int node = root;
+        while (node != NIL) {
+            int nodeKey = nodes[node * STRIDE + KEY];
+            if (nodeKey == key) {
+                return false;
+            }
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, 2 * depth);
+            }
+            path[depth++] = node;
+            parent = node;
+            node = nodes[node * STRIDE + (key < nodeKey ? LEFT : RIGHT)];
+        }
+        int newNode = allocate(key);
+        if (parent == NIL) {
+            root = newNode;
+        } else {
+            nodes[parent * STRIDE + (key < nodes[parent * STRIDE + KEY] ? LEFT : RIGHT)] = newNode;
+        }
+        size++;
+        maxSize = Math.max(maxSize, size);
+        if (depth > depthLimit(size)) {
+            rebuildAtScapegoat(path, depth, newNode);
+        }
+        return true;
+    }
+
+    // Returns false if the key was not present
+    public boolean delete(int key) {
+        int parent = NIL;
+        int node = root;
+        while (node != NIL && nodes[node * STRIDE + KEY] != key) {
+            parent = node;
+            node = nodes[node * STRIDE + (key < nodes[node * STRIDE + KEY] ? LEFT : RIGHT)];
+        }
+        if (node == NIL) {
+            return false;
+        }
+        int left = nodes[node * STRIDE + LEFT];
+        int right = nodes[node * STRIDE + RIGHT];
+        if (left != NIL && right != NIL) {
+            // Two children: take over the successor's key and unlink the successor instead
+            int successorParent = node;
+            int successor = right;
+            while (nodes[successor * STRIDE + LEFT] != NIL) {
+                successorParent = successor;
+                successor = nodes[successor * STRIDE + LEFT];
+            }
+            nodes[node * STRIDE + KEY] = nodes[successor * STRIDE + KEY];
+            parent = successorParent;
+            node = successor;
+            left = NIL;
+            right = nodes[successor * STRIDE + RIGHT];
+        }
+        replaceChild(parent, node, left != NIL ? left : right);
+        free(node);
+        size--;
+        if (size < ALPHA * maxSize) {
+            rebuildAll();
+        }
+        return true;
+    }
+
+    public OptionalInt ceiling(int key) {
+        int node = root;
+        int candidate = NIL;
+        while (node != NIL) {
+            int nodeKey = nodes[node * STRIDE + KEY];
+            if (nodeKey == key) {
+                return OptionalInt.of(key);
+            }
+            if (nodeKey > key) {
+                candidate = node;
+                node = nodes[node * STRIDE + LEFT];
+            } else {
+                node = nodes[node * STRIDE + RIGHT];
+            }
+        }
+        return candidate == NIL ? OptionalInt.empty() : OptionalInt.of(nodes[candidate * STRIDE + KEY]);
+    }
+
+    public OptionalInt higher(int key) {
+        return key == Integer.MAX_VALUE ? OptionalInt.empty() : ceiling(key + 1);
+    }
+
+    public OptionalInt floor(int key) {
+        int node = root;
+        int candidate = NIL;
+        while (node != NIL) {
+            int nodeKey = nodes[node * STRIDE + KEY];
+            if (nodeKey == key) {
+                return OptionalInt.of(key);
+            }
+            if (nodeKey < key) {
+                candidate = node;
+                node = nodes[node * STRIDE + RIGHT];
+            } else {
+                node = nodes[node * STRIDE + LEFT];
+            }
+        }
+        return candidate == NIL ? OptionalInt.empty() : OptionalInt.of(nodes[candidate * STRIDE + KEY]);
+    }
+
+    public OptionalInt lower(int key) {
+        return key == Integer.MIN_VALUE ? OptionalInt.empty() : floor(key - 1);
+    }
+
+    // Answers many ceiling queries at once without creating an OptionalInt per key
+    public int[] ceilingAll(int[] keys, int absent) {
+        int[] result = new int[keys.length];
+        int[] nodes = this.nodes;
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            int node = root;
+            int ceiling = absent;
+            while (node != NIL) {
+                int nodeKey = nodes[node * STRIDE + KEY];
+                if (nodeKey >= key) {
+                    ceiling = nodeKey;
+                    if (nodeKey == key) {
+                        break;
+                    }
+                    node = nodes[node * STRIDE + LEFT];
+                } else {
+                    node = nodes[node * STRIDE + RIGHT];
+                }
+            }
+            result[i] = ceiling;
+        }
+        return result;
+    }
+
+    public int first() {
+        if (root == NIL) {
+            throw new NoSuchElementException("The tree is empty");
+        }
+        int node = root;
+        while (nodes[node * STRIDE + LEFT] != NIL) {
+            node = nodes[node * STRIDE + LEFT];
+        }
+        return nodes[node * STRIDE + KEY];
+    }
+
+    public int last() {
+        if (root == NIL) {
+            throw new NoSuchElementException("The tree is empty");
+        }
+        int node = root;
+        while (nodes[node * STRIDE + RIGHT] != NIL) {
+            node = nodes[node * STRIDE + RIGHT];
+        }
+        return nodes[node * STRIDE + KEY];
+    }
+
+    // All keys in ascending order
+    public int[] toArray() {
+        int[] keys = new int[size];
+        flatten(root, keys, null, 0);
+        return keys;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    private int height(int node) {
+        if (node == NIL) {
+            return 0;
+        }
+        return 1 + Math.max(height(nodes[node * STRIDE + LEFT]), height(nodes[node * STRIDE + RIGHT]));
+    }
+
+    // Deepest insert position allowed before a rebuild, floor(log_{3/2}(n))
+    private static int depthLimit(int n) {
+        return (int) (Math.log(n) / LOG_INVERSE_ALPHA);
+    }
+
+    private void rebuildAtScapegoat(int[] path, int depth, int newNode) {
+        int child = newNode;
+        int childSize = 1;
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = path[i];
+            int left = nodes[node * STRIDE + LEFT];
+            int sibling = left == child ? nodes[node * STRIDE + RIGHT] : left;
+            int nodeSize = childSize + 1 + subtreeSize(sibling);
+            if (childSize > ALPHA * nodeSize) {
+                int rebuilt = rebuild(node, nodeSize);
+                replaceChild(i == 0 ? NIL : path[i - 1], node, rebuilt);
+                return;
+            }
+            child = node;
+            childSize = nodeSize;
+        }
+    }
+
+    private void rebuildAll() {
+        root = rebuild(root, size);
+        maxSize = size;
+    }
+
+    // Rebuilds a subtree perfectly balanced in place and returns its new root
+    private int rebuild(int subtreeRoot, int count) {
+        int[] keys = new int[count];
+        int[] slots = new int[count];
+        flatten(subtreeRoot, keys, slots, 0);
+        // Reuse the subtree's own nodes, lowest index first so the upper levels come first
+        Arrays.sort(slots);
+        return build(keys, slots, count);
+    }
+
+    // Balanced build in breadth-first order, so node slots[0] is the root, slots[1] and
+    // slots[2] its children and so on
+    private int build(int[] keys, int[] slots, int count) {
+        if (count == 0) {
+            return NIL;
+        }
+        // Queue of pending ranges: low, high (exclusive) and the field that receives the node
+        int[] queue = new int[3 * count];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        queue[tail++] = count;
+        queue[tail++] = NIL;
+        int next = 0;
+        while (head < tail) {
+            int low = queue[head++];
+            int high = queue[head++];
+            int field = queue[head++];
+            int middle = (low + high) >>> 1;
+            int node = slots[next++];
+            nodes[node * STRIDE + KEY] = keys[middle];
+            nodes[node * STRIDE + LEFT] = NIL;
+            nodes[node * STRIDE + RIGHT] = NIL;
+            if (field != NIL) {
+                nodes[field] = node;
+            }
+            if (low < middle) {
+                queue[tail++] = low;
+                queue[tail++] = middle;
+                queue[tail++] = node * STRIDE + LEFT;
+            }
+            if (middle + 1 < high) {
+                queue[tail++] = middle + 1;
+                queue[tail++] = high;
+                queue[tail++] = node * STRIDE + RIGHT;
+            }
+        }
+        return slots[0];
+    }
+
+    // In-order walk with an explicit stack, writes keys and, if requested, node indices
+    private int flatten(int node, int[] keys, int[] slots, int position) {
+        int[] stack = new int[Math.max(1, 2 * depthLimit(Math.max(maxSize, 2)) + 4)];
+        int top = 0;
+        while (node != NIL || top > 0) {
+            while (node != NIL) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, 2 * top);
+                }
+                stack[top++] = node;
+                node = nodes[node * STRIDE + LEFT];
+            }
+            node = stack[--top];
+            keys[position] = nodes[node * STRIDE + KEY];
+            if (slots != null) {
+                slots[position] = node;
+            }
+            position++;
+            node = nodes[node * STRIDE + RIGHT];
+        }
+        return position;
+    }
+
+    private int subtreeSize(int node) {
+        if (node == NIL) {
+            return 0;
+        }
+        return 1 + subtreeSize(nodes[node * STRIDE + LEFT]) + subtreeSize(nodes[node * STRIDE + RIGHT]);
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (nodes[parent * STRIDE + LEFT] == oldChild) {
+            nodes[parent * STRIDE + LEFT] = newChild;
+        } else {
+            nodes[parent * STRIDE + RIGHT] = newChild;
+        }
+    }
+
+    private int allocate(int key) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = nodes[node * STRIDE + LEFT];
+        } else {
+            if ((allocated + 1) * STRIDE > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            node = allocated++;
+        }
+        nodes[node * STRIDE + KEY] = key;
+        nodes[node * STRIDE + LEFT] = NIL;
+        nodes[node * STRIDE + RIGHT] = NIL;
+        return node;
+    }
+
+    // Freed nodes are chained through their left field
+    private void free(int node) {
+        nodes[node * STRIDE + LEFT] = freeList;
+        freeList = node;
+    }
+}
@@ -0,0 +1,83 @@
+package SearchMinKey;
+
+import BTrees.BTree;
+import RBTrees.RBTree;
+
+import java.util.Random;
+
+// Compares successor queries of the VanEmdeBoasTree with IntSearchTree and RBTree, once for
+// keys spread over the whole int range and once for a dense range. BTree has no successor
+// query, so for it and the vEB tree membership tests are measured as well. Every measurement
+// runs a few times to warm up the JIT, the last round counts.
+public class SuccessorBenchmark {
+
+    private static final int KEYS = 1 << 20;
+    private static final int QUERIES = 1 << 21;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        run("sparse keys", random.ints(KEYS).toArray(), random.ints(QUERIES).toArray());
+        run("dense keys", random.ints(KEYS, 0, 2 * KEYS).toArray(), random.ints(QUERIES, 0, 2 * KEYS).toArray());
+    }
+
+    private static void run(String name, int[] keys, int[] queries) {
+        VanEmdeBoasTree vEB = new VanEmdeBoasTree();
+        IntSearchTree searchTree = new IntSearchTree();
+        RBTree<RBTree.IntComparable> rbTree = new RBTree<>();
+        BTree bTree = new BTree(16);
+        for (int key : keys) {
+            if (vEB.insert(key)) {
+                searchTree.insert(key);
+                rbTree.insertNode(new RBTree.IntComparable(key));
+                bTree.insert(key);
+            }
+        }
+        RBTree.IntComparable[] boxedQueries = new RBTree.IntComparable[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            boxedQueries[i] = new RBTree.IntComparable(queries[i]);
+        }
+
+        double[] result = new double[5];
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long begin = System.nanoTime();
+            for (int query : queries) {
+                checksum += vEB.successor(query).orElse(0);
+            }
+            result[0] = perQuery(begin);
+
+            begin = System.nanoTime();
+            for (int query : queries) {
+                checksum += searchTree.higher(query).orElse(0);
+            }
+            result[1] = perQuery(begin);
+
+            begin = System.nanoTime();
+            for (RBTree.IntComparable query : boxedQueries) {
+                checksum += rbTree.higher(query) == null ? 0 : 1;
+            }
+            result[2] = perQuery(begin);
+
+            begin = System.nanoTime();
+            for (int query : queries) {
+                checksum += vEB.contains(query) ? 1 : 0;
+            }
+            result[3] = perQuery(begin);
+
+            begin = System.nanoTime();
+            for (int query : queries) {
+                checksum += bTree.contains(query) ? 1 : 0;
+            }
+            result[4] = perQuery(begin);
+        }
+        System.out.printf("%s (%d distinct), ns per query (checksum %d):%n", name, vEB.size(), checksum);
+        System.out.printf("  successor  VanEmdeBoasTree %8.1f  IntSearchTree %8.1f  RBTree %8.1f%n",
+                result[0], result[1], result[2]);
+        System.out.printf("  contains   VanEmdeBoasTree %8.1f  BTree %8.1f%n", result[3], result[4]);
+    }
+
+    private static double perQuery(long begin) {
+        return (System.nanoTime() - begin) / (double) QUERIES;
+    }
+}
@@ -0,0 +1,64 @@
+package SearchMinKey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIntSearchTree {
+
+    @Test
+    public void testFromSorted() {
+        IntSearchTree tree = IntSearchTree.fromSorted(new int[]{-42, 1, 2, 12, 20, 27, 420});
+        assertEquals(7, tree.size());
+        assertEquals(3, tree.height());
+        // Breadth-first layout: the root and its children occupy the first three nodes
+        assertEquals(0, tree.root);
+        assertEquals(OptionalInt.of(20), tree.higher(12));
+        assertEquals(OptionalInt.of(12), tree.floor(19));
+        assertEquals(OptionalInt.empty(), tree.ceiling(421));
+        assertEquals(OptionalInt.empty(), tree.lower(-42));
+        assertThrows(IllegalArgumentException.class, () -> IntSearchTree.fromSorted(new int[]{1, 1}));
+        assertThrows(NoSuchElementException.class, () -> new IntSearchTree().first());
+    }
+
+    @Test
+    public void testAgainstTreeSet() {
+        IntSearchTree tree = new IntSearchTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(5);
+        // Ascending runs are the worst case for an unbalanced tree
+        for (int i = 0; i < 20000; i++) {
+            assertEquals(expected.add(i), tree.insert(i));
+        }
+        assertTrue(tree.height() <= 26);
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(60000) - 20000;
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.add(key), tree.insert(key));
+                case 1 -> assertEquals(expected.remove(key), tree.delete(key));
+                case 2 -> assertEquals(expected.contains(key), tree.contains(key));
+                default -> {
+                    Integer ceiling = expected.ceiling(key);
+                    Integer lower = expected.lower(key);
+                    assertEquals(ceiling == null ? OptionalInt.empty() : OptionalInt.of(ceiling), tree.ceiling(key));
+                    assertEquals(lower == null ? OptionalInt.empty() : OptionalInt.of(lower), tree.lower(key));
+                }
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), tree.toArray());
+        assertEquals(expected.first(), tree.first());
+        assertEquals(expected.last(), tree.last());
+        assertTrue(tree.height() <= Math.log(tree.size()) / Math.log(1.5) + 2);
+
+        for (int key : tree.toArray()) {
+            assertTrue(tree.delete(key));
+        }
+        assertTrue(tree.isEmpty());
+    }
+}
@@ -4,6 +4,9 @@ import SparseProject.SparseVector;
 import org.junit.jupiter.api.Test;
 
 import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,7 +15,49 @@ public class TestTree {
     public void testEdgeCases() {
         Tree t = new Tree();
         assertThrows(NoSuchElementException.class, () -> {
-            t.searchOneHigherKeyThanInputKey(421, t.root.getLeft(), t.root.getRight());
+            t.searchOneHigherKeyThanInputKey(421);
         });
+        // The root lies between the two subtrees and must be considered as well
+        assertEquals(12, t.searchOneHigherKeyThanInputKey(5));
+        assertEquals(-42, t.searchOneHigherKeyThanInputKey(-42));
+        assertEquals(1, t.searchOneHigherKeyThanInputKey(-41));
+    }
+
+    @Test
+    public void testCeilingAndHigher() {
+        Tree t = new Tree();
+        assertEquals(OptionalInt.of(-42), t.ceiling(-50));
+        assertEquals(OptionalInt.of(-42), t.ceiling(-42));
+        assertEquals(OptionalInt.of(1), t.higher(-42));
+        assertEquals(OptionalInt.of(12), t.ceiling(3));
+        assertEquals(OptionalInt.of(20), t.higherIterative(12));
+        assertEquals(OptionalInt.empty(), t.ceiling(421));
+        assertEquals(OptionalInt.empty(), t.higherIterative(420));
+        assertArrayEquals(new int[]{-42, 27, -1}, t.ceilingAll(new int[]{-100, 21, 500}, -1));
+    }
+
+    @Test
+    public void testAgainstTreeSet() {
+        Random random = new Random(4);
+        int[] keys = random.ints(2000, -5000, 5000).toArray();
+        Tree t = new Tree(keys);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int key : keys) {
+            expected.add(key);
+        }
+        int[] queries = random.ints(2000, -6000, 6000).toArray();
+        int[] batch = t.ceilingAll(queries, Integer.MIN_VALUE);
+        for (int i = 0; i < queries.length; i++) {
+            int query = queries[i];
+            Integer ceiling = expected.ceiling(query);
+            Integer higher = expected.higher(query);
+            OptionalInt expectedCeiling = ceiling == null ? OptionalInt.empty() : OptionalInt.of(ceiling);
+            OptionalInt expectedHigher = higher == null ? OptionalInt.empty() : OptionalInt.of(higher);
+            assertEquals(expectedCeiling, t.ceiling(query));
+            assertEquals(expectedCeiling, t.ceilingIterative(query));
+            assertEquals(expectedHigher, t.higher(query));
+            assertEquals(expectedHigher, t.higherIterative(query));
+            assertEquals(ceiling == null ? Integer.MIN_VALUE : ceiling, batch[i]);
+        }
     }
 }
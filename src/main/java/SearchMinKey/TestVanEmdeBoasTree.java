@@ -0,0 +1,69 @@
+package SearchMinKey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestVanEmdeBoasTree {
+
+    @Test
+    public void testExtremeKeys() {
+        VanEmdeBoasTree tree = new VanEmdeBoasTree();
+        assertEquals(OptionalInt.empty(), tree.successor(0));
+        assertTrue(tree.insert(Integer.MIN_VALUE));
+        assertTrue(tree.insert(Integer.MAX_VALUE));
+        assertTrue(tree.insert(-1));
+        assertTrue(tree.insert(0));
+        assertFalse(tree.insert(0));
+        assertEquals(OptionalInt.of(-1), tree.successor(Integer.MIN_VALUE));
+        assertEquals(OptionalInt.of(0), tree.successor(-1));
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), tree.successor(0));
+        assertEquals(OptionalInt.empty(), tree.successor(Integer.MAX_VALUE));
+        assertEquals(OptionalInt.of(-1), tree.predecessor(0));
+        assertEquals(OptionalInt.empty(), tree.predecessor(Integer.MIN_VALUE));
+        assertEquals(OptionalInt.of(Integer.MIN_VALUE), tree.min());
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), tree.max());
+        assertTrue(tree.delete(Integer.MIN_VALUE));
+        assertFalse(tree.delete(Integer.MIN_VALUE));
+        assertEquals(OptionalInt.of(-1), tree.min());
+        assertEquals(3, tree.size());
+    }
+
+    @Test
+    public void testAgainstTreeSet() {
+        VanEmdeBoasTree tree = new VanEmdeBoasTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(6);
+        for (int i = 0; i < 300000; i++) {
+            // Alternate between a dense range and the whole int range
+            int key = i % 2 == 0 ? random.nextInt(4096) - 2048 : random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.add(key), tree.insert(key));
+                case 1 -> assertEquals(expected.remove(key), tree.delete(key));
+                case 2 -> {
+                    Integer higher = expected.higher(key);
+                    assertEquals(higher == null ? OptionalInt.empty() : OptionalInt.of(higher), tree.successor(key));
+                    assertEquals(expected.contains(key), tree.contains(key));
+                }
+                default -> {
+                    Integer lower = expected.lower(key);
+                    Integer ceiling = expected.ceiling(key);
+                    assertEquals(lower == null ? OptionalInt.empty() : OptionalInt.of(lower), tree.predecessor(key));
+                    assertEquals(ceiling == null ? OptionalInt.empty() : OptionalInt.of(ceiling), tree.ceiling(key));
+                }
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+        // Walking successors visits every key in order
+        OptionalInt current = tree.min();
+        for (int key : expected) {
+            assertEquals(OptionalInt.of(key), current);
+            current = tree.successor(key);
+        }
+        assertTrue(current.isEmpty());
+    }
+}
@@ -1,14 +1,15 @@
 package SearchMinKey;
 
 import java.util.NoSuchElementException;
+import java.util.OptionalInt;
 
 public class Tree {
 
     public static void main(String[] args) {
         Tree t = new Tree();
-        t.searchOneHigherKeyThanInputKey(-50, t.root.getLeft(), t.root.getRight());
-        t.searchOneHigherKeyThanInputKey(-42, t.root.getLeft(), t.root.getRight());
-        t.searchOneHigherKeyThanInputKey(-41, t.root.getLeft(), t.root.getRight());
+        for (int key : new int[]{-50, -42, -41, 5}) {
+            System.out.println("Smallest key >= " + key + ": " + t.searchOneHigherKeyThanInputKey(key));
+        }
     }
 
     Node root;
@@ -18,46 +19,124 @@ public class Tree {
         Node leftRight = new Node(2, null, null);
 
         Node rightRight = new Node(420, null, null);
-        Node rightLeft = new Node(27, null, null);
+        Node rightLeft = new Node(20, null, null);
 
         Node leftRoot = new Node(1, leftLeft, leftRight);
-        Node rightRoot = new Node(12, rightLeft, rightRight);
+        Node rightRoot = new Node(27, rightLeft, rightRight);
         this.root = new Node(12, leftRoot, rightRoot);
 
     }
 
-    void searchOneHigherKeyThanInputKey(int key, Node left, Node right) {
-        if (left == null && right == null) {
-            throw new NoSuchElementException("No higher key found");
+    // Builds an unbalanced binary search tree by inserting the keys in order
+    Tree(int... keys) {
+        for (int key : keys) {
+            insert(key);
         }
+    }
 
-        if (left != null && left.getValue() == key) {
-            System.out.println("Found exact key: " + left.getValue());
+    void insert(int key) {
+        if (root == null) {
+            root = new Node(key, null, null);
             return;
         }
+        Node current = root;
+        while (true) {
+            if (key == current.getValue()) {
+                return;
+            }
+            if (key < current.getValue()) {
+                if (current.getLeft() == null) {
+                    current.setLeft(new Node(key, null, null));
+                    return;
+                }
+                current = current.getLeft();
+            } else {
+                if (current.getRight() == null) {
+                    current.setRight(new Node(key, null, null));
+                    return;
+                }
+                current = current.getRight();
+            }
+        }
+    }
 
-        if (right != null && right.getValue() == key) {
-            System.out.println("Found exact key: " + right.getValue());
-            return;
+    // Smallest key >= the input key in the whole tree, see ceiling
+    int searchOneHigherKeyThanInputKey(int key) {
+        return ceiling(key).orElseThrow(() -> new NoSuchElementException("No higher key found"));
+    }
+
+    // Smallest key >= key, following a single path from the root
+    public OptionalInt ceiling(int key) {
+        Node node = ceilingRecursive(root, key);
+        return node == null ? OptionalInt.empty() : OptionalInt.of(node.getValue());
+    }
+
+    // Smallest key > key, following a single path from the root
+    public OptionalInt higher(int key) {
+        if (key == Integer.MAX_VALUE) {
+            return OptionalInt.empty();
         }
+        return ceiling(key + 1);
+    }
 
-        if (left != null && left.getValue() > key) {
-            System.out.println("Found higher key: " + left.getValue());
-            return;
+    public OptionalInt ceilingIterative(int key) {
+        Node node = ceilingNode(root, key);
+        return node == null ? OptionalInt.empty() : OptionalInt.of(node.getValue());
+    }
+
+    public OptionalInt higherIterative(int key) {
+        Node candidate = null;
+        Node current = root;
+        while (current != null) {
+            if (current.getValue() > key) {
+                candidate = current;
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
         }
+        return candidate == null ? OptionalInt.empty() : OptionalInt.of(candidate.getValue());
+    }
 
-        if (right != null && right.getValue() > key) {
-            System.out.println("Found higher key: " + right.getValue());
-            return;
+    // Answers many ceiling queries at once without creating an OptionalInt per key
+    public int[] ceilingAll(int[] keys, int absent) {
+        int[] result = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Node node = ceilingNode(root, keys[i]);
+            result[i] = node == null ? absent : node.getValue();
         }
+        return result;
+    }
 
-        if (left != null) {
-            searchOneHigherKeyThanInputKey(key, left.getLeft(), left.getRight());
+    private Node ceilingRecursive(Node node, int key) {
+        if (node == null) {
+            return null;
+        }
+        if (node.getValue() == key) {
+            return node;
         }
+        if (node.getValue() < key) {
+            return ceilingRecursive(node.getRight(), key);
+        }
+        // This node qualifies, but the left subtree may hold a smaller key that still does
+        Node smaller = ceilingRecursive(node.getLeft(), key);
+        return smaller == null ? node : smaller;
+    }
 
-        if (right != null) {
-            searchOneHigherKeyThanInputKey(key, right.getLeft(), right.getRight());
+    private static Node ceilingNode(Node node, int key) {
+        Node candidate = null;
+        while (node != null) {
+            if (node.getValue() == key) {
+                return node;
+            }
+            if (node.getValue() > key) {
+                candidate = node;
+                node = node.getLeft();
+            } else {
+                node = node.getRight();
+            }
         }
+        return candidate;
     }
 
 
@@ -0,0 +1,393 @@
+package SearchMinKey;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+// Van Emde Boas tree over the full 32-bit int universe. successor, predecessor, insert and
+// delete run in O(log log U), i.e. a handful of steps independent of the number of keys:
+// every level halves the number of key bits, and universes of up to 2^LEAF_BITS = 64 keys are a
+// single long bitmap. For the 32-bit root that is 32 -> 16 -> 8 -> 4, so the leaves hold the
+// 16 keys of a 4-bit universe.
+//
+// A textbook vEB tree allocates all 2^(w/2) clusters of every node, which for 32-bit keys
+// means gigabytes even for a few keys. Here clusters only exist while they hold keys and are
+// found through a small open-addressing map per node, so the space is O(n) words.
+//
+// Keys are signed ints. Flipping the sign bit maps them to unsigned values in the same order,
+// so internally all keys are non-negative longs and -1 means "none".
+public class VanEmdeBoasTree {
+
+    private static final int LEAF_BITS = 6;
+    private static final long NONE = -1;
+
+    private final Node root = new Branch(32);
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return root.contains(toUnsigned(key));
+    }
+
+    // Returns false if the key was already present
+    public boolean insert(int key) {
+        if (root.insert(toUnsigned(key))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    // Returns false if the key was not present
+    public boolean delete(int key) {
+        if (root.delete(toUnsigned(key))) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    // Smallest key > key
+    public OptionalInt successor(int key) {
+        return toKey(root.successor(toUnsigned(key)));
+    }
+
+    // Largest key < key
+    public OptionalInt predecessor(int key) {
+        return toKey(root.predecessor(toUnsigned(key)));
+    }
+
+    // Smallest key >= key
+    public OptionalInt ceiling(int key) {
+        return contains(key) ? OptionalInt.of(key) : successor(key);
+    }
+
+    public OptionalInt min() {
+        return toKey(root.min());
+    }
+
+    public OptionalInt max() {
+        return toKey(root.max());
+    }
+
+    private static long toUnsigned(int key) {
+        return (key ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    private static OptionalInt toKey(long value) {
+        return value == NONE ? OptionalInt.empty() : OptionalInt.of((int) value ^ Integer.MIN_VALUE);
+    }
+
+    private static Node create(int bits) {
+        return bits <= LEAF_BITS ? new Leaf() : new Branch(bits);
+    }
+
+    // All arguments and results are in [0, 2^bits) of the node's universe
+    private abstract static class Node {
+        abstract long min();
+
+        abstract long max();
+
+        abstract boolean contains(long x);
+
+        abstract boolean insert(long x);
+
+        abstract boolean delete(long x);
+
+        abstract long successor(long x);
+
+        abstract long predecessor(long x);
+
+        boolean isEmpty() {
+            return min() == NONE;
+        }
+    }
+
+    // Universe of at most 64 keys, bit x is set if x is present
+    private static final class Leaf extends Node {
+        private long bits;
+
+        @Override
+        long min() {
+            return bits == 0 ? NONE : Long.numberOfTrailingZeros(bits);
+        }
+
+        @Override
+        long max() {
+            return bits == 0 ? NONE : 63 - Long.numberOfLeadingZeros(bits);
+        }
+
+        @Override
+        boolean contains(long x) {
+            return (bits & 1L << x) != 0;
+        }
+
+        @Override
+        boolean insert(long x) {
+            long old = bits;
+            bits |= 1L << x;
+            return bits != old;
+        }
+
+        @Override
+        boolean delete(long x) {
+            long old = bits;
+            bits &= ~(1L << x);
+            return bits != old;
+        }
+
+        @Override
+        long successor(long x) {
+            if (x >= 63) {
+                return NONE;
+            }
+            long above = bits & (-1L << (x + 1));
+            return above == 0 ? NONE : Long.numberOfTrailingZeros(above);
+        }
+
+        @Override
+        long predecessor(long x) {
+            long below = bits & ((1L << x) - 1);
+            return below == 0 ? NONE : 63 - Long.numberOfLeadingZeros(below);
+        }
+    }
+
+    // The minimum is kept only here and not in any cluster, which makes inserting into an
+    // empty node O(1) and is what bounds every operation to one recursive call per level
+    private static final class Branch extends Node {
+        private final int lowBits;
+        private final int highBits;
+        private long min = NONE;
+        private long max = NONE;
+        // Holds the high halves of all non-empty clusters, created with the first cluster
+        private Node summary;
+        private final ClusterMap clusters = new ClusterMap();
+
+        Branch(int bits) {
+            this.lowBits = bits / 2;
+            this.highBits = bits - lowBits;
+        }
+
+        @Override
+        long min() {
+            return min;
+        }
+
+        @Override
+        long max() {
+            return max;
+        }
+
+        @Override
+        boolean contains(long x) {
+            if (x == min || x == max) {
+                return true;
+            }
+            Node cluster = clusters.get(high(x));
+            return cluster != null && cluster.contains(low(x));
+        }
+
+        @Override
+        boolean insert(long x) {
+            if (min == NONE) {
+                min = x;
+                max = x;
+                return true;
+            }
+            if (x == min) {
+                return false;
+            }
+            if (x < min) {
+                // The new key becomes the minimum, the old minimum moves into a cluster
+                long swap = min;
+                min = x;
+                x = swap;
+            }
+            int high = high(x);
+            Node cluster = clusters.get(high);
+            if (cluster == null) {
+                cluster = create(lowBits);
+                clusters.put(high, cluster);
+                if (summary == null) {
+                    summary = create(highBits);
+                }
+                summary.insert(high);
+            }
+            if (!cluster.insert(low(x))) {
+                return false;
+            }
+            if (x > max) {
+                max = x;
+            }
+            return true;
+        }
+
+        @Override
+        boolean delete(long x) {
+            if (min == NONE) {
+                return false;
+            }
+            if (min == max) {
+                if (x != min) {
+                    return false;
+                }
+                min = NONE;
+                max = NONE;
+                return true;
+            }
+            if (x == min) {
+                // Pull the smallest key out of the clusters to become the new minimum
+                int first = (int) summary.min();
+                x = index(first, clusters.get(first).min());
+                min = x;
+            }
+            int high = high(x);
+            Node cluster = clusters.get(high);
+            if (cluster == null || !cluster.delete(low(x))) {
+                return false;
+            }
+            if (cluster.isEmpty()) {
+                clusters.remove(high);
+                summary.delete(high);
+            }
+            if (x == max) {
+                long last = summary.max();
+                max = last == NONE ? min : index((int) last, clusters.get((int) last).max());
+            }
+            return true;
+        }
+
+        @Override
+        long successor(long x) {
+            if (min == NONE) {
+                return NONE;
+            }
+            if (x < min) {
+                return min;
+            }
+            int high = high(x);
+            Node cluster = clusters.get(high);
+            if (cluster != null && low(x) < cluster.max()) {
+                return index(high, cluster.successor(low(x)));
+            }
+            long next = summary == null ? NONE : summary.successor(high);
+            return next == NONE ? NONE : index((int) next, clusters.get((int) next).min());
+        }
+
+        @Override
+        long predecessor(long x) {
+            if (max == NONE) {
+                return NONE;
+            }
+            if (x > max) {
+                return max;
+            }
+            int high = high(x);
+            Node cluster = clusters.get(high);
+            if (cluster != null && low(x) > cluster.min()) {
+                return index(high, cluster.predecessor(low(x)));
+            }
+            long previous = summary == null ? NONE : summary.predecessor(high);
+            if (previous == NONE) {
+                // The minimum is not stored in a cluster, so the summary does not know it
+                return x > min ? min : NONE;
+            }
+            return index((int) previous, clusters.get((int) previous).max());
+        }
+
+        private int high(long x) {
+            return (int) (x >>> lowBits);
+        }
+
+        private long low(long x) {
+            return x & ((1L << lowBits) - 1);
+        }
+
+        private long index(int high, long low) {
+            return (long) high << lowBits | low;
+        }
+    }
+
+    // Open-addressing map from cluster number to cluster with linear probing and
+    // backward-shift deletion. Cluster numbers have at most 16 bits, so -1 marks a free slot.
+    private static final class ClusterMap {
+        private static final int FREE = -1;
+
+        private int[] keys = {FREE, FREE};
+        private Node[] values = new Node[2];
+        private int count;
+
+        Node get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        // The key must not be present yet
+        void put(int key, Node value) {
+            if (2 * (count + 1) > keys.length) {
+                resize(keys.length * 2);
+            }
+            insert(key, value);
+            count++;
+        }
+
+        void remove(int key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            int gap = slot;
+            for (int i = (gap + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+                int home = hash(keys[i]) & mask;
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = FREE;
+            values[gap] = null;
+            count--;
+        }
+
+        private void insert(int key, Node value) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void resize(int length) {
+            int[] oldKeys = keys;
+            Node[] oldValues = values;
+            keys = new int[length];
+            Arrays.fill(keys, FREE);
+            values = new Node[length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ h >>> 16;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package SparseProject;
 
+import metrics.Metrics;
+import metrics.SparseVectorAddEvent;
+
 public class SparseVector {
     int size = 0;
     int dimensions;
@@ -61,12 +64,13 @@ public class SparseVector {
             return;
         }
         Node current = head;
+        int hops = 0;
         while (current.getNext() != null) {
             // Das Element hat bereits eine Node
             if (current.getNext().getIndex() == index) {
                 // nur der Wert muss angepasst werden
                 current.getNext().setValue(value);
-                return;
+                break;
             }
             if (index < current.getNext().getIndex()) {
                 // vorher einfügen
@@ -74,7 +78,7 @@ public class SparseVector {
                 newNode.setNext(current.getNext());
                 current.setNext(newNode);
                 size++;
-                return;
+                break;
             }
             if (index > current.getNext().getIndex() && current.getNext().getNext() == null || index < current.getNext().getNext().getIndex()) {
                 // nachher einfügen (zwischen das nächste und übernächste oder zum Schluss)
@@ -82,12 +86,14 @@ public class SparseVector {
                 newNode.setNext(current.getNext().getNext());
                 current.getNext().setNext(newNode);
                 size++;
-                return;
+                break;
             }
 
             current = current.getNext();
+            hops++;
 
         }
+        Metrics.add(Metrics.Counter.SPARSE_VECTOR_HOPS, hops);
     }
 
     /**
@@ -102,13 +108,18 @@ public class SparseVector {
         checkArguments(index);
 
         Node current = head;
+        int hops = 0;
+        double value = 0.0;
         while (current.getNext() != null) {
             if (current.getNext().getIndex() == index) {
-                return current.getNext().getValue();
+                value = current.getNext().getValue();
+                break;
             }
             current = current.getNext();
+            hops++;
         }
-        return 0.0;
+        Metrics.add(Metrics.Counter.SPARSE_VECTOR_HOPS, hops);
+        return value;
     }
 
     /**
@@ -122,20 +133,23 @@ public class SparseVector {
         checkArguments(index);
         if (size != 0) {
             Node current = head;
+            int hops = 0;
             while (current.getNext() != null) {
                 if (current.getNext().getIndex() == index) {
                     if (current.getNext().getNext() == null) {
                         current.setNext(null);
                         size--;
-                        return;
+                        break;
                     } else {
                         current.setNext(current.getNext().getNext());
                         size--;
-                        return;
+                        break;
                     }
                 }
                 current = current.getNext();
+                hops++;
             }
+            Metrics.add(Metrics.Counter.SPARSE_VECTOR_HOPS, hops);
         }
     }
 
@@ -157,24 +171,35 @@ public class SparseVector {
             return true;
         }
 
+        int hops = 0;
+        boolean equal = true;
         while (thisCurrent.getNext() != null && otherCurrent.getNext() != null) {
             thisCurrent = thisCurrent.getNext();
             otherCurrent = otherCurrent.getNext();
+            hops += 2;
             if (thisCurrent.getIndex() != otherCurrent.getIndex() || thisCurrent.getValue() != otherCurrent.getValue()) {
-                return false;
+                equal = false;
+                break;
             }
         }
-        return true;
+        Metrics.add(Metrics.Counter.SPARSE_VECTOR_HOPS, hops);
+        return equal;
     }
 
     /**
      * Adds the elements of another SparseVector to this SparseVector.
+     * Every call is reported to JFR as a {@link SparseVectorAddEvent} while a recording with
+     * that event enabled is running.
      *
      * @param other The SparseVector to add to this SparseVector.
      * @throws IllegalArgumentException If the dimensions of the vectors are not equal or if both dimensions are not greater than 0.
      * @see SparseVector
      */
     void add(SparseVector other) {
+        SparseVectorAddEvent event = new SparseVectorAddEvent();
+        event.begin();
+        int sizeBefore = size;
+        int hops = 0;
         Node thisCurrent = this.head;
         Node otherCurrent = other.head;
 
@@ -196,6 +221,7 @@ public class SparseVector {
                     //Node schon vorhanden, aufaddieren
                     thisCurrent.getNext().setValue(thisCurrent.getNext().getValue() + otherCurrent.getNext().getValue());
                     thisCurrent = thisCurrent.getNext();
+                    hops++;
                     break;
 
                 } else if (otherCurrent.getNext().getIndex() < thisCurrent.getNext().getIndex()) {
@@ -205,6 +231,7 @@ public class SparseVector {
                     thisCurrent.setNext(newNode);
                     size++;
                     thisCurrent = thisCurrent.getNext();
+                    hops++;
                     break;
 
                 } else if (otherCurrent.getNext().getIndex() > thisCurrent.getNext().getIndex() && thisCurrent.getNext().getNext() == null || otherCurrent.getNext().getIndex() < thisCurrent.getNext().getNext().getIndex()) {
@@ -214,15 +241,26 @@ public class SparseVector {
                     thisCurrent.getNext().setNext(newNode);
                     size++;
                     thisCurrent = thisCurrent.getNext();
+                    hops++;
                     break;
                 }
                 thisCurrent = thisCurrent.getNext();
+                hops++;
             }
 
             otherCurrent = otherCurrent.getNext();
+            hops++;
+        }
+        Metrics.add(Metrics.Counter.SPARSE_VECTOR_HOPS, hops);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.dimensions = dimensions;
+            event.nodesVisited = hops;
+            event.nodesInserted = size - sizeBefore;
+            event.size = size;
+            event.commit();
         }
-
-
     }
 
 
@@ -0,0 +1,155 @@
+package filters;
+
+/**
+ * A Bloom filter whose bits for one key all lie in the same 64-byte block
+ * (Putze, Sanders and Singler, "Cache-, Hash- and Space-Efficient Bloom Filters").
+ * <p>
+ * A classic Bloom filter sets k bits spread over the whole table, so a lookup costs up to k
+ * cache misses. Here the first hash picks one block of eight longs, which is one cache line,
+ * and the k bits are set within that block, so every lookup touches a single cache line.
+ * <p>
+ * The price is a higher false positive rate for the same number of bits, because the keys
+ * are not spread perfectly evenly over the blocks. The constructor accounts for that and adds
+ * bits until the expected rate of the blocked layout meets the requested one. The positions
+ * within a block are taken from fresh hash bits rather than computed as h1 + i * h2; in a
+ * block this small, double hashing lets the bit patterns of different keys overlap far more
+ * often than random positions would.
+ */
+public class BlockedBloomFilter implements IntMembershipFilter {
+
+    static final int BLOCK_BITS = 512;
+    static final int BLOCK_WORDS = BLOCK_BITS / Long.SIZE;
+    // Every bit position takes 9 fresh hash bits, so one 64-bit hash covers 7 positions
+    private static final int POSITION_BITS = 9;
+    private static final int POSITIONS_PER_HASH = Long.SIZE / POSITION_BITS;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashCount;
+
+    /**
+     * Constructs an empty filter sized for the expected number of keys.
+     *
+     * @param expectedKeys      The number of keys that will be added.
+     * @param falsePositiveRate The desired probability that an absent key is reported as
+     *                          possibly present, between 0 and 1 exclusive.
+     * @throws IllegalArgumentException If expectedKeys is less than 1 or the rate is not
+     *                                  between 0 and 1.
+     */
+    public BlockedBloomFilter(int expectedKeys, double falsePositiveRate) {
+        double bitsPerKey = bitsPerKey(expectedKeys, falsePositiveRate, BLOCK_BITS);
+        blocks = blockCount(expectedKeys, bitsPerKey, BLOCK_BITS);
+        words = new long[blocks * BLOCK_WORDS];
+        hashCount = hashCount(bitsPerKey);
+    }
+
+    @Override
+    public void add(int key) {
+        long hash = mix(key);
+        int base = block(hash, blocks) * BLOCK_WORDS;
+        long bits = mix(hash);
+        for (int i = 0, left = POSITIONS_PER_HASH; i < hashCount; i++, left--) {
+            if (left == 0) {
+                bits = mix(bits);
+                left = POSITIONS_PER_HASH;
+            }
+            int bit = (int) bits & (BLOCK_BITS - 1);
+            bits >>>= POSITION_BITS;
+            words[base + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    @Override
+    public boolean mightContain(int key) {
+        long hash = mix(key);
+        int base = block(hash, blocks) * BLOCK_WORDS;
+        long bits = mix(hash);
+        for (int i = 0, left = POSITIONS_PER_HASH; i < hashCount; i++, left--) {
+            if (left == 0) {
+                bits = mix(bits);
+                left = POSITIONS_PER_HASH;
+            }
+            int bit = (int) bits & (BLOCK_BITS - 1);
+            bits >>>= POSITION_BITS;
+            if ((words[base + (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of bits in the filter.
+     */
+    public long bitCount() {
+        return (long) words.length * Long.SIZE;
+    }
+
+    /**
+     * @return The number of bits set per key.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // Starts from m/n = -ln(p) / ln(2)^2 bits per key, which is right for a classic Bloom
+    // filter, and grows it until the blocked layout reaches the rate as well
+    static double bitsPerKey(int expectedKeys, double falsePositiveRate, int blockSlots) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("The number of expected keys must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        }
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        while (expectedRate(bitsPerKey, hashCount(bitsPerKey), blockSlots) > falsePositiveRate) {
+            bitsPerKey *= 1.05;
+        }
+        return bitsPerKey;
+    }
+
+    // The number of keys in a block is Poisson distributed. A block with j keys has a false
+    // positive rate of (1 - (1 - 1/B)^(jk))^k, the expected rate weighs these by the
+    // probability of j.
+    static double expectedRate(double bitsPerKey, int hashCount, int blockSlots) {
+        double lambda = blockSlots / bitsPerKey;
+        double logP = -lambda;
+        double rate = 0;
+        int last = (int) (lambda + 12 * Math.sqrt(lambda) + 20);
+        for (int j = 0; j <= last; j++) {
+            if (j > 0) {
+                logP += Math.log(lambda / j);
+            }
+            double empty = Math.pow(1 - 1.0 / blockSlots, (double) j * hashCount);
+            rate += Math.exp(logP) * Math.pow(1 - empty, hashCount);
+        }
+        return rate;
+    }
+
+    static int blockCount(int expectedKeys, double bitsPerKey, int blockSlots) {
+        long blocks = (long) Math.ceil(expectedKeys * bitsPerKey / blockSlots);
+        if (blocks > (Integer.MAX_VALUE - 8) / BLOCK_WORDS) {
+            throw new IllegalArgumentException("The filter would be too large");
+        }
+        return (int) Math.max(1, blocks);
+    }
+
+    // k = m/n * ln(2) minimizes the false positive rate
+    static int hashCount(double bitsPerKey) {
+        return (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerKey * Math.log(2))));
+    }
+
+    // SplitMix64 finalizer, every input bit affects every hash bit
+    static long mix(long x) {
+        long z = x * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Maps the high 32 bits to [0, blocks) without a division
+    static int block(long hash, int blocks) {
+        return (int) (((hash >>> 32) * blocks) >>> 32);
+    }
+}
@@ -0,0 +1,125 @@
+package filters;
+
+/**
+ * A blocked Bloom filter with a 4-bit counter instead of a bit per slot, which makes
+ * removal possible.
+ * <p>
+ * Adding a key increments its counters and removing it decrements them. Sixteen counters are
+ * packed into one long and a block of eight longs, again one cache line, holds the 128
+ * counters a key can use. A counter that reaches 15 is saturated and stays at 15, because its
+ * true count is no longer known; this can only cause false positives, never false negatives.
+ * A key may hit the same counter twice; adding and removing it then count that counter twice
+ * in both directions, which keeps them consistent.
+ * <p>
+ * The filter needs four times the memory of a {@link BlockedBloomFilter} with the same rate.
+ */
+public class CountingBloomFilter implements IntMembershipFilter {
+
+    private static final int BLOCK_COUNTERS = 128;
+    // Every counter position takes 7 fresh hash bits, so one 64-bit hash covers 9 positions
+    private static final int POSITION_BITS = 7;
+    private static final int POSITIONS_PER_HASH = Long.SIZE / POSITION_BITS;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] words;
+    private final int blocks;
+    private final int hashCount;
+
+    /**
+     * Constructs an empty filter sized for the expected number of keys.
+     *
+     * @param expectedKeys      The number of keys that will be present at the same time.
+     * @param falsePositiveRate The desired probability that an absent key is reported as
+     *                          possibly present, between 0 and 1 exclusive.
+     * @throws IllegalArgumentException If expectedKeys is less than 1 or the rate is not
+     *                                  between 0 and 1.
+     */
+    public CountingBloomFilter(int expectedKeys, double falsePositiveRate) {
+        double countersPerKey = BlockedBloomFilter.bitsPerKey(expectedKeys, falsePositiveRate, BLOCK_COUNTERS);
+        blocks = BlockedBloomFilter.blockCount(expectedKeys, countersPerKey, BLOCK_COUNTERS);
+        words = new long[blocks * BlockedBloomFilter.BLOCK_WORDS];
+        hashCount = BlockedBloomFilter.hashCount(countersPerKey);
+    }
+
+    @Override
+    public void add(int key) {
+        long hash = BlockedBloomFilter.mix(key);
+        int base = BlockedBloomFilter.block(hash, blocks) * BlockedBloomFilter.BLOCK_WORDS;
+        long bits = BlockedBloomFilter.mix(hash);
+        for (int i = 0, left = POSITIONS_PER_HASH; i < hashCount; i++, left--) {
+            if (left == 0) {
+                bits = BlockedBloomFilter.mix(bits);
+                left = POSITIONS_PER_HASH;
+            }
+            int slot = (int) bits & (BLOCK_COUNTERS - 1);
+            bits >>>= POSITION_BITS;
+            int word = base + (slot >>> 4), shift = (slot & 15) << 2;
+            if ((words[word] >>> shift & 0xF) < MAX_COUNT) {
+                words[word] += 1L << shift;
+            }
+        }
+    }
+
+    @Override
+    public boolean mightContain(int key) {
+        long hash = BlockedBloomFilter.mix(key);
+        int base = BlockedBloomFilter.block(hash, blocks) * BlockedBloomFilter.BLOCK_WORDS;
+        long bits = BlockedBloomFilter.mix(hash);
+        for (int i = 0, left = POSITIONS_PER_HASH; i < hashCount; i++, left--) {
+            if (left == 0) {
+                bits = BlockedBloomFilter.mix(bits);
+                left = POSITIONS_PER_HASH;
+            }
+            int slot = (int) bits & (BLOCK_COUNTERS - 1);
+            bits >>>= POSITION_BITS;
+            if ((words[base + (slot >>> 4)] >>> ((slot & 15) << 2) & 0xF) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a key. Removing a key that was never added corrupts the filter, it may then
+     * report keys as absent that are present.
+     *
+     * @param key The key, which must have been added and not removed since.
+     * @return false if the key is certainly not in the filter, in which case nothing changes.
+     */
+    @Override
+    public boolean remove(int key) {
+        if (!mightContain(key)) {
+            return false;
+        }
+        long hash = BlockedBloomFilter.mix(key);
+        int base = BlockedBloomFilter.block(hash, blocks) * BlockedBloomFilter.BLOCK_WORDS;
+        long bits = BlockedBloomFilter.mix(hash);
+        for (int i = 0, left = POSITIONS_PER_HASH; i < hashCount; i++, left--) {
+            if (left == 0) {
+                bits = BlockedBloomFilter.mix(bits);
+                left = POSITIONS_PER_HASH;
+            }
+            int slot = (int) bits & (BLOCK_COUNTERS - 1);
+            bits >>>= POSITION_BITS;
+            int word = base + (slot >>> 4), shift = (slot & 15) << 2;
+            if ((words[word] >>> shift & 0xF) < MAX_COUNT) {
+                words[word] -= 1L << shift;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of counters in the filter.
+     */
+    public long counterCount() {
+        return (long) words.length * 16;
+    }
+
+    /**
+     * @return The number of counters incremented per key.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+}
@@ -0,0 +1,53 @@
+package filters;
+
+import BTrees.BTree;
+
+import java.util.Random;
+
+// Membership queries of which 90% are misses, against a plain BTree and a FilteredBTree
+public class FilterBenchmark {
+
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+        int queries = 1 << 22;
+        Random random = new Random(42);
+        int[] inserted = random.ints(keys).toArray();
+        int[] lookups = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            lookups[i] = i % 10 == 0 ? inserted[random.nextInt(keys)] : random.nextInt();
+        }
+
+        BTree plain = new BTree(16);
+        FilteredBTree filtered = new FilteredBTree(16, keys, 0.01);
+        for (int key : inserted) {
+            plain.insert(key);
+            filtered.insert(key);
+        }
+
+        // The first rounds only warm up the JIT
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int hits = 0;
+            for (int key : lookups) {
+                if (plain.contains(key)) {
+                    hits++;
+                }
+            }
+            long plainTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            int filteredHits = 0;
+            for (int key : lookups) {
+                if (filtered.contains(key)) {
+                    filteredHits++;
+                }
+            }
+            long filteredTime = System.nanoTime() - start;
+            if (hits != filteredHits) {
+                throw new AssertionError("The filter changed the result");
+            }
+            System.out.printf("BTree %.1f ns/query, FilteredBTree %.1f ns/query%n",
+                    (double) plainTime / queries, (double) filteredTime / queries);
+        }
+        System.out.println(filtered.stats());
+    }
+}
@@ -0,0 +1,70 @@
+package filters;
+
+import BTrees.BTree;
+
+/**
+ * A {@link BTree} with a Bloom filter in front of its membership queries.
+ * <p>
+ * Every inserted key is also added to the filter. A query for a key that the filter rules out
+ * returns false at once; only keys the filter lets through cost a walk from the root to a
+ * leaf. This pays off when most queries are for absent keys.
+ */
+public class FilteredBTree {
+
+    private final BTree tree;
+    private final IntMembershipFilter filter;
+    private final LookupStats stats = new LookupStats();
+
+    /**
+     * Constructs an empty tree with a {@link BlockedBloomFilter}.
+     *
+     * @param t                 The minimum degree of the B-tree.
+     * @param expectedKeys      The number of keys the filter is sized for.
+     * @param falsePositiveRate The desired false positive rate of the filter.
+     */
+    public FilteredBTree(int t, int expectedKeys, double falsePositiveRate) {
+        this(t, new BlockedBloomFilter(expectedKeys, falsePositiveRate));
+    }
+
+    /**
+     * Constructs an empty tree with the given filter.
+     *
+     * @param t      The minimum degree of the B-tree.
+     * @param filter An empty filter.
+     */
+    public FilteredBTree(int t, IntMembershipFilter filter) {
+        this.tree = new BTree(t);
+        this.filter = filter;
+    }
+
+    /**
+     * Inserts the key into the tree and the filter.
+     *
+     * @param key The key.
+     */
+    public void insert(int key) {
+        tree.insert(key);
+        filter.add(key);
+    }
+
+    /**
+     * @param key The key.
+     * @return true if the tree contains the key.
+     */
+    public boolean contains(int key) {
+        if (!filter.mightContain(key)) {
+            stats.recordSaved();
+            return false;
+        }
+        boolean found = tree.contains(key);
+        stats.recordWalk(found);
+        return found;
+    }
+
+    /**
+     * @return The counters of this tree's queries.
+     */
+    public LookupStats stats() {
+        return stats;
+    }
+}
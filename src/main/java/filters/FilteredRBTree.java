@@ -0,0 +1,101 @@
+package filters;
+
+import RBTrees.RBTree;
+
+/**
+ * An {@link RBTree} with a Bloom filter in front of its membership queries.
+ * <p>
+ * Keys are put into the filter by their {@code hashCode()}, so the key type must implement
+ * {@code hashCode} consistently with {@code compareTo}: keys that compare as equal must have
+ * equal hash codes, as for {@link RBTree.IntComparable}.
+ * <p>
+ * Keys split off the tree are removed from the filter if it supports removal, like a
+ * {@link CountingBloomFilter}. Other filters keep them, which only costs false positives.
+ *
+ * @param <T> The type of the keys.
+ */
+public class FilteredRBTree<T extends Comparable<T>> {
+
+    private final RBTree<T> tree;
+    private final IntMembershipFilter filter;
+    private final LookupStats stats = new LookupStats();
+
+    /**
+     * Constructs an empty tree with a {@link BlockedBloomFilter}.
+     *
+     * @param expectedKeys      The number of keys the filter is sized for.
+     * @param falsePositiveRate The desired false positive rate of the filter.
+     */
+    public FilteredRBTree(int expectedKeys, double falsePositiveRate) {
+        this(new RBTree<>(), new BlockedBloomFilter(expectedKeys, falsePositiveRate));
+    }
+
+    /**
+     * Puts a filter in front of an existing tree. All keys of the tree are added to the
+     * filter, and the tree must only be changed through this wrapper afterwards.
+     *
+     * @param tree   The tree.
+     * @param filter An empty filter.
+     */
+    public FilteredRBTree(RBTree<T> tree, IntMembershipFilter filter) {
+        this.tree = tree;
+        this.filter = filter;
+        for (T key : tree) {
+            filter.add(key.hashCode());
+        }
+    }
+
+    /**
+     * Inserts the key into the tree and the filter.
+     *
+     * @param key The key.
+     * @throws IllegalArgumentException If the tree already contains the key.
+     */
+    public void insertNode(T key) {
+        tree.insertNode(key);
+        filter.add(key.hashCode());
+    }
+
+    /**
+     * @param key The key.
+     * @return true if the tree contains the key.
+     */
+    public boolean contains(T key) {
+        if (!filter.mightContain(key.hashCode())) {
+            stats.recordSaved();
+            return false;
+        }
+        boolean found = tree.contains(key);
+        stats.recordWalk(found);
+        return found;
+    }
+
+    /**
+     * Removes all keys greater than or equal to key from this tree, see
+     * {@link RBTree#splitOff(Comparable)}.
+     *
+     * @param key The key to split at.
+     * @return A new unfiltered tree with the removed keys.
+     */
+    public RBTree<T> splitOff(T key) {
+        RBTree<T> tail = tree.splitOff(key);
+        for (T removed : tail) {
+            filter.remove(removed.hashCode());
+        }
+        return tail;
+    }
+
+    /**
+     * @return true if the tree has no keys.
+     */
+    public boolean isEmpty() {
+        return tree.isEmpty();
+    }
+
+    /**
+     * @return The counters of this tree's queries.
+     */
+    public LookupStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,34 @@
+package filters;
+
+/**
+ * An approximate set of int keys that answers "definitely absent" or "possibly present".
+ * <p>
+ * A filter never forgets a key it was given, so {@link #mightContain(int)} returning false
+ * proves that the key was never added. Returning true may be a false positive.
+ */
+public interface IntMembershipFilter {
+
+    /**
+     * Adds the key to the filter.
+     *
+     * @param key The key.
+     */
+    void add(int key);
+
+    /**
+     * @param key The key.
+     * @return false if the key was certainly never added, true if it may have been.
+     */
+    boolean mightContain(int key);
+
+    /**
+     * Removes a key that was added before, if the filter supports removal.
+     *
+     * @param key The key, which must have been added and not removed since.
+     * @return true if the filter forgot the key, false if it does not support removal or the
+     * key is certainly not in the filter.
+     */
+    default boolean remove(int key) {
+        return false;
+    }
+}
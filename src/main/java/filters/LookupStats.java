@@ -0,0 +1,70 @@
+package filters;
+
+import metrics.Metrics;
+
+/**
+ * Counts what a filter in front of a tree saved: every lookup that the filter answered on its
+ * own is a root-to-leaf walk that did not happen. The same numbers are added to the
+ * {@link Metrics} counters while metrics are enabled.
+ */
+public final class LookupStats {
+
+    private long lookups;
+    private long savedWalks;
+    private long falsePositives;
+
+    LookupStats() {
+    }
+
+    // The filter ruled the key out, the tree was not touched
+    void recordSaved() {
+        lookups++;
+        savedWalks++;
+        Metrics.count(Metrics.Counter.FILTER_SAVED_WALKS);
+    }
+
+    // The filter let the key through and the tree was searched
+    void recordWalk(boolean found) {
+        lookups++;
+        if (!found) {
+            falsePositives++;
+            Metrics.count(Metrics.Counter.FILTER_FALSE_POSITIVES);
+        }
+    }
+
+    /**
+     * @return The number of membership queries.
+     */
+    public long lookups() {
+        return lookups;
+    }
+
+    /**
+     * @return The number of queries the filter answered without walking the tree.
+     */
+    public long savedWalks() {
+        return savedWalks;
+    }
+
+    /**
+     * @return The number of queries the filter let through for keys the tree did not contain.
+     */
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * @return The share of absent keys that the filter failed to rule out, or 0 if no absent
+     * key was queried yet.
+     */
+    public double falsePositiveRate() {
+        long negatives = savedWalks + falsePositives;
+        return negatives == 0 ? 0 : (double) falsePositives / negatives;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("lookups=%d, savedWalks=%d, falsePositives=%d (%.4f)",
+                lookups, savedWalks, falsePositives, falsePositiveRate());
+    }
+}
@@ -0,0 +1,116 @@
+package filters;
+
+import RBTrees.RBTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFilters {
+
+    private static final int KEYS = 100000;
+
+    // Adds KEYS random keys, checks that none is reported absent and returns the false
+    // positive rate over as many keys that were not added
+    private static double falsePositiveRate(IntMembershipFilter filter) {
+        Random random = new Random(3);
+        int[] keys = random.ints(KEYS).toArray();
+        for (int key : keys) {
+            filter.add(key);
+        }
+        for (int key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+        // With 100000 of 2^32 keys added, a random key was almost certainly not
+        int falsePositives = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (filter.mightContain(random.nextInt())) {
+                falsePositives++;
+            }
+        }
+        return (double) falsePositives / KEYS;
+    }
+
+    @Test
+    public void testBlockedBloomFilterRate() {
+        for (double rate : new double[]{0.1, 0.01, 0.001}) {
+            BlockedBloomFilter filter = new BlockedBloomFilter(KEYS, rate);
+            double measured = falsePositiveRate(filter);
+            assertTrue(measured < 1.5 * rate, "rate " + rate + " measured " + measured);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(10, 1.0));
+    }
+
+    @Test
+    public void testCountingBloomFilterRemoval() {
+        CountingBloomFilter filter = new CountingBloomFilter(KEYS, 0.01);
+        assertTrue(falsePositiveRate(filter) < 0.015);
+
+        CountingBloomFilter small = new CountingBloomFilter(1000, 0.01);
+        for (int key = 0; key < 1000; key++) {
+            small.add(key);
+        }
+        for (int key = 0; key < 1000; key += 2) {
+            assertTrue(small.remove(key));
+        }
+        for (int key = 1; key < 1000; key += 2) {
+            assertTrue(small.mightContain(key));
+        }
+        int stillPresent = 0;
+        for (int key = 0; key < 1000; key += 2) {
+            if (small.mightContain(key)) {
+                stillPresent++;
+            }
+        }
+        assertTrue(stillPresent < 25, stillPresent + " removed keys are still reported");
+        assertFalse(new CountingBloomFilter(10, 0.01).remove(42));
+        assertFalse(new BlockedBloomFilter(10, 0.01).remove(42));
+    }
+
+    @Test
+    public void testFilteredBTree() {
+        FilteredBTree tree = new FilteredBTree(3, 10000, 0.01);
+        for (int key = 0; key < 20000; key += 2) {
+            tree.insert(key);
+        }
+        int found = 0;
+        for (int key = 0; key < 20000; key++) {
+            if (tree.contains(key)) {
+                found++;
+            }
+        }
+        assertEquals(10000, found);
+        LookupStats stats = tree.stats();
+        assertEquals(20000, stats.lookups());
+        assertEquals(10000, stats.savedWalks() + stats.falsePositives());
+        assertTrue(stats.falsePositiveRate() < 0.02, stats.toString());
+    }
+
+    @Test
+    public void testFilteredRBTree() {
+        RBTree<RBTree.IntComparable> base = new RBTree<>();
+        for (int key = 0; key < 1000; key++) {
+            base.insertNode(new RBTree.IntComparable(key));
+        }
+        FilteredRBTree<RBTree.IntComparable> tree = new FilteredRBTree<>(base, new CountingBloomFilter(2000, 0.01));
+        for (int key = 1000; key < 2000; key++) {
+            tree.insertNode(new RBTree.IntComparable(key));
+        }
+        for (int key = 0; key < 2000; key++) {
+            assertTrue(tree.contains(new RBTree.IntComparable(key)));
+        }
+        assertEquals(0, tree.stats().savedWalks());
+
+        RBTree<RBTree.IntComparable> tail = tree.splitOff(new RBTree.IntComparable(1000));
+        assertTrue(tail.contains(new RBTree.IntComparable(1500)));
+        for (int key = 1000; key < 2000; key++) {
+            assertFalse(tree.contains(new RBTree.IntComparable(key)));
+        }
+        // The counting filter forgot the split-off keys, so most of these lookups were saved
+        assertTrue(tree.stats().savedWalks() > 950, tree.stats().toString());
+        assertEquals(new RBTree.IntComparable(7), new RBTree.IntComparable(7));
+        assertEquals(new RBTree.IntComparable(7).hashCode(), new RBTree.IntComparable(7).hashCode());
+    }
+}
@@ -0,0 +1,30 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one {@code BTree.insert} call.
+ */
+@Name("metrics.BTreeInsert")
+@Label("B-Tree Insert")
+@Category({"Algorithms", "Trees"})
+@Description("Insertion of a key into a B-tree")
+@Threshold("10 us")
+public class BTreeInsertEvent extends Event {
+
+    @Label("Key")
+    public int key;
+
+    @Label("Depth")
+    @Description("Levels of the tree after the insert, every insert ends in a leaf")
+    public int depth;
+
+    @Label("Splits")
+    @Description("Full nodes split on the way down, including the root")
+    public int splits;
+}
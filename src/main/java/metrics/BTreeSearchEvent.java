@@ -0,0 +1,28 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one {@code BTree.search} call.
+ */
+@Name("metrics.BTreeSearch")
+@Label("B-Tree Search")
+@Category({"Algorithms", "Trees"})
+@Description("Lookup of a key in a B-tree")
+@Threshold("10 us")
+public class BTreeSearchEvent extends Event {
+
+    @Label("Key")
+    public int key;
+
+    @Label("Nodes Visited")
+    public int nodesVisited;
+
+    @Label("Found")
+    public boolean found;
+}
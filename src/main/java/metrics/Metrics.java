@@ -0,0 +1,123 @@
+package metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters for the hot paths of the algorithms and data structures in this project.
+ * <p>
+ * Counting is switched on with {@code -Dmetrics.enabled=true}. The flag is read once into the
+ * static final field {@link #ENABLED}, so when it is off the JIT treats every
+ * {@code if (Metrics.ENABLED)} block and every call of {@link #add} as dead code and removes
+ * it; the instrumented code then runs exactly as fast as without metrics. When it is on, the
+ * counters are {@link LongAdder}s, which stay cheap even if many threads count at once.
+ * <p>
+ * Tight loops should count into a local variable and call {@link #add} once at the end
+ * rather than once per step.
+ * <p>
+ * While counting is enabled, a {@link MetricsSnapshotEvent} with all counter values is
+ * recorded periodically whenever a JFR recording is running. The per-operation events such as
+ * {@link RBTreeInsertEvent} do not depend on this flag; they are switched on and off, and given
+ * a threshold, by the settings of the JFR recording.
+ */
+public final class Metrics {
+
+    /**
+     * Whether counting is enabled, from the system property {@code metrics.enabled}.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("metrics.enabled");
+
+    /**
+     * The things that are counted.
+     */
+    public enum Counter {
+        /** Key comparisons in the sorts. */
+        COMPARISONS,
+        /** Element writes in the sorts. */
+        MOVES,
+        /** Array elements looked at by the searches. */
+        SEARCH_PROBES,
+        /** Calls of {@code BTreeNode.splitChild}. */
+        BTREE_SPLITS,
+        /** Rotations while fixing a red-black tree after an insert. */
+        RBTREE_ROTATIONS,
+        /** Nodes recolored while fixing a red-black tree after an insert. */
+        RBTREE_RECOLORINGS,
+        /** Steps from one node to the next in a {@code SparseVector}. */
+        SPARSE_VECTOR_HOPS,
+        /** Tree lookups that a Bloom filter answered without walking the tree. */
+        FILTER_SAVED_WALKS,
+        /** Tree lookups that a Bloom filter let through for absent keys. */
+        FILTER_FALSE_POSITIVES;
+
+        private final LongAdder adder = new LongAdder();
+    }
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(MetricsSnapshotEvent.class, MetricsSnapshotEvent::emit);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Adds one to the counter if counting is enabled.
+     *
+     * @param counter The counter to increment.
+     */
+    public static void count(Counter counter) {
+        if (ENABLED) {
+            counter.adder.increment();
+        }
+    }
+
+    /**
+     * Adds the amount to the counter if counting is enabled.
+     *
+     * @param counter The counter to increase.
+     * @param amount  The amount to add.
+     */
+    public static void add(Counter counter, long amount) {
+        if (ENABLED) {
+            counter.adder.add(amount);
+        }
+    }
+
+    /**
+     * Returns the current value of a counter, always 0 if counting is disabled.
+     *
+     * @param counter The counter to read.
+     * @return The sum of everything counted since the start or the last {@link #reset()}.
+     */
+    public static long get(Counter counter) {
+        return counter.adder.sum();
+    }
+
+    /**
+     * Returns the current values of all counters. The values are read one after another, so
+     * counts that happen meanwhile may be included in some of them and not in others.
+     *
+     * @return A new map from every counter to its value.
+     */
+    public static Map<Counter, Long> snapshot() {
+        Map<Counter, Long> snapshot = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            snapshot.put(counter, counter.adder.sum());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Sets all counters back to 0.
+     */
+    public static void reset() {
+        for (Counter counter : Counter.values()) {
+            counter.adder.reset();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event with the values of all {@link Metrics} counters, emitted once per second while a
+ * recording is running and counting is enabled. The counters only grow, so the difference
+ * between two snapshots is what happened in between.
+ */
+@Name("metrics.Snapshot")
+@Label("Metrics Snapshot")
+@Category({"Algorithms", "Metrics"})
+@Description("Values of the algorithm counters")
+@Period("1 s")
+@StackTrace(false)
+public class MetricsSnapshotEvent extends Event {
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Moves")
+    long moves;
+
+    @Label("Search Probes")
+    long searchProbes;
+
+    @Label("B-Tree Splits")
+    long btreeSplits;
+
+    @Label("Red-Black Tree Rotations")
+    long rbtreeRotations;
+
+    @Label("Red-Black Tree Recolorings")
+    long rbtreeRecolorings;
+
+    @Label("Sparse Vector Hops")
+    long sparseVectorHops;
+
+    @Label("Filter Saved Walks")
+    long filterSavedWalks;
+
+    @Label("Filter False Positives")
+    long filterFalsePositives;
+
+    static void emit() {
+        MetricsSnapshotEvent event = new MetricsSnapshotEvent();
+        event.comparisons = Metrics.get(Metrics.Counter.COMPARISONS);
+        event.moves = Metrics.get(Metrics.Counter.MOVES);
+        event.searchProbes = Metrics.get(Metrics.Counter.SEARCH_PROBES);
+        event.btreeSplits = Metrics.get(Metrics.Counter.BTREE_SPLITS);
+        event.rbtreeRotations = Metrics.get(Metrics.Counter.RBTREE_ROTATIONS);
+        event.rbtreeRecolorings = Metrics.get(Metrics.Counter.RBTREE_RECOLORINGS);
+        event.sparseVectorHops = Metrics.get(Metrics.Counter.SPARSE_VECTOR_HOPS);
+        event.filterSavedWalks = Metrics.get(Metrics.Counter.FILTER_SAVED_WALKS);
+        event.filterFalsePositives = Metrics.get(Metrics.Counter.FILTER_FALSE_POSITIVES);
+        event.commit();
+    }
+}
@@ -0,0 +1,29 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one {@code RBTree.insertNode} call.
+ */
+@Name("metrics.RBTreeInsert")
+@Label("Red-Black Tree Insert")
+@Category({"Algorithms", "Trees"})
+@Description("Insertion of a key into a red-black tree")
+@Threshold("10 us")
+public class RBTreeInsertEvent extends Event {
+
+    @Label("Depth")
+    @Description("Nodes on the path from the root to the parent of the new node")
+    public int depth;
+
+    @Label("Rotations")
+    public int rotations;
+
+    @Label("Recolorings")
+    public int recolorings;
+}
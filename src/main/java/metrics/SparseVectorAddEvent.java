@@ -0,0 +1,33 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one {@code SparseVector.add} call.
+ */
+@Name("metrics.SparseVectorAdd")
+@Label("Sparse Vector Add")
+@Category({"Algorithms", "Vectors"})
+@Description("Addition of one sparse vector to another")
+@Threshold("10 us")
+public class SparseVectorAddEvent extends Event {
+
+    @Label("Dimensions")
+    public int dimensions;
+
+    @Label("Nodes Visited")
+    @Description("Steps from one node to the next in both vectors")
+    public int nodesVisited;
+
+    @Label("Nodes Inserted")
+    public int nodesInserted;
+
+    @Label("Size")
+    @Description("Non-zero elements of the result")
+    public int size;
+}
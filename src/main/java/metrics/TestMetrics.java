@@ -0,0 +1,93 @@
+package metrics;
+
+import BTrees.BTree;
+import RBTrees.RBTree;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searches.BinarySearch;
+import sorts.InsertionSort;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMetrics {
+
+    @Test
+    public void testCountersFollowTheFlag() {
+        Metrics.reset();
+        InsertionSort.sort(new int[]{3, 2, 1});
+        BinarySearch.search(new int[]{1, 2, 3, 4, 5, 6, 7}, 7);
+        Metrics.count(Metrics.Counter.BTREE_SPLITS);
+        Metrics.add(Metrics.Counter.BTREE_SPLITS, 2);
+
+        if (Metrics.ENABLED) {
+            // 3, 2, 1 needs three comparisons and five writes, 7 is found on the third probe
+            assertEquals(3, Metrics.get(Metrics.Counter.COMPARISONS));
+            assertEquals(5, Metrics.get(Metrics.Counter.MOVES));
+            assertEquals(3, Metrics.get(Metrics.Counter.SEARCH_PROBES));
+            assertEquals(3, Metrics.get(Metrics.Counter.BTREE_SPLITS));
+        } else {
+            for (Metrics.Counter counter : Metrics.Counter.values()) {
+                assertEquals(0, Metrics.get(counter));
+            }
+        }
+
+        Map<Metrics.Counter, Long> snapshot = Metrics.snapshot();
+        assertEquals(Metrics.Counter.values().length, snapshot.size());
+        Metrics.reset();
+        assertEquals(0, Metrics.get(Metrics.Counter.BTREE_SPLITS));
+    }
+
+    @Test
+    public void testTreeEventsAreRecorded(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("metrics.RBTreeInsert").withThreshold(Duration.ZERO);
+            recording.enable("metrics.BTreeInsert").withThreshold(Duration.ZERO);
+            recording.enable("metrics.BTreeSearch").withThreshold(Duration.ZERO);
+            recording.start();
+            RBTree<Integer> rbTree = new RBTree<>();
+            BTree bTree = new BTree(2);
+            for (int i = 0; i < 100; i++) {
+                rbTree.insertNode(i);
+                bTree.insert(i);
+            }
+            bTree.search(42);
+            bTree.search(-1);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> rbInserts = ofType(events, "metrics.RBTreeInsert");
+        assertEquals(100, rbInserts.size());
+        // Ascending keys always end at the rightmost node and need rotations to stay balanced
+        assertTrue(rbInserts.stream().mapToInt(e -> e.getInt("rotations")).sum() > 0);
+        assertTrue(rbInserts.stream().mapToInt(e -> e.getInt("depth")).max().getAsInt() <= 2 * 7);
+
+        List<RecordedEvent> bInserts = ofType(events, "metrics.BTreeInsert");
+        assertEquals(100, bInserts.size());
+        assertTrue(bInserts.stream().mapToInt(e -> e.getInt("splits")).sum() > 0);
+
+        List<RecordedEvent> searches = ofType(events, "metrics.BTreeSearch");
+        assertEquals(2, searches.size());
+        RecordedEvent hit = searches.get(0).getInt("key") == 42 ? searches.get(0) : searches.get(1);
+        RecordedEvent miss = hit == searches.get(0) ? searches.get(1) : searches.get(0);
+        assertTrue(hit.getBoolean("found"));
+        assertFalse(miss.getBoolean("found"));
+        // A miss always ends in a leaf, so it visits every level
+        assertEquals(bInserts.get(bInserts.size() - 1).getInt("depth"), miss.getInt("nodesVisited"));
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -1,18 +1,25 @@
 package searches;
 
+import metrics.Metrics;
+
 public class BinarySearch {
 
         public static int search(int[] arr, int x) {
             int l = 0, r = arr.length - 1;
+            int probes = 0;
             while (l <= r) {
                 int m = (l + r) / 2;
-                if (arr[m] == x)
+                probes++;
+                if (arr[m] == x) {
+                    Metrics.add(Metrics.Counter.SEARCH_PROBES, probes);
                     return m;
+                }
                 if (arr[m] < x)
                     l = m + 1;
                 else
                     r = m - 1;
             }
+            Metrics.add(Metrics.Counter.SEARCH_PROBES, probes);
             return -1;
         }
 
@@ -20,6 +27,7 @@ public class BinarySearch {
             if (i > j)
                 return -1;
             int m = (i + j) / 2;
+            Metrics.count(Metrics.Counter.SEARCH_PROBES);
             if (arr[m] == key)
                 return m;
             if (arr[m] < key)
@@ -0,0 +1,186 @@
+package searches;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+
+// Immutable sorted set of ints in Elias-Fano encoding, a compressed replacement for a sorted
+// int[] that is only kept around for BinarySearch.
+//
+// The values are stored as offsets from the minimum. With n values and a universe of U
+// offsets, every offset is split into its lowest l = floor(log2(U / n)) bits and the rest:
+//
+//   - the low parts are packed into a long[] with l bits each
+//   - the high parts are stored in unary in a RankSelectBitVector: value i sets bit
+//     high(i) + i, so the bucket of high part h starts after the h-th zero
+//
+// This takes at most 2 + log2(U / n) bits per value plus the rank/select tables of the high
+// parts. The IDs 0..999999 take 2.4 instead of 32 bits each. get(i) is one select1, and a
+// search is one select0 followed by a scan of a single bucket, which holds one or two values
+// on average.
+public class EliasFanoSet implements Iterable<Integer> {
+
+    private final int size;
+    private final long min;
+    private final long max;
+    private final int lowBits;
+    private final long lowMask;
+    private final long[] lows;
+    private final RankSelectBitVector highs;
+
+    // sortedValues must be in ascending order without duplicates, it is not kept
+    public EliasFanoSet(int[] sortedValues) {
+        size = sortedValues.length;
+        for (int i = 1; i < size; i++) {
+            if (sortedValues[i - 1] >= sortedValues[i]) {
+                throw new IllegalArgumentException(
+                        "The values must be sorted in ascending order without duplicates");
+            }
+        }
+        min = size == 0 ? 0 : sortedValues[0];
+        max = size == 0 ? -1 : sortedValues[size - 1];
+        long universe = max - min + 1;
+        lowBits = size == 0 || universe / size == 0 ? 0 : 63 - Long.numberOfLeadingZeros(universe / size);
+        lowMask = (1L << lowBits) - 1;
+        lows = new long[(int) (((long) size * lowBits + 63) >>> 6)];
+        // One bit per value plus one zero per bucket
+        long highLength = size == 0 ? 0 : size + ((max - min) >>> lowBits) + 1;
+        long[] highWords = new long[(int) ((highLength + 63) >>> 6)];
+        for (int i = 0; i < size; i++) {
+            long offset = sortedValues[i] - min;
+            writeLow(i, offset & lowMask);
+            long position = (offset >>> lowBits) + i;
+            highWords[(int) (position >>> 6)] |= 1L << position;
+        }
+        highs = new RankSelectBitVector(highWords, highLength);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // The i-th smallest value
+    public int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " is not in [0, " + size + ")");
+        }
+        long high = highs.select1(i) - i;
+        return (int) (min + (high << lowBits | readLow(i)));
+    }
+
+    public boolean contains(int x) {
+        return indexOf(x) >= 0;
+    }
+
+    // Index of x, or -1 if it is missing. Same result as BinarySearch.search on the array.
+    public int indexOf(int x) {
+        if (x < min || x > max) {
+            return -1;
+        }
+        int i = ceilingIndex(x - min);
+        return i < size && get(i) == x ? i : -1;
+    }
+
+    // Smallest value greater than x
+    public OptionalInt successor(int x) {
+        if (size == 0 || x >= max) {
+            return OptionalInt.empty();
+        }
+        if (x < min) {
+            return OptionalInt.of((int) min);
+        }
+        return OptionalInt.of(get(ceilingIndex(x + 1L - min)));
+    }
+
+    // Index of the first value whose offset is >= offset, for 0 <= offset <= max - min
+    private int ceilingIndex(long offset) {
+        long bucket = offset >>> lowBits;
+        // Start of the bucket and the number of values in the buckets before it
+        long position = bucket == 0 ? 0 : highs.select0(bucket - 1) + 1;
+        long i = position - bucket;
+        while (true) {
+            position = highs.nextOne(position);
+            // A value from a later bucket is always larger, so the scan ends in this bucket
+            // or at the first value of the next one
+            long value = (position - i) << lowBits | readLow((int) i);
+            if (value >= offset) {
+                return (int) i;
+            }
+            i++;
+            position++;
+        }
+    }
+
+    private long readLow(int i) {
+        if (lowBits == 0) {
+            return 0;
+        }
+        long bit = (long) i * lowBits;
+        int word = (int) (bit >>> 6), shift = (int) (bit & 63);
+        long value = lows[word] >>> shift;
+        if (shift + lowBits > Long.SIZE) {
+            value |= lows[word + 1] << (Long.SIZE - shift);
+        }
+        return value & lowMask;
+    }
+
+    private void writeLow(int i, long value) {
+        if (lowBits == 0) {
+            return;
+        }
+        long bit = (long) i * lowBits;
+        int word = (int) (bit >>> 6), shift = (int) (bit & 63);
+        lows[word] |= value << shift;
+        if (shift + lowBits > Long.SIZE) {
+            lows[word + 1] |= value >>> (Long.SIZE - shift);
+        }
+    }
+
+    // Size of the low parts, the high parts and the rank/select tables in bits
+    public long sizeInBits() {
+        return (long) Long.SIZE * lows.length + highs.sizeInBits();
+    }
+
+    public double bitsPerElement() {
+        return size == 0 ? 0 : (double) sizeInBits() / size;
+    }
+
+    public int[] toArray() {
+        int[] values = new int[size];
+        PrimitiveIterator.OfInt iterator = iterator();
+        for (int i = 0; i < size; i++) {
+            values[i] = iterator.nextInt();
+        }
+        return values;
+    }
+
+    // Decodes the values in order without any select, the next value is at the next one bit
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int i = 0;
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (i >= size) {
+                    throw new NoSuchElementException();
+                }
+                position = highs.nextOne(position);
+                int value = (int) (min + ((position - i) << lowBits | readLow(i)));
+                i++;
+                position++;
+                return value;
+            }
+        };
+    }
+}
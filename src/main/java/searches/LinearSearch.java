@@ -1,12 +1,17 @@
 package searches;
 
+import metrics.Metrics;
+
 public class LinearSearch {
 
     public static int search(int[] arr, int x) {
         for (int i = 0; i < arr.length; i++) {
-            if (arr[i] == x)
+            if (arr[i] == x) {
+                Metrics.add(Metrics.Counter.SEARCH_PROBES, i + 1);
                 return i;
+            }
         }
+        Metrics.add(Metrics.Counter.SEARCH_PROBES, arr.length);
         return -1;
     }
 
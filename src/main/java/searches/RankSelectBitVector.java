@@ -0,0 +1,172 @@
+package searches;
+
+// Immutable bit vector with constant-time rank and fast select:
+//
+//   - rank1(i): number of ones in [0, i). Every block of 512 bits (eight longs, one cache
+//     line) stores the number of ones before it, so a rank is one table lookup plus at most
+//     eight popcounts.
+//   - select1(k): position of the k-th one (0-based). The block of every 512th one is sampled;
+//     a select starts at the sampled block, walks the block counts forward, then the words,
+//     and finally finds the bit inside the last word.
+//   - select0(k): the same for zeros.
+//
+// The rank and select tables add about 19% to the bits themselves: one long per block and
+// one int per 512 ones and per 512 zeros.
+public class RankSelectBitVector {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / Long.SIZE;
+    private static final int SAMPLE_RATE = 512;
+
+    private final long[] words;
+    private final long length;
+    // blockRanks[b] = ones before block b, one extra entry holds the total
+    private final long[] blockRanks;
+    // Block that contains the (j * SAMPLE_RATE)-th one, respectively zero
+    private final int[] oneSamples;
+    private final int[] zeroSamples;
+
+    // Uses words as bits [0, length), bit i is bit (i % 64) of words[i / 64]. Bits past length
+    // must be zero. The array is not copied and must not be changed afterwards.
+    public RankSelectBitVector(long[] words, long length) {
+        if (length < 0 || length > (long) words.length * Long.SIZE) {
+            throw new IllegalArgumentException("The length " + length + " does not fit into " + words.length + " words");
+        }
+        this.words = words;
+        this.length = length;
+        int blocks = (int) ((length + BLOCK_BITS - 1) / BLOCK_BITS);
+        blockRanks = new long[blocks + 1];
+        for (int b = 0; b < blocks; b++) {
+            long ones = 0;
+            for (int w = b * BLOCK_WORDS; w < Math.min(words.length, (b + 1) * BLOCK_WORDS); w++) {
+                ones += Long.bitCount(words[w]);
+            }
+            blockRanks[b + 1] = blockRanks[b] + ones;
+        }
+        long ones = blockRanks[blocks];
+        oneSamples = sample(ones, true);
+        zeroSamples = sample(length - ones, false);
+    }
+
+    private int[] sample(long count, boolean one) {
+        int[] samples = new int[(int) ((count + SAMPLE_RATE - 1) / SAMPLE_RATE) + 1];
+        int block = 0;
+        for (int j = 0; j < samples.length - 1; j++) {
+            long k = (long) j * SAMPLE_RATE;
+            while (countBefore(block + 1, one) <= k) {
+                block++;
+            }
+            samples[j] = block;
+        }
+        samples[samples.length - 1] = Math.max(0, blockRanks.length - 2);
+        return samples;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long ones() {
+        return blockRanks[blockRanks.length - 1];
+    }
+
+    public boolean get(long i) {
+        checkIndex(i, length);
+        return (words[(int) (i >>> 6)] & 1L << i) != 0;
+    }
+
+    // Number of ones in [0, i)
+    public long rank1(long i) {
+        if (i < 0 || i > length) {
+            throw new IndexOutOfBoundsException("Position " + i + " is not in [0, " + length + "]");
+        }
+        int word = (int) (i >>> 6);
+        int block = (int) (i / BLOCK_BITS);
+        long rank = blockRanks[block];
+        for (int w = block * BLOCK_WORDS; w < word; w++) {
+            rank += Long.bitCount(words[w]);
+        }
+        if ((i & 63) != 0) {
+            rank += Long.bitCount(words[word] & (1L << i) - 1);
+        }
+        return rank;
+    }
+
+    // Number of zeros in [0, i)
+    public long rank0(long i) {
+        return i - rank1(i);
+    }
+
+    // Position of the k-th one, counting from 0
+    public long select1(long k) {
+        checkIndex(k, ones());
+        return select(k, true);
+    }
+
+    // Position of the k-th zero, counting from 0
+    public long select0(long k) {
+        checkIndex(k, length - ones());
+        return select(k, false);
+    }
+
+    // First position >= from that holds a one, or -1
+    public long nextOne(long from) {
+        if (from >= length) {
+            return -1;
+        }
+        int w = (int) (from >>> 6);
+        long word = words[w] & -1L << from;
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        long position = (long) w * Long.SIZE + Long.numberOfTrailingZeros(word);
+        return position < length ? position : -1;
+    }
+
+    private long select(long k, boolean one) {
+        int[] samples = one ? oneSamples : zeroSamples;
+        int block = samples[(int) (k / SAMPLE_RATE)];
+        while (countBefore(block + 1, one) <= k) {
+            block++;
+        }
+        long remaining = k - countBefore(block, one);
+        for (int w = block * BLOCK_WORDS; ; w++) {
+            long word = one ? words[w] : ~words[w];
+            int count = Long.bitCount(word);
+            if (remaining < count) {
+                return (long) w * Long.SIZE + selectInWord(word, (int) remaining);
+            }
+            remaining -= count;
+        }
+    }
+
+    // Ones (or zeros) in the blocks before block
+    private long countBefore(int block, boolean one) {
+        if (block >= blockRanks.length) {
+            return Long.MAX_VALUE;
+        }
+        return one ? blockRanks[block] : Math.min((long) block * BLOCK_BITS, length) - blockRanks[block];
+    }
+
+    // Position of the r-th set bit of word, clears the lower ones one at a time
+    private static int selectInWord(long word, int r) {
+        for (int i = 0; i < r; i++) {
+            word &= word - 1;
+        }
+        return Long.numberOfTrailingZeros(word);
+    }
+
+    private static void checkIndex(long i, long size) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " is not in [0, " + size + ")");
+        }
+    }
+
+    // Size of the bits and the tables in bits
+    public long sizeInBits() {
+        return (long) Long.SIZE * (words.length + blockRanks.length) + (long) Integer.SIZE * (oneSamples.length + zeroSamples.length);
+    }
+}
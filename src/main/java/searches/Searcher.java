@@ -0,0 +1,15 @@
+package searches;
+
+public class Searcher {
+
+    // Below this length a linear scan beats binary search, it has no unpredictable branches
+    public static final int LINEAR_MAX = 32;
+
+    // Finds x in a sorted array and returns its index, or -1 if it is missing
+    public static int search(int[] sortedArray, int x) {
+        if (sortedArray.length <= LINEAR_MAX) {
+            return LinearSearch.search(sortedArray, x);
+        }
+        return BinarySearch.search(sortedArray, x);
+    }
+}
@@ -0,0 +1,113 @@
+package searches;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSearches {
+
+    private static final Random RANDOM = new Random(11);
+
+    @Test
+    public void testRankSelect() {
+        for (double density : new double[]{0.001, 0.1, 0.5, 0.9, 0.999}) {
+            int length = 20000 + RANDOM.nextInt(64);
+            long[] words = new long[(length + 63) / 64];
+            boolean[] bits = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                if (RANDOM.nextDouble() < density) {
+                    bits[i] = true;
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+            RankSelectBitVector vector = new RankSelectBitVector(words, length);
+            long ones = 0, zeros = 0;
+            for (int i = 0; i < length; i++) {
+                assertEquals(ones, vector.rank1(i));
+                assertEquals(bits[i], vector.get(i));
+                if (bits[i]) {
+                    assertEquals(i, vector.select1(ones++));
+                } else {
+                    assertEquals(i, vector.select0(zeros++));
+                }
+            }
+            assertEquals(ones, vector.rank1(length));
+            assertEquals(ones, vector.ones());
+            assertThrows(IndexOutOfBoundsException.class, () -> vector.select1(vector.ones()));
+        }
+    }
+
+    @Test
+    public void testNextOne() {
+        long[] words = new long[4];
+        words[0] = 1L << 3;
+        words[3] = 1L << 10;
+        RankSelectBitVector vector = new RankSelectBitVector(words, 256);
+        assertEquals(3, vector.nextOne(0));
+        assertEquals(3, vector.nextOne(3));
+        assertEquals(3 * 64 + 10, vector.nextOne(4));
+        assertEquals(-1, vector.nextOne(3 * 64 + 11));
+        assertEquals(-1, vector.nextOne(256));
+    }
+
+    @Test
+    public void testEliasFanoMatchesBinarySearch() {
+        for (int bound : new int[]{100, 1 << 20, Integer.MAX_VALUE}) {
+            int[] values = RANDOM.ints(5000, -bound, bound).sorted().distinct().toArray();
+            EliasFanoSet set = new EliasFanoSet(values);
+            assertEquals(values.length, set.size());
+            assertArrayEquals(values, set.toArray());
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(values[i], set.get(i));
+                assertEquals(i, set.indexOf(values[i]));
+            }
+            for (int i = 0; i < 5000; i++) {
+                int x = (int) (RANDOM.nextLong(2L * bound) - bound);
+                int index = Arrays.binarySearch(values, x);
+                assertEquals(index >= 0 ? index : -1, set.indexOf(x));
+                int next = index >= 0 ? index + 1 : -index - 1;
+                OptionalInt expected = next < values.length ? OptionalInt.of(values[next]) : OptionalInt.empty();
+                assertEquals(expected, set.successor(x));
+            }
+        }
+    }
+
+    @Test
+    public void testEliasFanoEdges() {
+        EliasFanoSet empty = new EliasFanoSet(new int[0]);
+        assertFalse(empty.contains(0));
+        assertEquals(OptionalInt.empty(), empty.successor(Integer.MIN_VALUE));
+        assertFalse(empty.iterator().hasNext());
+
+        EliasFanoSet set = new EliasFanoSet(new int[]{Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE});
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.contains(Integer.MAX_VALUE));
+        assertFalse(set.contains(1));
+        assertEquals(OptionalInt.of(-1), set.successor(Integer.MIN_VALUE));
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), set.successor(0));
+        assertEquals(OptionalInt.empty(), set.successor(Integer.MAX_VALUE));
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        assertEquals(Integer.MIN_VALUE, iterator.nextInt());
+        assertEquals(-1, iterator.nextInt());
+
+        assertThrows(IllegalArgumentException.class, () -> new EliasFanoSet(new int[]{1, 1}));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(4));
+    }
+
+    @Test
+    public void testEliasFanoDenseIds() {
+        int[] ids = new int[1000000];
+        Arrays.setAll(ids, i -> i);
+        EliasFanoSet set = new EliasFanoSet(ids);
+        assertTrue(set.bitsPerElement() < 3, "bits per element " + set.bitsPerElement());
+        for (int i = 0; i < ids.length; i += 997) {
+            assertEquals(i, set.indexOf(i));
+        }
+        assertEquals(-1, set.indexOf(ids.length));
+    }
+}
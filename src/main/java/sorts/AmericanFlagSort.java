@@ -0,0 +1,205 @@
+package sorts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// In-place MSD radix sort (McIlroy, Bostic and McIlroy, "Engineering Radix Sort") over 8-bit
+// digits, starting with the top digit whose sign bit is flipped so negative numbers come
+// first. Unlike the LSD RadixSort it needs no second array, only 256 counters per level.
+//
+// For every range: count the digits, turn the counts into bucket boundaries and permute the
+// elements into their buckets by following swap cycles, then sort every bucket by the next
+// digit. Large ranges count their digits in parallel, one histogram per block that are added
+// up afterwards. Buckets are sorted as independent fork/join tasks, and buckets of at most
+// NETWORK_MAX elements are finished with a SortingNetwork.
+public class AmericanFlagSort {
+
+    static final int NETWORK_MAX = SortingNetwork.MAX_SIZE;
+    // Below this size a range is sorted in the current task, forking would cost more
+    private static final int SEQUENTIAL_MAX = 1 << 14;
+    // Block size of the parallel histogram
+    private static final int HISTOGRAM_BLOCK = 1 << 16;
+
+    public static void main(String[] args) {
+        int n = 1 << 24;
+        int[] input = new Random(42).ints(n).toArray();
+        for (int round = 0; round < 3; round++) {
+            int[] array = input.clone();
+            long start = System.currentTimeMillis();
+            sort(array);
+            long flag = System.currentTimeMillis() - start;
+            array = input.clone();
+            start = System.currentTimeMillis();
+            RadixSort.sort(array);
+            long radix = System.currentTimeMillis() - start;
+            array = input.clone();
+            start = System.currentTimeMillis();
+            Arrays.parallelSort(array);
+            long parallel = System.currentTimeMillis() - start;
+            System.out.println("American flag sort " + flag + " ms, LSD radix sort " + radix
+                    + " ms, Arrays.parallelSort " + parallel + " ms");
+        }
+    }
+
+    public static void sort(int[] arr) {
+        sort(arr, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(int[] arr, ForkJoinPool pool) {
+        if (arr.length <= NETWORK_MAX) {
+            SortingNetwork.sort(arr, 0, arr.length);
+            return;
+        }
+        pool.invoke(new BucketSort(arr, 0, arr.length, 24));
+    }
+
+    // Sorts arr[from, to) on the current thread
+    public static void sortSequential(int[] arr, int from, int to) {
+        sortRange(arr, from, to, 24, false);
+    }
+
+    private static final class BucketSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private final int shift;
+
+        BucketSort(int[] arr, int from, int to, int shift) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+        }
+
+        @Override
+        protected void compute() {
+            sortRange(arr, from, to, shift, true);
+        }
+    }
+
+    private static void sortRange(int[] arr, int from, int to, int shift, boolean parallel) {
+        int n = to - from;
+        if (n <= NETWORK_MAX) {
+            SortingNetwork.sort(arr, from, to);
+            return;
+        }
+        parallel &= n > SEQUENTIAL_MAX;
+        int flip = shift == 24 ? 0x80 : 0;
+        int[] counts = parallel && n > 2 * HISTOGRAM_BLOCK
+                ? new Histogram(arr, from, to, shift, flip).invoke()
+                : histogram(arr, from, to, shift, flip);
+
+        // All elements share this digit, continue with the next one without moving anything
+        if (counts[digit(arr[from], shift, flip)] == n) {
+            if (shift > 0) {
+                sortRange(arr, from, to, shift - 8, parallel);
+            }
+            return;
+        }
+
+        int[] next = new int[256];
+        int[] end = new int[256];
+        int offset = from;
+        for (int d = 0; d < 256; d++) {
+            next[d] = offset;
+            offset += counts[d];
+            end[d] = offset;
+        }
+        permute(arr, next, end, shift, flip);
+        if (shift == 0) {
+            // The last digit decides everything, buckets hold equal values
+            return;
+        }
+
+        List<BucketSort> forks = parallel ? new ArrayList<>() : null;
+        int start = from;
+        for (int d = 0; d < 256; d++) {
+            int bucketEnd = end[d];
+            int size = bucketEnd - start;
+            if (size > 1) {
+                if (parallel && size > SEQUENTIAL_MAX) {
+                    forks.add(new BucketSort(arr, start, bucketEnd, shift - 8));
+                } else {
+                    sortRange(arr, start, bucketEnd, shift - 8, false);
+                }
+            }
+            start = bucketEnd;
+        }
+        if (parallel && !forks.isEmpty()) {
+            RecursiveAction.invokeAll(forks);
+        }
+    }
+
+    // Moves every element into its bucket. Each element is read once and written once: take
+    // the first misplaced element of a bucket, swap it into the next free slot of its own
+    // bucket and continue with the element that was there until the cycle closes.
+    private static void permute(int[] arr, int[] next, int[] end, int shift, int flip) {
+        for (int d = 0; d < 256; d++) {
+            while (next[d] < end[d]) {
+                int value = arr[next[d]];
+                int digit = digit(value, shift, flip);
+                while (digit != d) {
+                    int displaced = arr[next[digit]];
+                    arr[next[digit]++] = value;
+                    value = displaced;
+                    digit = digit(value, shift, flip);
+                }
+                arr[next[d]++] = value;
+            }
+        }
+    }
+
+    private static int[] histogram(int[] arr, int from, int to, int shift, int flip) {
+        int[] counts = new int[256];
+        for (int i = from; i < to; i++) {
+            counts[digit(arr[i], shift, flip)]++;
+        }
+        return counts;
+    }
+
+    private static int digit(int value, int shift, int flip) {
+        return ((value >>> shift) & 0xFF) ^ flip;
+    }
+
+    // Splits the range into blocks, counts every block on its own and adds the histograms up
+    private static final class Histogram extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int from;
+        private final int to;
+        private final int shift;
+        private final int flip;
+
+        Histogram(int[] arr, int from, int to, int shift, int flip) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+            this.flip = flip;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= HISTOGRAM_BLOCK) {
+                return histogram(arr, from, to, shift, flip);
+            }
+            int middle = (from + to) >>> 1;
+            Histogram right = new Histogram(arr, middle, to, shift, flip);
+            right.fork();
+            int[] counts = new Histogram(arr, from, middle, shift, flip).compute();
+            int[] rightCounts = right.join();
+            for (int d = 0; d < 256; d++) {
+                counts[d] += rightCounts[d];
+            }
+            return counts;
+        }
+    }
+}
@@ -6,28 +6,44 @@ public class CountingSort {
             return;
         }
 
-        // Schritt 1: Finde das Maximum
+        // Schritt 1: Finde Minimum und Maximum
+        int min = array[0];
         int max = array[0];
         for (int num : array) {
             if (num > max) {
                 max = num;
             }
+            if (num < min) {
+                min = num;
+            }
+        }
+        countingSort(array, min, max);
+    }
+
+    // Variante für bekannte Wertebereiche, alle Elemente müssen in [min, max] liegen
+    public static void countingSort(int[] array, int min, int max) {
+        if (array == null || array.length == 0) {
+            return;
+        }
+        long range = (long) max - min + 1;
+        if (range > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Value range too large for counting sort: " + range);
         }
 
-        // Schritt 2: Erstelle die Buckets
-        int[] count = new int[max + 1];
+        // Schritt 2: Erstelle die Buckets, Bucket i zählt den Wert min + i
+        int[] count = new int[(int) range];
 
         // Schritt 3: Verteile die Elemente in die Buckets
         for (int num : array) {
-            count[num]++;
+            count[num - min]++;
         }
 
         // Jetzt kannst du die Elemente aus den Buckets zurück ins ursprüngliche Array kopieren.
         int index = 0;
-        for (int i = 0; i <= max; i++) {
-            while (count[i] > 0) {
-                array[index++] = i;
-                count[i]--;
+        for (int i = 0; i < count.length; i++) {
+            int value = min + i;
+            for (int c = count[i]; c > 0; c--) {
+                array[index++] = value;
             }
         }
     }
@@ -0,0 +1,308 @@
+package sorts;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+// Sorts a file of ints that does not fit into memory. The file holds raw 4-byte big-endian
+// ints, the format of DataOutputStream.writeInt.
+//
+// 1. Run generation: the input is read sequentially in chunks through a FileChannel. Each
+//    chunk is sorted in memory with AmericanFlagSort on a pool of worker threads and written
+//    to a temporary run file. The sort is in place, so no second chunk-sized buffer is needed,
+//    and it takes linear time whatever order the chunk arrives in. At most one chunk per
+//    thread is held at a time, which is what the memory budget pays for.
+// 2. Merging: up to fanIn runs are merged at a time with a KWayMerge, reading each run and
+//    writing the result through large direct buffers, so every file is accessed sequentially.
+//    With more runs than fanIn, intermediate runs are merged again until one pass is left.
+public class ExternalSort {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    public static final int DEFAULT_FAN_IN = 64;
+    private static final int MIN_MEMORY_BUDGET = 64 << 10;
+    private static final int MIN_BUFFER_BYTES = 16 << 10;
+    private static final int MAX_BUFFER_BYTES = 8 << 20;
+
+    private final long memoryBudget;
+    private final int fanIn;
+    private final Path tempDirectory;
+    private final int threads;
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 26;
+        Path input = Files.createTempFile("external-sort-input", ".bin");
+        Path output = Files.createTempFile("external-sort-output", ".bin");
+        try {
+            Random random = new Random(42);
+            try (IntWriter writer = new IntWriter(input, MAX_BUFFER_BYTES)) {
+                for (int i = 0; i < count; i++) {
+                    writer.write(random.nextInt());
+                }
+            }
+            ExternalSort sort = new ExternalSort(32L << 20, 16, input.getParent(), Runtime.getRuntime().availableProcessors());
+            long start = System.currentTimeMillis();
+            sort.sort(input, output);
+            long end = System.currentTimeMillis();
+            System.out.println("External sort of " + (count * 4L >> 20) + " MiB took " + (end - start) + " milliseconds");
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    public ExternalSort() {
+        this(DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN, Path.of(System.getProperty("java.io.tmpdir")),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    // memoryBudget: bytes for in-memory runs and merge buffers, fanIn: runs merged at once,
+    // tempDirectory: where the run files go, threads: runs sorted in parallel
+    public ExternalSort(long memoryBudget, int fanIn, Path tempDirectory, int threads) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("The memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("The fan-in must be at least 2");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed");
+        }
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+        this.threads = threads;
+    }
+
+    public void sort(Path input, Path output) throws IOException {
+        long size = Files.size(input);
+        if (size % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("The input size " + size + " is not a multiple of 4 bytes");
+        }
+        // Every temporary file, so that all of them are removed even if the sort fails
+        List<Path> temporary = new ArrayList<>();
+        try {
+            List<Path> runs = new ArrayList<>();
+            createRuns(input, runs, temporary);
+            if (runs.isEmpty()) {
+                Files.write(output, new byte[0]);
+                return;
+            }
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+                    temporary.add(run);
+                    merged.add(run);
+                    merge(group, run);
+                    for (Path done : group) {
+                        Files.delete(done);
+                    }
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } finally {
+            for (Path file : temporary) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Reads the input chunk by chunk on this thread and sorts and writes the chunks on the pool
+    private void createRuns(Path input, List<Path> runs, List<Path> temporary) throws IOException {
+        int runLength = (int) Math.min(Integer.MAX_VALUE - 8, memoryBudget / (2L * Integer.BYTES * threads));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // Each permit is the memory of one chunk, so reading waits for a finished run
+        Semaphore chunks = new Semaphore(threads);
+        List<Future<?>> pending = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferBytes(threads + 1));
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long remaining = channel.size() / Integer.BYTES;
+            while (remaining > 0) {
+                int length = (int) Math.min(runLength, remaining);
+                remaining -= length;
+                chunks.acquireUninterruptibly();
+                int[] chunk = new int[length];
+                read(channel, buffer, chunk);
+                Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+                temporary.add(run);
+                runs.add(run);
+                pending.add(pool.submit(() -> {
+                    try {
+                        AmericanFlagSort.sortSequential(chunk, 0, chunk.length);
+                        try (IntWriter writer = new IntWriter(run, bufferBytes(threads + 1))) {
+                            writer.write(chunk);
+                        }
+                        return null;
+                    } finally {
+                        chunks.release();
+                    }
+                }));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sorting runs", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void read(FileChannel channel, ByteBuffer buffer, int[] chunk) throws IOException {
+        int position = 0;
+        while (position < chunk.length) {
+            buffer.clear();
+            buffer.limit(Math.min(buffer.capacity(), (chunk.length - position) * Integer.BYTES));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of input");
+                }
+            }
+            buffer.flip();
+            IntBuffer ints = buffer.asIntBuffer();
+            int count = ints.remaining();
+            ints.get(chunk, position, count);
+            position += count;
+        }
+    }
+
+    // Merges sorted runs through the loser tree of a KWayMerge
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int bufferBytes = bufferBytes(runs.size() + 1);
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try (IntWriter writer = new IntWriter(output, bufferBytes)) {
+            for (Path run : runs) {
+                readers.add(new RunReader(run, bufferBytes));
+            }
+            KWayMerge merge = new KWayMerge(readers);
+            while (merge.hasNext()) {
+                writer.write(merge.nextInt());
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    // Splits the budget among the given number of buffers, as multiples of 4 bytes
+    private int bufferBytes(int buffers) {
+        long bytes = memoryBudget / 4 / buffers;
+        return (int) Math.max(MIN_BUFFER_BYTES, Math.min(MAX_BUFFER_BYTES, bytes)) & ~3;
+    }
+
+    // Reads a run file sequentially through a direct buffer
+    static final class RunReader implements PrimitiveIterator.OfInt, AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunReader(Path file, int bufferBytes) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bufferBytes);
+            buffer.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (buffer.remaining() >= Integer.BYTES) {
+                return true;
+            }
+            try {
+                buffer.compact();
+                while (buffer.position() < Integer.BYTES && channel.read(buffer) >= 0) {
+                    // Keep reading until at least one int is available or the file ends
+                }
+                buffer.flip();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.remaining() >= Integer.BYTES;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.getInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Writes ints sequentially through a direct buffer
+    static final class IntWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        IntWriter(Path file, int bufferBytes) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer = ByteBuffer.allocateDirect(bufferBytes);
+        }
+
+        void write(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void write(int[] values) throws IOException {
+            int position = 0;
+            while (position < values.length) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush();
+                }
+                int count = Math.min(values.length - position, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, position, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                position += count;
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package sorts;
+
+import metrics.Metrics;
+
+public class HeapSort {
+
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    // Sorts arr[from, to) with a binary max-heap, O(n log n) in the worst case and in place
+    public static void sort(int[] arr, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, from, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int max = arr[from];
+            arr[from] = arr[from + end];
+            arr[from + end] = max;
+            siftDown(arr, from, 0, end);
+        }
+    }
+
+    // Moves the element at heap index i down until both children are smaller
+    private static void siftDown(int[] arr, int base, int i, int size) {
+        int value = arr[base + i];
+        int child;
+        long comparisons = 0, moves = 1;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size) {
+                comparisons++;
+                if (arr[base + child + 1] > arr[base + child]) {
+                    child++;
+                }
+            }
+            comparisons++;
+            if (value >= arr[base + child]) {
+                break;
+            }
+            arr[base + i] = arr[base + child];
+            moves++;
+            i = child;
+        }
+        arr[base + i] = value;
+        Metrics.add(Metrics.Counter.COMPARISONS, comparisons);
+        Metrics.add(Metrics.Counter.MOVES, moves);
+    }
+}
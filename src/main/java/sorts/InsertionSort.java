@@ -1,9 +1,37 @@
 package sorts;
 
+import metrics.Metrics;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
 public class InsertionSort {
     public static void sort(int[] arr) {
-        for (int i = 1; i < arr.length; i++) {
+        sort(arr, 0, arr.length);
+    }
+
+    // Sorts arr[from, to)
+    public static void sort(int[] arr, int from, int to) {
+        long comparisons = 0, moves = 0;
+        for (int i = from + 1; i < to; i++) {
             int j = i - 1, key = arr[i];
+            while (j >= from && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j -= 1;
+            }
+            arr[j + 1] = key;
+            int shifts = i - 1 - j;
+            comparisons += shifts + (j >= from ? 1 : 0);
+            moves += shifts + 1;
+        }
+        Metrics.add(Metrics.Counter.COMPARISONS, comparisons);
+        Metrics.add(Metrics.Counter.MOVES, moves);
+    }
+
+    public static void sort(long[] arr) {
+        for (int i = 1; i < arr.length; i++) {
+            int j = i - 1;
+            long key = arr[i];
             while (j >= 0 && arr[j] > key) {
                 arr[j + 1] = arr[j];
                 j -= 1;
@@ -11,4 +39,54 @@ public class InsertionSort {
             arr[j + 1] = key;
         }
     }
+
+    // Same order as Arrays.sort: -0.0 before 0.0 and NaN last
+    public static void sort(double[] arr) {
+        for (int i = 1; i < arr.length; i++) {
+            int j = i - 1;
+            double key = arr[i];
+            while (j >= 0 && Double.compare(arr[j], key) > 0) {
+                arr[j + 1] = arr[j];
+                j -= 1;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] arr) {
+        sort(arr, Comparator.naturalOrder());
+    }
+
+    public static <T> void sort(T[] arr, Comparator<? super T> comparator) {
+        for (int i = 1; i < arr.length; i++) {
+            int j = i - 1;
+            T key = arr[i];
+            while (j >= 0 && comparator.compare(arr[j], key) > 0) {
+                arr[j + 1] = arr[j];
+                j -= 1;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    // Extracts every key once and moves keys and elements together
+    @SuppressWarnings("unchecked")
+    public static <T, K extends Comparable<? super K>> void sortBy(T[] arr, Function<? super T, ? extends K> keyExtractor) {
+        Object[] keys = new Object[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = keyExtractor.apply(arr[i]);
+        }
+        for (int i = 1; i < arr.length; i++) {
+            int j = i - 1;
+            K key = (K) keys[i];
+            T element = arr[i];
+            while (j >= 0 && ((K) keys[j]).compareTo(key) > 0) {
+                keys[j + 1] = keys[j];
+                arr[j + 1] = arr[j];
+                j -= 1;
+            }
+            keys[j + 1] = key;
+            arr[j + 1] = element;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package sorts;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+// Lazily merges any number of sorted int sources into one sorted stream. Nothing is copied
+// up front: every call takes the next value from whichever source has the smallest head, so
+// sources can be iterators that produce their values as they arrive.
+//
+// The smallest head is found with a loser tree (tournament tree). Every inner node keeps the
+// source that lost the match at that node, and the overall winner sits at tree[0]. After the
+// winner advances, only the path from its leaf to the root is replayed, one comparison per
+// level and no swaps between siblings, so each value costs log2(k) comparisons, about half of
+// what a binary heap needs. Equal values come out in the order of their sources.
+public class KWayMerge implements PrimitiveIterator.OfInt {
+
+    // Head of an exhausted source, larger than every int
+    private static final long EXHAUSTED = Long.MAX_VALUE;
+
+    private final PrimitiveIterator.OfInt[] sources;
+    private final long[] heads;
+    // tree[0] is the winner, tree[1, k) the loser of the match at that node. Source i is the
+    // leaf k + i, so the parent of node n is n / 2.
+    private final int[] tree;
+
+    public KWayMerge(List<? extends PrimitiveIterator.OfInt> sources) {
+        this(sources.toArray(new PrimitiveIterator.OfInt[0]));
+    }
+
+    public KWayMerge(PrimitiveIterator.OfInt... sources) {
+        int k = sources.length;
+        this.sources = sources.clone();
+        this.heads = new long[k];
+        this.tree = new int[Math.max(k, 1)];
+        for (int i = 0; i < k; i++) {
+            heads[i] = sources[i].hasNext() ? sources[i].nextInt() : EXHAUSTED;
+        }
+        build();
+    }
+
+    public static KWayMerge of(int[]... sortedArrays) {
+        PrimitiveIterator.OfInt[] sources = new PrimitiveIterator.OfInt[sortedArrays.length];
+        for (int i = 0; i < sortedArrays.length; i++) {
+            sources[i] = new ArraySource(sortedArrays[i]);
+        }
+        return new KWayMerge(sources);
+    }
+
+    // Merges sorted arrays into one new array
+    public static int[] merge(int[]... sortedArrays) {
+        long total = 0;
+        for (int[] array : sortedArrays) {
+            total += array.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The merged array would have " + total + " elements");
+        }
+        int[] result = new int[(int) total];
+        of(sortedArrays).drainTo(result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return heads.length > 0 && heads[tree[0]] != EXHAUSTED;
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int winner = tree[0];
+        int value = (int) heads[winner];
+        PrimitiveIterator.OfInt source = sources[winner];
+        heads[winner] = source.hasNext() ? source.nextInt() : EXHAUSTED;
+        replay(winner);
+        return value;
+    }
+
+    // Writes up to length values to out starting at offset and returns how many were written,
+    // less than length only if all sources are exhausted
+    public int drainTo(int[] out, int offset, int length) {
+        int written = 0;
+        while (written < length && hasNext()) {
+            out[offset + written++] = nextInt();
+        }
+        return written;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        while (hasNext()) {
+            action.accept(nextInt());
+        }
+    }
+
+    // Plays all matches bottom-up once, winners[n] is the winner of the subtree at node n
+    private void build() {
+        int k = heads.length;
+        if (k == 0) {
+            return;
+        }
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[k + i] = i;
+        }
+        for (int node = k - 1; node >= 1; node--) {
+            int a = winners[2 * node], b = winners[2 * node + 1];
+            boolean aWins = less(a, b);
+            winners[node] = aWins ? a : b;
+            tree[node] = aWins ? b : a;
+        }
+        tree[0] = k == 1 ? 0 : winners[1];
+    }
+
+    // The head of source changed, replay its matches on the way to the root
+    private void replay(int source) {
+        int winner = source;
+        for (int node = (heads.length + source) >>> 1; node > 0; node >>>= 1) {
+            int loser = tree[node];
+            if (less(loser, winner)) {
+                tree[node] = winner;
+                winner = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    // Ties go to the lower source, which keeps equal values in source order
+    private boolean less(int a, int b) {
+        return heads[a] < heads[b] || heads[a] == heads[b] && a < b;
+    }
+
+    private static final class ArraySource implements PrimitiveIterator.OfInt {
+        private final int[] array;
+        private int position;
+
+        ArraySource(int[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < array.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (position >= array.length) {
+                throw new NoSuchElementException();
+            }
+            return array[position++];
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package sorts;
 
+import metrics.Metrics;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
 public class MergeSort {
+
+    // Ranges up to this size are sorted by a SortingNetwork instead of being split further
+    static final int NETWORK_MAX = 16;
+
     public static void sort(int[] arr) {
         sort(arr, 0, arr.length - 1);
     }
 
     public static void sort(int[] arr, int l, int r) {
-        if (l < r) {
+        if (r - l < NETWORK_MAX) {
+            if (l < r)
+                SortingNetwork.sort(arr, l, r + 1);
+        } else {
             int m = (l + r) / 2;
             sort(arr, l, m);
             sort(arr, m + 1, r);
@@ -27,9 +39,297 @@ public class MergeSort {
             else
                 arr[k++] = right[j++];
         }
+        Metrics.add(Metrics.Counter.COMPARISONS, i + j);
+        Metrics.add(Metrics.Counter.MOVES, 2L * (r - l + 1));
         while (i < left.length)
             arr[k++] = left[i++];
         while (j < right.length)
             arr[k++] = right[j++];
     }
+
+    // Natural merge sort: merges the ascending runs the input already has, pairwise and
+    // bottom up, instead of splitting it in halves. Takes O(n log r) for r runs, so an input
+    // with a handful of descents is sorted in a few linear passes.
+    public static void naturalSort(int[] arr) {
+        int n = arr.length;
+        int runs = 1;
+        for (int i = 1; i < n; i++) {
+            if (arr[i - 1] > arr[i])
+                runs++;
+        }
+        if (n < 2 || runs == 1)
+            return;
+        int[] starts = new int[runs + 1];
+        for (int i = 1, run = 1; i < n; i++) {
+            if (arr[i - 1] > arr[i])
+                starts[run++] = i;
+        }
+        starts[runs] = n;
+        int[] from = arr, to = new int[n];
+        while (runs > 1) {
+            int merged = 0;
+            for (int r = 0; r < runs; r += 2) {
+                int lo = starts[r], m = starts[Math.min(r + 1, runs)], hi = starts[Math.min(r + 2, runs)];
+                mergeRuns(from, to, lo, m, hi);
+                starts[merged++] = lo;
+            }
+            starts[merged] = n;
+            runs = merged;
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != arr)
+            System.arraycopy(from, 0, arr, 0, n);
+    }
+
+    // Merges from[lo, m) and from[m, hi) into to[lo, hi)
+    private static void mergeRuns(int[] from, int[] to, int lo, int m, int hi) {
+        int i = lo, j = m, k = lo;
+        while (i < m && j < hi) {
+            if (from[i] <= from[j])
+                to[k++] = from[i++];
+            else
+                to[k++] = from[j++];
+        }
+        Metrics.add(Metrics.Counter.COMPARISONS, (i - lo) + (j - m));
+        Metrics.add(Metrics.Counter.MOVES, hi - lo);
+        System.arraycopy(from, i, to, k, m - i);
+        System.arraycopy(from, j, to, k + m - i, hi - j);
+    }
+
+    // The variants below allocate one buffer for the whole sort, hold only the left half in
+    // it while merging, and skip merges whose halves are already in order
+
+    public static void sort(long[] arr) {
+        if (arr.length > 1) {
+            sort(arr, new long[arr.length / 2 + 1], 0, arr.length - 1);
+        }
+    }
+
+    private static void sort(long[] arr, long[] buffer, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            sort(arr, buffer, l, m);
+            sort(arr, buffer, m + 1, r);
+            if (arr[m] <= arr[m + 1])
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(arr, l, buffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (buffer[i] <= arr[j])
+                    arr[k++] = buffer[i++];
+                else
+                    arr[k++] = arr[j++];
+            }
+            System.arraycopy(buffer, i, arr, k, leftLength - i);
+        }
+    }
+
+    // Same order as Arrays.sort: -0.0 before 0.0 and NaN last
+    public static void sort(double[] arr) {
+        if (arr.length > 1) {
+            sort(arr, new double[arr.length / 2 + 1], 0, arr.length - 1);
+        }
+    }
+
+    private static void sort(double[] arr, double[] buffer, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            sort(arr, buffer, l, m);
+            sort(arr, buffer, m + 1, r);
+            if (Double.compare(arr[m], arr[m + 1]) <= 0)
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(arr, l, buffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (Double.compare(buffer[i], arr[j]) <= 0)
+                    arr[k++] = buffer[i++];
+                else
+                    arr[k++] = arr[j++];
+            }
+            System.arraycopy(buffer, i, arr, k, leftLength - i);
+        }
+    }
+
+    public static <T extends Comparable<? super T>> void sort(T[] arr) {
+        sort(arr, Comparator.naturalOrder());
+    }
+
+    // Stable
+    public static <T> void sort(T[] arr, Comparator<? super T> comparator) {
+        if (arr.length > 1) {
+            sort(arr, new Object[arr.length / 2 + 1], comparator, 0, arr.length - 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void sort(T[] arr, Object[] buffer, Comparator<? super T> comparator, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            sort(arr, buffer, comparator, l, m);
+            sort(arr, buffer, comparator, m + 1, r);
+            if (comparator.compare(arr[m], arr[m + 1]) <= 0)
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(arr, l, buffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (comparator.compare((T) buffer[i], arr[j]) <= 0)
+                    arr[k++] = (T) buffer[i++];
+                else
+                    arr[k++] = arr[j++];
+            }
+            System.arraycopy(buffer, i, arr, k, leftLength - i);
+        }
+    }
+
+    // Stable argsort: returns the permutation that sorts keys, see Permutation. A copy of the
+    // keys is merged together with the positions, so the merges read both sequentially
+    // instead of looking up keys[order[i]]. The keys are left unchanged.
+    public static int[] argsort(int[] keys) {
+        int[] order = Permutation.identity(keys.length);
+        if (keys.length > 1) {
+            int half = keys.length / 2 + 1;
+            sortKeys(keys.clone(), order, new int[half], new int[half], 0, keys.length - 1);
+        }
+        return order;
+    }
+
+    public static int[] argsort(long[] keys) {
+        int[] order = Permutation.identity(keys.length);
+        if (keys.length > 1) {
+            int half = keys.length / 2 + 1;
+            sortKeys(keys.clone(), order, new long[half], new int[half], 0, keys.length - 1);
+        }
+        return order;
+    }
+
+    // Same order as Arrays.sort: -0.0 before 0.0 and NaN last
+    public static int[] argsort(double[] keys) {
+        int[] order = Permutation.identity(keys.length);
+        if (keys.length > 1) {
+            int half = keys.length / 2 + 1;
+            sortKeys(keys.clone(), order, new double[half], new int[half], 0, keys.length - 1);
+        }
+        return order;
+    }
+
+    private static void sortKeys(int[] keys, int[] order, int[] keyBuffer, int[] orderBuffer, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            sortKeys(keys, order, keyBuffer, orderBuffer, l, m);
+            sortKeys(keys, order, keyBuffer, orderBuffer, m + 1, r);
+            if (keys[m] <= keys[m + 1])
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(keys, l, keyBuffer, 0, leftLength);
+            System.arraycopy(order, l, orderBuffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (keyBuffer[i] <= keys[j]) {
+                    order[k] = orderBuffer[i];
+                    keys[k++] = keyBuffer[i++];
+                } else {
+                    order[k] = order[j];
+                    keys[k++] = keys[j++];
+                }
+            }
+            System.arraycopy(keyBuffer, i, keys, k, leftLength - i);
+            System.arraycopy(orderBuffer, i, order, k, leftLength - i);
+        }
+    }
+
+    private static void sortKeys(long[] keys, int[] order, long[] keyBuffer, int[] orderBuffer, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            sortKeys(keys, order, keyBuffer, orderBuffer, l, m);
+            sortKeys(keys, order, keyBuffer, orderBuffer, m + 1, r);
+            if (keys[m] <= keys[m + 1])
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(keys, l, keyBuffer, 0, leftLength);
+            System.arraycopy(order, l, orderBuffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (keyBuffer[i] <= keys[j]) {
+                    order[k] = orderBuffer[i];
+                    keys[k++] = keyBuffer[i++];
+                } else {
+                    order[k] = order[j];
+                    keys[k++] = keys[j++];
+                }
+            }
+            System.arraycopy(keyBuffer, i, keys, k, leftLength - i);
+            System.arraycopy(orderBuffer, i, order, k, leftLength - i);
+        }
+    }
+
+    private static void sortKeys(double[] keys, int[] order, double[] keyBuffer, int[] orderBuffer, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            sortKeys(keys, order, keyBuffer, orderBuffer, l, m);
+            sortKeys(keys, order, keyBuffer, orderBuffer, m + 1, r);
+            if (Double.compare(keys[m], keys[m + 1]) <= 0)
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(keys, l, keyBuffer, 0, leftLength);
+            System.arraycopy(order, l, orderBuffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (Double.compare(keyBuffer[i], keys[j]) <= 0) {
+                    order[k] = orderBuffer[i];
+                    keys[k++] = keyBuffer[i++];
+                } else {
+                    order[k] = order[j];
+                    keys[k++] = keys[j++];
+                }
+            }
+            System.arraycopy(keyBuffer, i, keys, k, leftLength - i);
+            System.arraycopy(orderBuffer, i, order, k, leftLength - i);
+        }
+    }
+
+    // Stable. Every key is extracted once; the merges then move the keys together with the
+    // original positions, and the elements themselves are moved only once at the end
+    public static <T, K extends Comparable<? super K>> void sortBy(T[] arr, Function<? super T, ? extends K> keyExtractor) {
+        if (arr.length < 2)
+            return;
+        Object[] keys = new Object[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = keyExtractor.apply(arr[i]);
+        }
+        int[] order = Permutation.identity(arr.length);
+        MergeSort.<K>sortKeys(keys, order, new Object[arr.length / 2 + 1], new int[arr.length / 2 + 1], 0, arr.length - 1);
+        Permutation.apply(arr, order);
+    }
+
+    // keys holds only Ks, they are kept in an Object[] like the buffer in sort(T[], Comparator)
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<? super K>> void sortKeys(Object[] keys, int[] order, Object[] keyBuffer, int[] orderBuffer, int l, int r) {
+        if (l < r) {
+            int m = (l + r) >>> 1;
+            MergeSort.<K>sortKeys(keys, order, keyBuffer, orderBuffer, l, m);
+            MergeSort.<K>sortKeys(keys, order, keyBuffer, orderBuffer, m + 1, r);
+            if (((K) keys[m]).compareTo((K) keys[m + 1]) <= 0)
+                return;
+            int leftLength = m - l + 1;
+            System.arraycopy(keys, l, keyBuffer, 0, leftLength);
+            System.arraycopy(order, l, orderBuffer, 0, leftLength);
+            int i = 0, j = m + 1, k = l;
+            while (i < leftLength && j <= r) {
+                if (((K) keyBuffer[i]).compareTo((K) keys[j]) <= 0) {
+                    order[k] = orderBuffer[i];
+                    keys[k++] = keyBuffer[i++];
+                } else {
+                    order[k] = order[j];
+                    keys[k++] = keys[j++];
+                }
+            }
+            System.arraycopy(keyBuffer, i, keys, k, leftLength - i);
+            System.arraycopy(orderBuffer, i, order, k, leftLength - i);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package sorts;
+
+// Permutations as returned by the argsort methods: order[i] is the old position of the element
+// that belongs at position i. Applying one to parallel columns sorts all of them by the key
+// column that produced it, without boxing rows into objects.
+public class Permutation {
+
+    // Rearranges the array so that arr[i] becomes the old arr[order[i]]
+    public static <T> void apply(T[] arr, int[] order) {
+        checkLength(arr.length, order);
+        T[] old = arr.clone();
+        for (int i = 0; i < order.length; i++) {
+            arr[i] = old[order[i]];
+        }
+    }
+
+    public static void apply(int[] order, int[]... columns) {
+        apply(order, columns, new double[0][]);
+    }
+
+    public static void apply(int[] order, double[]... columns) {
+        apply(order, new int[0][], columns);
+    }
+
+    // Applies the permutation to every column. All columns of a type share one copy of the old
+    // values, and each column is gathered in its own pass, so every pass writes sequentially
+    // and reads only that column instead of jumping between all of them.
+    public static void apply(int[] order, int[][] intColumns, double[][] doubleColumns) {
+        for (int[] column : intColumns) {
+            checkLength(column.length, order);
+        }
+        for (double[] column : doubleColumns) {
+            checkLength(column.length, order);
+        }
+        int n = order.length;
+        if (intColumns.length > 0) {
+            int[] old = new int[n];
+            for (int[] column : intColumns) {
+                System.arraycopy(column, 0, old, 0, n);
+                for (int i = 0; i < n; i++) {
+                    column[i] = old[order[i]];
+                }
+            }
+        }
+        if (doubleColumns.length > 0) {
+            double[] old = new double[n];
+            for (double[] column : doubleColumns) {
+                System.arraycopy(column, 0, old, 0, n);
+                for (int i = 0; i < n; i++) {
+                    column[i] = old[order[i]];
+                }
+            }
+        }
+    }
+
+    public static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    // The permutation that undoes order: inverse[order[i]] == i
+    public static int[] inverse(int[] order) {
+        int[] inverse = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            inverse[order[i]] = i;
+        }
+        return inverse;
+    }
+
+    private static void checkLength(int length, int[] order) {
+        if (length != order.length) {
+            throw new IllegalArgumentException("A column of length " + length
+                    + " does not match a permutation of length " + order.length);
+        }
+    }
+}
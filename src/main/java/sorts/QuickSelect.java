@@ -0,0 +1,108 @@
+package sorts;
+
+// Selection without sorting everything:
+//
+//   - select finds the k-th smallest element in O(n) expected time by partitioning and only
+//     following the side that contains position k (quickselect)
+//   - if the partitions keep coming out lopsided, the pivot is chosen by median of medians
+//     instead, which guarantees a 30/70 split and bounds the worst case to O(n)
+//   - partialSort moves the k smallest elements to the front in order, O(n + k log k)
+public class QuickSelect {
+
+    static final int NETWORK_MAX = 16;
+    // Number of partitions that shrink the range by less than a quarter before the
+    // median-of-medians pivot takes over
+    private static final int BAD_SPLITS_MAX = 2;
+
+    // Returns the k-th smallest element (0-based). Afterwards arr[k] holds it, everything
+    // before is <= and everything after is >= it.
+    public static int select(int[] arr, int k) {
+        return select(arr, 0, arr.length, k);
+    }
+
+    // Same as select(arr, k) within arr[from, to), k is an index in that range
+    public static int select(int[] arr, int from, int to, int k) {
+        if (k < from || k >= to) {
+            throw new IllegalArgumentException("k = " + k + " is not in [" + from + ", " + to + ")");
+        }
+        int lo = from, hi = to - 1;
+        int badSplits = 0;
+        int[] bounds = new int[2];
+        while (hi - lo + 1 > NETWORK_MAX) {
+            int size = hi - lo + 1;
+            int pivot = badSplits >= BAD_SPLITS_MAX ? medianOfMedians(arr, lo, hi) : medianOfThree(arr, lo, hi);
+            partition(arr, lo, hi, pivot, bounds);
+            if (k < bounds[0]) {
+                hi = bounds[0] - 1;
+            } else if (k > bounds[1]) {
+                lo = bounds[1] + 1;
+            } else {
+                return arr[k];
+            }
+            if (hi - lo + 1 > size - size / 4) {
+                badSplits++;
+            }
+        }
+        SortingNetwork.sort(arr, lo, hi + 1);
+        return arr[k];
+    }
+
+    public static int median(int[] arr) {
+        if (arr.length == 0) {
+            throw new IllegalArgumentException("The array is empty");
+        }
+        return select(arr, (arr.length - 1) / 2);
+    }
+
+    // Moves the k smallest elements to arr[0, k) in ascending order, the rest is left unordered
+    public static void partialSort(int[] arr, int k) {
+        if (k < 0 || k > arr.length) {
+            throw new IllegalArgumentException("k = " + k + " is not in [0, " + arr.length + "]");
+        }
+        if (k == 0) {
+            return;
+        }
+        select(arr, k - 1);
+        QuickSort.sort(arr, 0, k - 1);
+    }
+
+    // Three-way partitioning of arr[lo, hi] around the value pivot, afterwards
+    // arr[bounds[0], bounds[1]] holds all elements equal to it
+    private static void partition(int[] arr, int lo, int hi, int pivot, int[] bounds) {
+        int lt = lo, gt = hi, i = lo;
+        while (i <= gt) {
+            int value = arr[i];
+            if (value < pivot) {
+                arr[i++] = arr[lt];
+                arr[lt++] = value;
+            } else if (value > pivot) {
+                arr[i] = arr[gt];
+                arr[gt--] = value;
+            } else {
+                i++;
+            }
+        }
+        bounds[0] = lt;
+        bounds[1] = gt;
+    }
+
+    private static int medianOfThree(int[] arr, int lo, int hi) {
+        int a = arr[lo], b = arr[(lo + hi) >>> 1], c = arr[hi];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    // Sorts groups of five, moves their medians to the front of the range and selects the
+    // median of those. The result has at least 30% of the range on either side.
+    private static int medianOfMedians(int[] arr, int lo, int hi) {
+        int medians = lo;
+        for (int group = lo; group <= hi; group += 5) {
+            int end = Math.min(group + 5, hi + 1);
+            SortingNetwork.sort(arr, group, end);
+            int median = (group + end - 1) >>> 1;
+            int tmp = arr[medians];
+            arr[medians++] = arr[median];
+            arr[median] = tmp;
+        }
+        return select(arr, lo, medians, (lo + medians - 1) >>> 1);
+    }
+}
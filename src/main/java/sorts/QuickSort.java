@@ -0,0 +1,265 @@
+package sorts;
+
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+// Dual-pivot quicksort (Yaroslavskiy) as an introsort:
+//
+//   - two pivots, the 2nd and 4th of five evenly spaced samples, split a range into
+//     < p1, p1..p2 and > p2
+//   - if both pivots are equal the range has many duplicates of that value, so it is split
+//     three ways into < p, == p and > p instead and the middle is already done
+//   - ranges of at most NETWORK_MAX elements go to a SortingNetwork
+//   - after 2 * log2(n) levels of partitioning a range falls back to HeapSort, which bounds
+//     the worst case to O(n log n)
+//
+// parallelSort sorts the parts of large ranges as fork/join tasks.
+public class QuickSort {
+
+    static final int NETWORK_MAX = 32;
+    // Below this size a range is sorted in the current task
+    private static final int SEQUENTIAL_MAX = 1 << 13;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22;
+        Random random = new Random(42);
+        String[] distributions = {"random", "sorted", "reversed", "few unique", "nearly sorted"};
+        int[][] inputs = new int[distributions.length][];
+        for (int d = 0; d < distributions.length; d++) {
+            int[] input = new int[n];
+            for (int i = 0; i < n; i++) {
+                input[i] = switch (d) {
+                    case 0 -> random.nextInt();
+                    case 1, 4 -> i;
+                    case 2 -> n - i;
+                    default -> random.nextInt(10);
+                };
+            }
+            for (int i = 0; d == 4 && i < n / 100; i++) {
+                swap(input, random.nextInt(n), random.nextInt(n));
+            }
+            inputs[d] = input;
+        }
+        // The first rounds only warm up the JIT
+        for (int round = 0; round < 3; round++) {
+            for (int d = 0; d < distributions.length; d++) {
+                long quick = time(QuickSort::sort, inputs[d]);
+                long parallel = time(QuickSort::parallelSort, inputs[d]);
+                long merge = time(MergeSort::sort, inputs[d]);
+                long arrays = time(Arrays::sort, inputs[d]);
+                System.out.println(distributions[d] + ": quick sort " + quick + " ms, parallel quick sort " + parallel
+                        + " ms, merge sort " + merge + " ms, Arrays.sort " + arrays + " ms");
+            }
+        }
+    }
+
+    private static long time(Consumer<int[]> sort, int[] input) {
+        int[] array = input.clone();
+        long start = System.currentTimeMillis();
+        sort.accept(array);
+        return System.currentTimeMillis() - start;
+    }
+
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    // Sorts arr[from, to)
+    public static void sort(int[] arr, int from, int to) {
+        sort(arr, from, to - 1, depthLimit(to - from), new int[3]);
+    }
+
+    public static void parallelSort(int[] arr) {
+        parallelSort(arr, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelSort(int[] arr, ForkJoinPool pool) {
+        pool.invoke(new ParallelSort(arr, 0, arr.length - 1, depthLimit(arr.length)));
+    }
+
+    private static int depthLimit(int n) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+    }
+
+    private static void sort(int[] arr, int lo, int hi, int depth, int[] bounds) {
+        // Recurse into the two smaller parts and loop on the largest, keeps the stack shallow
+        while (hi - lo + 1 > NETWORK_MAX) {
+            if (depth-- == 0) {
+                HeapSort.sort(arr, lo, hi + 1);
+                return;
+            }
+            partition(arr, lo, hi, bounds);
+            int lt = bounds[0], gt = bounds[1];
+            boolean middleSorted = bounds[2] == 1;
+            int left = lt - lo, middle = middleSorted ? 0 : gt - lt - 1, right = hi - gt;
+            if (left >= middle && left >= right) {
+                sortPart(arr, lt + 1, gt - 1, middleSorted, depth, bounds);
+                sort(arr, gt + 1, hi, depth, bounds);
+                hi = lt - 1;
+            } else if (right >= middle) {
+                sort(arr, lo, lt - 1, depth, bounds);
+                sortPart(arr, lt + 1, gt - 1, middleSorted, depth, bounds);
+                lo = gt + 1;
+            } else {
+                sort(arr, lo, lt - 1, depth, bounds);
+                sort(arr, gt + 1, hi, depth, bounds);
+                lo = lt + 1;
+                hi = gt - 1;
+            }
+        }
+        SortingNetwork.sort(arr, lo, hi + 1);
+    }
+
+    private static void sortPart(int[] arr, int lo, int hi, boolean sorted, int depth, int[] bounds) {
+        if (!sorted) {
+            sort(arr, lo, hi, depth, bounds);
+        }
+    }
+
+    // Partitions arr[lo, hi] and stores the pivot positions lt and gt in bounds[0] and
+    // bounds[1]: everything left of lt is smaller, everything right of gt is larger. bounds[2]
+    // is 1 if the elements between lt and gt are all equal and need no further sorting.
+    static void partition(int[] arr, int lo, int hi, int[] bounds) {
+        choosePivots(arr, lo, hi);
+        int p1 = arr[lo], p2 = arr[hi];
+        if (p1 == p2) {
+            partitionThreeWay(arr, lo, hi, p1, bounds);
+            return;
+        }
+        int lt = lo + 1, gt = hi - 1, i = lt;
+        long comparisons = 0, moves = 4;
+        while (i <= gt) {
+            int value = arr[i];
+            if (value < p1) {
+                arr[i++] = arr[lt];
+                arr[lt++] = value;
+                comparisons++;
+                moves += 2;
+            } else if (value > p2) {
+                // Skip elements at the right end that already belong there
+                while (arr[gt] > p2 && gt > i) {
+                    gt--;
+                    comparisons++;
+                }
+                arr[i] = arr[gt];
+                arr[gt--] = value;
+                value = arr[i];
+                comparisons += 4;
+                moves += 2;
+                if (value < p1) {
+                    arr[i] = arr[lt];
+                    arr[lt++] = value;
+                    moves += 2;
+                }
+                i++;
+            } else {
+                comparisons += 2;
+                i++;
+            }
+        }
+        // Move the pivots between the parts
+        arr[lo] = arr[--lt];
+        arr[lt] = p1;
+        arr[hi] = arr[++gt];
+        arr[gt] = p2;
+        Metrics.add(Metrics.Counter.COMPARISONS, comparisons);
+        Metrics.add(Metrics.Counter.MOVES, moves);
+        bounds[0] = lt;
+        bounds[1] = gt;
+        bounds[2] = 0;
+    }
+
+    // Dijkstra's three-way partitioning around a single pivot value
+    private static void partitionThreeWay(int[] arr, int lo, int hi, int pivot, int[] bounds) {
+        int lt = lo, gt = hi, i = lo;
+        long comparisons = 0, moves = 0;
+        while (i <= gt) {
+            int value = arr[i];
+            if (value < pivot) {
+                arr[i++] = arr[lt];
+                arr[lt++] = value;
+                comparisons++;
+                moves += 2;
+            } else if (value > pivot) {
+                arr[i] = arr[gt];
+                arr[gt--] = value;
+                comparisons += 2;
+                moves += 2;
+            } else {
+                comparisons += 2;
+                i++;
+            }
+        }
+        Metrics.add(Metrics.Counter.COMPARISONS, comparisons);
+        Metrics.add(Metrics.Counter.MOVES, moves);
+        // arr[lt, gt] holds the pivot value, the callers sort arr[lo, lt - 1] and arr[gt + 1, hi]
+        bounds[0] = lt;
+        bounds[1] = gt;
+        bounds[2] = 1;
+    }
+
+    // Sorts five evenly spaced samples in place and moves the 2nd to lo and the 4th to hi
+    private static void choosePivots(int[] arr, int lo, int hi) {
+        int sixth = (hi - lo + 1) / 6;
+        int e3 = (lo + hi) >>> 1;
+        int e2 = e3 - sixth, e1 = e2 - sixth, e4 = e3 + sixth, e5 = e4 + sixth;
+        int[] samples = {e1, e2, e3, e4, e5};
+        for (int i = 1; i < samples.length; i++) {
+            int value = arr[samples[i]];
+            int j = i - 1;
+            while (j >= 0 && arr[samples[j]] > value) {
+                arr[samples[j + 1]] = arr[samples[j]];
+                j--;
+            }
+            arr[samples[j + 1]] = value;
+        }
+        swap(arr, lo, e2);
+        swap(arr, hi, e4);
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int tmp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = tmp;
+    }
+
+    private static final class ParallelSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int lo;
+        private final int hi;
+        private final int depth;
+
+        ParallelSort(int[] arr, int lo, int hi, int depth) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo + 1 <= SEQUENTIAL_MAX || depth == 0) {
+                sort(arr, lo, hi, depth, new int[3]);
+                return;
+            }
+            int[] bounds = new int[3];
+            partition(arr, lo, hi, bounds);
+            int lt = bounds[0], gt = bounds[1];
+            if (bounds[2] == 1) {
+                invokeAll(new ParallelSort(arr, lo, lt - 1, depth - 1),
+                        new ParallelSort(arr, gt + 1, hi, depth - 1));
+            } else {
+                invokeAll(new ParallelSort(arr, lo, lt - 1, depth - 1),
+                        new ParallelSort(arr, lt + 1, gt - 1, depth - 1),
+                        new ParallelSort(arr, gt + 1, hi, depth - 1));
+            }
+        }
+    }
+}
@@ -1,10 +1,218 @@
 package sorts;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
 public class RadixSort {
 
     public static void main(String[] args) {
         String[] arr = {"bcdef", "dbaqc", "abcde", "omadd", "bbbbb"};
     }
 
+    // LSD radix sort with four passes over 8-bit digits. The sign bit of the top digit is
+    // flipped so that negative numbers come first. All four histograms are built in one pass,
+    // and passes in which every element has the same digit are skipped.
+    public static void sort(int[] arr) {
+        // Four counting passes do not pay off for a handful of elements
+        if (arr.length <= SortingNetwork.MAX_SIZE) {
+            SortingNetwork.sort(arr, 0, arr.length);
+            return;
+        }
+        sort(arr, null);
+    }
+
+    // Same scheme with eight passes
+    public static void sort(long[] arr) {
+        sort(arr, null);
+    }
+
+    // Sorts in the order of Arrays.sort: -0.0 before 0.0 and NaN last. Every NaN comes back
+    // as the canonical Double.NaN.
+    public static void sort(double[] arr) {
+        long[] keys = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = sortableBits(arr[i]);
+        }
+        sort(keys, null);
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = fromSortableBits(keys[i]);
+        }
+    }
+
+    // Stable. The keys are extracted once and sorted together with the original positions,
+    // then every element is moved once.
+    public static <T> void sortByInt(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        int[] keys = new int[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = keyExtractor.applyAsInt(arr[i]);
+        }
+        int[] order = Permutation.identity(arr.length);
+        sort(keys, order);
+        Permutation.apply(arr, order);
+    }
+
+    public static <T> void sortByLong(T[] arr, ToLongFunction<? super T> keyExtractor) {
+        long[] keys = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = keyExtractor.applyAsLong(arr[i]);
+        }
+        int[] order = Permutation.identity(arr.length);
+        sort(keys, order);
+        Permutation.apply(arr, order);
+    }
+
+    public static <T> void sortByDouble(T[] arr, ToDoubleFunction<? super T> keyExtractor) {
+        long[] keys = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            keys[i] = sortableBits(keyExtractor.applyAsDouble(arr[i]));
+        }
+        int[] order = Permutation.identity(arr.length);
+        sort(keys, order);
+        Permutation.apply(arr, order);
+    }
+
+    // Stable argsort: returns the permutation that sorts keys, see Permutation. The keys are
+    // left unchanged.
+    public static int[] argsort(int[] keys) {
+        int[] order = Permutation.identity(keys.length);
+        sort(keys.clone(), order);
+        return order;
+    }
 
+    public static int[] argsort(long[] keys) {
+        int[] order = Permutation.identity(keys.length);
+        sort(keys.clone(), order);
+        return order;
+    }
+
+    public static int[] argsort(double[] keys) {
+        long[] bits = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            bits[i] = sortableBits(keys[i]);
+        }
+        int[] order = Permutation.identity(keys.length);
+        sort(bits, order);
+        return order;
+    }
+
+    // Maps a double to a long whose signed order matches Double.compare. Positive values keep
+    // their bits, negative values get all bits but the sign inverted.
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double fromSortableBits(long bits) {
+        return Double.longBitsToDouble(bits ^ ((bits >> 63) & Long.MAX_VALUE));
+    }
+
+    // Sorts the keys and, if order is not null, applies the same moves to order
+    private static void sort(int[] arr, int[] order) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[4][256];
+        for (int value : arr) {
+            counts[0][value & 0xFF]++;
+            counts[1][(value >>> 8) & 0xFF]++;
+            counts[2][(value >>> 16) & 0xFF]++;
+            counts[3][(value >>> 24) ^ 0x80]++;
+        }
+        int[] from = arr, to = new int[n];
+        int[] fromOrder = order, toOrder = order == null ? null : new int[n];
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass * 8;
+            int flip = pass == 3 ? 0x80 : 0;
+            int[] count = counts[pass];
+            if (count[((from[0] >>> shift) & 0xFF) ^ flip] == n) {
+                continue;
+            }
+            toOffsets(count);
+            if (order == null) {
+                for (int value : from) {
+                    to[count[((value >>> shift) & 0xFF) ^ flip]++] = value;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    int value = from[i];
+                    int position = count[((value >>> shift) & 0xFF) ^ flip]++;
+                    to[position] = value;
+                    toOrder[position] = fromOrder[i];
+                }
+                int[] swap = fromOrder;
+                fromOrder = toOrder;
+                toOrder = swap;
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != arr) {
+            System.arraycopy(from, 0, arr, 0, n);
+            if (order != null) {
+                System.arraycopy(fromOrder, 0, order, 0, n);
+            }
+        }
+    }
+
+    private static void sort(long[] arr, int[] order) {
+        int n = arr.length;
+        if (n < 2) {
+            return;
+        }
+        int[][] counts = new int[8][256];
+        for (long value : arr) {
+            for (int pass = 0; pass < 7; pass++) {
+                counts[pass][(int) (value >>> (pass * 8)) & 0xFF]++;
+            }
+            counts[7][(int) (value >>> 56) ^ 0x80]++;
+        }
+        long[] from = arr, to = new long[n];
+        int[] fromOrder = order, toOrder = order == null ? null : new int[n];
+        for (int pass = 0; pass < 8; pass++) {
+            int shift = pass * 8;
+            int flip = pass == 7 ? 0x80 : 0;
+            int[] count = counts[pass];
+            if (count[((int) (from[0] >>> shift) & 0xFF) ^ flip] == n) {
+                continue;
+            }
+            toOffsets(count);
+            if (order == null) {
+                for (long value : from) {
+                    to[count[((int) (value >>> shift) & 0xFF) ^ flip]++] = value;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    long value = from[i];
+                    int position = count[((int) (value >>> shift) & 0xFF) ^ flip]++;
+                    to[position] = value;
+                    toOrder[position] = fromOrder[i];
+                }
+                int[] swap = fromOrder;
+                fromOrder = toOrder;
+                toOrder = swap;
+            }
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != arr) {
+            System.arraycopy(from, 0, arr, 0, n);
+            if (order != null) {
+                System.arraycopy(fromOrder, 0, order, 0, n);
+            }
+        }
+    }
+
+    // Turns digit counts into the start offset of each digit
+    private static void toOffsets(int[] count) {
+        int offset = 0;
+        for (int digit = 0; digit < count.length; digit++) {
+            int c = count[digit];
+            count[digit] = offset;
+            offset += c;
+        }
+    }
 }
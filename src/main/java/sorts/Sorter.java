@@ -0,0 +1,280 @@
+package sorts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Random;
+
+// Facade that looks at an int array and hands it to the sort that suits it best:
+//
+//   - already sorted                               -> nothing to do
+//   - short                                        -> InsertionSort
+//   - only a few descents (nearly sorted)          -> MergeSort.naturalSort
+//   - value range small compared to the length     -> CountingSort
+//   - long                                         -> RadixSort
+//   - otherwise                                    -> MergeSort
+//
+// Where the crossovers lie depends on the machine, so the thresholds can be measured once by
+// calibrate() and cached in a properties file, see calibrated(Path).
+public class Sorter {
+
+    public enum Algorithm {NONE, INSERTION, NATURAL_MERGE, MERGE, COUNTING, RADIX}
+
+    // What the sorter found out about an input
+    public static final class Profile {
+        public final int length;
+        public final int min;
+        public final int max;
+        // Number of positions i with a[i] > a[i + 1], 0 means sorted
+        public final int descents;
+        // Share of a small sample that repeats a value of the same sample
+        public final double duplicateRatio;
+
+        Profile(int length, int min, int max, int descents, double duplicateRatio) {
+            this.length = length;
+            this.min = min;
+            this.max = max;
+            this.descents = descents;
+            this.duplicateRatio = duplicateRatio;
+        }
+
+        public long range() {
+            return (long) max - min + 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("length=%d, range=%d, descents=%d, duplicates=%.2f",
+                    length, range(), descents, duplicateRatio);
+        }
+    }
+
+    public static final int DEFAULT_INSERTION_MAX = 32;
+    public static final int DEFAULT_RADIX_MIN = 2048;
+    public static final int DEFAULT_COUNTING_RANGE_FACTOR = 8;
+    public static final int DEFAULT_NEARLY_SORTED_DESCENTS = 8;
+
+    private static final int SAMPLE_SIZE = 256;
+    // Changes of the JVM or the hardware invalidate cached thresholds
+    private static final String HOST = System.getProperty("os.arch") + "/" + System.getProperty("java.vm.version")
+            + "/" + Runtime.getRuntime().availableProcessors();
+
+    private final int insertionMax;
+    private final int radixMin;
+    private final int countingRangeFactor;
+    private final int nearlySortedDescents;
+
+    public Sorter() {
+        this(DEFAULT_INSERTION_MAX, DEFAULT_RADIX_MIN, DEFAULT_COUNTING_RANGE_FACTOR, DEFAULT_NEARLY_SORTED_DESCENTS);
+    }
+
+    public Sorter(int insertionMax, int radixMin, int countingRangeFactor, int nearlySortedDescents) {
+        if (insertionMax < 1 || radixMin < 1 || countingRangeFactor < 0 || nearlySortedDescents < 0) {
+            throw new IllegalArgumentException("Thresholds must not be negative");
+        }
+        this.insertionMax = insertionMax;
+        this.radixMin = radixMin;
+        this.countingRangeFactor = countingRangeFactor;
+        this.nearlySortedDescents = nearlySortedDescents;
+    }
+
+    // Loads the thresholds from the file, or measures and stores them if the file is
+    // missing, unreadable or was written on a different host
+    public static Sorter calibrated(Path file) {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+                if (HOST.equals(properties.getProperty("host"))) {
+                    return new Sorter(
+                            Integer.parseInt(properties.getProperty("insertionMax")),
+                            Integer.parseInt(properties.getProperty("radixMin")),
+                            Integer.parseInt(properties.getProperty("countingRangeFactor")),
+                            Integer.parseInt(properties.getProperty("nearlySortedDescents")));
+                }
+            } catch (IOException | RuntimeException e) {
+                // Fall through and calibrate again
+            }
+        }
+        Sorter sorter = calibrate();
+        sorter.save(file);
+        return sorter;
+    }
+
+    // Measures the crossover points on this machine, takes about a second
+    public static Sorter calibrate() {
+        Random random = new Random(1);
+        // Let the JIT compile all sorts before anything is measured
+        for (int i = 0; i < 3; i++) {
+            int[] warmUp = random.ints(1 << 14, 0, 1 << 20).toArray();
+            time(Algorithm.INSERTION, random.ints(256).toArray(), 20);
+            time(Algorithm.MERGE, warmUp, 2);
+            time(Algorithm.RADIX, warmUp, 2);
+            time(Algorithm.COUNTING, warmUp, 2);
+        }
+
+        int insertionMax = 8;
+        for (int n = 8; n <= 256; n += n / 2) {
+            int[] input = random.ints(n).toArray();
+            int repeats = (1 << 18) / n;
+            if (time(Algorithm.INSERTION, input, repeats) > time(Algorithm.MERGE, input, repeats)) {
+                break;
+            }
+            insertionMax = n;
+        }
+
+        int radixMin = 1 << 17;
+        for (int n = 64; n <= 1 << 17; n *= 2) {
+            int[] input = random.ints(n).toArray();
+            int repeats = Math.max(1, (1 << 19) / n);
+            if (time(Algorithm.RADIX, input, repeats) < time(Algorithm.MERGE, input, repeats)) {
+                radixMin = n;
+                break;
+            }
+        }
+
+        int countingRangeFactor = 0;
+        int n = 1 << 15;
+        for (int factor = 1; factor <= 64; factor *= 2) {
+            int[] input = random.ints(n, 0, factor * n).toArray();
+            if (time(Algorithm.COUNTING, input, 8) > time(Algorithm.RADIX, input, 8)) {
+                break;
+            }
+            countingRangeFactor = factor;
+        }
+        return new Sorter(insertionMax, radixMin, countingRangeFactor, DEFAULT_NEARLY_SORTED_DESCENTS);
+    }
+
+    public void save(Path file) {
+        Properties properties = new Properties();
+        properties.setProperty("host", HOST);
+        properties.setProperty("insertionMax", Integer.toString(insertionMax));
+        properties.setProperty("radixMin", Integer.toString(radixMin));
+        properties.setProperty("countingRangeFactor", Integer.toString(countingRangeFactor));
+        properties.setProperty("nearlySortedDescents", Integer.toString(nearlySortedDescents));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Sorter thresholds");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Sorts the array and returns the algorithm that was used
+    public Algorithm sort(int[] array) {
+        Profile profile = profile(array);
+        Algorithm algorithm = choose(profile);
+        run(algorithm, array, profile);
+        return algorithm;
+    }
+
+    public Algorithm choose(Profile profile) {
+        if (profile.descents == 0) {
+            return Algorithm.NONE;
+        }
+        if (profile.length <= insertionMax) {
+            return Algorithm.INSERTION;
+        }
+        // Few descents do not bound the inversions, a rotated array has a single descent and
+        // would be quadratic for InsertionSort. Merging the few runs is linear per pass.
+        if (profile.descents <= nearlySortedDescents) {
+            return Algorithm.NATURAL_MERGE;
+        }
+        // Many duplicates mean fewer distinct buckets to visit, so a wider range still pays off
+        long countingLimit = (long) countingRangeFactor * profile.length * (profile.duplicateRatio > 0.5 ? 2 : 1);
+        if (profile.range() <= countingLimit) {
+            return Algorithm.COUNTING;
+        }
+        return profile.length >= radixMin ? Algorithm.RADIX : Algorithm.MERGE;
+    }
+
+    // One linear pass for min, max and descents, plus a sorted sample for duplicates
+    public static Profile profile(int[] array) {
+        int n = array.length;
+        if (n == 0) {
+            return new Profile(0, 0, 0, 0, 0);
+        }
+        int min = array[0];
+        int max = array[0];
+        int descents = 0;
+        for (int i = 1; i < n; i++) {
+            int value = array[i];
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+            if (array[i - 1] > value) {
+                descents++;
+            }
+        }
+        int sampleSize = Math.min(n, SAMPLE_SIZE);
+        int[] sample = new int[sampleSize];
+        long stride = n / sampleSize;
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = array[(int) (i * stride)];
+        }
+        InsertionSort.sort(sample);
+        int duplicates = 0;
+        for (int i = 1; i < sampleSize; i++) {
+            if (sample[i] == sample[i - 1]) {
+                duplicates++;
+            }
+        }
+        return new Profile(n, min, max, descents, (double) duplicates / sampleSize);
+    }
+
+    public int getInsertionMax() {
+        return insertionMax;
+    }
+
+    public int getRadixMin() {
+        return radixMin;
+    }
+
+    public int getCountingRangeFactor() {
+        return countingRangeFactor;
+    }
+
+    public int getNearlySortedDescents() {
+        return nearlySortedDescents;
+    }
+
+    @Override
+    public String toString() {
+        return "Sorter[insertionMax=" + insertionMax + ", radixMin=" + radixMin
+                + ", countingRangeFactor=" + countingRangeFactor + ", nearlySortedDescents=" + nearlySortedDescents + "]";
+    }
+
+    private static void run(Algorithm algorithm, int[] array, Profile profile) {
+        switch (algorithm) {
+            case INSERTION -> InsertionSort.sort(array);
+            case NATURAL_MERGE -> MergeSort.naturalSort(array);
+            case MERGE -> MergeSort.sort(array);
+            case COUNTING -> CountingSort.countingSort(array, profile.min, profile.max);
+            case RADIX -> RadixSort.sort(array);
+            default -> {
+            }
+        }
+    }
+
+    // Best of three, in nanoseconds, sorting a fresh copy each time
+    private static long time(Algorithm algorithm, int[] input, int repeats) {
+        Profile profile = profile(input);
+        int[] copy = new int[input.length];
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long total = 0;
+            for (int i = 0; i < repeats; i++) {
+                System.arraycopy(input, 0, copy, 0, input.length);
+                long begin = System.nanoTime();
+                run(algorithm, copy, profile);
+                total += System.nanoTime() - begin;
+            }
+            best = Math.min(best, total);
+        }
+        return best;
+    }
+}
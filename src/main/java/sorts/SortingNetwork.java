@@ -0,0 +1,113 @@
+package sorts;
+
+import metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Branchless base case for small ranges: Batcher's odd-even merge sort network.
+//
+// A sorting network is a fixed list of compare-exchange steps (i, j) with i < j that puts the
+// smaller value at i and the larger at j. The steps do not depend on the data, and each one is
+// a min and a max that the JIT compiles to conditional moves, so random input costs no branch
+// mispredictions, unlike the inner loop of InsertionSort.
+//
+// The network is built for the next power of two. Positions past the end of the range act as
+// +infinity, so every step that touches them is a no-op and is left out, which gives a network
+// for every size up to MAX_SIZE.
+//
+// This is the scalar kernel. The Vector API that a SIMD bitonic kernel would need is still an
+// incubator module and not enabled in this build.
+public class SortingNetwork {
+
+    public static final int MAX_SIZE = 64;
+
+    // STEPS[n] holds the compare-exchange pairs for n elements as i0, j0, i1, j1, ...
+    private static final int[][] STEPS = new int[MAX_SIZE + 1][];
+
+    static {
+        for (int n = 0; n <= MAX_SIZE; n++) {
+            int size = Integer.highestOneBit(Math.max(n, 1));
+            if (size < n) {
+                size <<= 1;
+            }
+            int[] pairs = new int[size * size];
+            int count = 0;
+            // Odd-even merge sort: p is the size of the runs being merged, k the distance of
+            // the compared elements within the merge
+            for (int p = 1; p < size; p <<= 1) {
+                for (int k = p; k >= 1; k >>= 1) {
+                    for (int j = k % p; j + k < size; j += 2 * k) {
+                        for (int i = 0; i < Math.min(k, size - j - k); i++) {
+                            int a = i + j, b = i + j + k;
+                            // Only pairs inside the same block of 2p elements are compared
+                            if (a / (2 * p) == b / (2 * p) && b < n) {
+                                pairs[count++] = a;
+                                pairs[count++] = b;
+                            }
+                        }
+                    }
+                }
+            }
+            STEPS[n] = Arrays.copyOf(pairs, count);
+        }
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int total = 1 << 22;
+        for (int round = 0; round < 3; round++) {
+            for (int n = 4; n <= MAX_SIZE; n *= 2) {
+                int[] input = random.ints(total - total % n).toArray();
+                int[] array = input.clone();
+                long start = System.nanoTime();
+                for (int from = 0; from < array.length; from += n) {
+                    sort(array, from, from + n);
+                }
+                long network = System.nanoTime() - start;
+                array = input.clone();
+                start = System.nanoTime();
+                for (int from = 0; from < array.length; from += n) {
+                    InsertionSort.sort(array, from, from + n);
+                }
+                long insertion = System.nanoTime() - start;
+                System.out.printf("n=%d: sorting network %.2f ns/element, insertion sort %.2f ns/element%n",
+                        n, (double) network / input.length, (double) insertion / input.length);
+            }
+        }
+    }
+
+    // Number of compare-exchange steps for n elements
+    static int steps(int n) {
+        return STEPS[n].length / 2;
+    }
+
+    // Sorts arr[from, to), at most MAX_SIZE elements
+    public static void sort(int[] arr, int from, int to) {
+        int n = to - from;
+        if (n > MAX_SIZE) {
+            throw new IllegalArgumentException("A sorting network sorts at most " + MAX_SIZE + " elements");
+        }
+        if (n < 2) {
+            return;
+        }
+        if (n == 2) {
+            compareExchange(arr, from, from + 1);
+            Metrics.add(Metrics.Counter.COMPARISONS, 1);
+            Metrics.add(Metrics.Counter.MOVES, 2);
+            return;
+        }
+        int[] pairs = STEPS[n];
+        for (int s = 0; s < pairs.length; s += 2) {
+            compareExchange(arr, from + pairs[s], from + pairs[s + 1]);
+        }
+        Metrics.add(Metrics.Counter.COMPARISONS, pairs.length / 2);
+        Metrics.add(Metrics.Counter.MOVES, pairs.length);
+    }
+
+    private static void compareExchange(int[] arr, int i, int j) {
+        int a = arr[i], b = arr[j];
+        arr[i] = Math.min(a, b);
+        arr[j] = Math.max(a, b);
+    }
+}
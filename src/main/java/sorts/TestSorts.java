@@ -0,0 +1,437 @@
+package sorts;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSorts {
+
+    private static final Random RANDOM = new Random(7);
+
+    private static void assertSorts(Consumer<int[]> sort, int[] input) {
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        int[] actual = input.clone();
+        sort.accept(actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testRadixSort() {
+        assertSorts(RadixSort::sort, new int[0]);
+        assertSorts(RadixSort::sort, new int[]{Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE, 1, -1});
+        assertSorts(RadixSort::sort, RANDOM.ints(100000).toArray());
+        assertSorts(RadixSort::sort, RANDOM.ints(100000, -1000, 1000).toArray());
+    }
+
+    @Test
+    public void testCountingSortWithNegativeValues() {
+        assertSorts(CountingSort::countingSort, RANDOM.ints(10000, -500, 500).toArray());
+        int[] array = {3, -2, 5, -2};
+        CountingSort.countingSort(array, -2, 5);
+        assertArrayEquals(new int[]{-2, -2, 3, 5}, array);
+        assertThrows(IllegalArgumentException.class,
+                () -> CountingSort.countingSort(new int[]{1}, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testSorterDispatch() {
+        Sorter sorter = new Sorter();
+        int[] sorted = {1, 2, 3};
+        assertEquals(Sorter.Algorithm.NONE, sorter.sort(sorted));
+        assertEquals(Sorter.Algorithm.INSERTION, sorter.sort(new int[]{3, 2, 1}));
+
+        int[] nearlySorted = RANDOM.ints(10000).sorted().toArray();
+        nearlySorted[5000] = Integer.MIN_VALUE;
+        assertEquals(Sorter.Algorithm.NATURAL_MERGE, sorter.choose(Sorter.profile(nearlySorted)));
+        // A single descent, but n^2 / 4 inversions
+        int n = 400000;
+        int[] rotated = new int[n];
+        for (int i = 0; i < n; i++) {
+            rotated[i] = (i + n / 2) % n;
+        }
+        int[] copy = rotated.clone();
+        assertNotEquals(Sorter.Algorithm.INSERTION, sorter.sort(copy));
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, copy[i]);
+        }
+        assertEquals(Sorter.Algorithm.COUNTING, sorter.choose(Sorter.profile(RANDOM.ints(10000, -50, 50).toArray())));
+        assertEquals(Sorter.Algorithm.RADIX, sorter.choose(Sorter.profile(RANDOM.ints(10000).toArray())));
+        assertEquals(Sorter.Algorithm.MERGE, sorter.choose(Sorter.profile(RANDOM.ints(1000).toArray())));
+
+        for (int length : new int[]{0, 1, 10, 1000, 100000}) {
+            assertSorts(sorter::sort, RANDOM.ints(length).toArray());
+            assertSorts(sorter::sort, RANDOM.ints(length, 0, 100).toArray());
+        }
+        assertSorts(sorter::sort, nearlySorted);
+        for (int runs : new int[]{2, 3, 9, 100}) {
+            int[] concatenated = new int[10000];
+            for (int r = 0; r < runs; r++) {
+                int from = r * concatenated.length / runs, to = (r + 1) * concatenated.length / runs;
+                int[] run = RANDOM.ints(to - from).sorted().toArray();
+                System.arraycopy(run, 0, concatenated, from, run.length);
+            }
+            assertSorts(MergeSort::naturalSort, concatenated);
+        }
+    }
+
+    @Test
+    public void testCalibrationIsCached(@TempDir Path directory) {
+        Path file = directory.resolve("sorter.properties");
+        Sorter calibrated = Sorter.calibrated(file);
+        Sorter cached = Sorter.calibrated(file);
+        assertEquals(calibrated.toString(), cached.toString());
+        assertSorts(cached::sort, RANDOM.ints(50000).toArray());
+    }
+
+    private static final double[] SPECIAL_DOUBLES = {
+            Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1.5, -1.5
+    };
+
+    private static double[] randomDoubles(int n) {
+        double[] array = new double[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = RANDOM.nextInt(4) == 0
+                    ? SPECIAL_DOUBLES[RANDOM.nextInt(SPECIAL_DOUBLES.length)]
+                    : RANDOM.nextGaussian() * 1e6;
+        }
+        return array;
+    }
+
+    @Test
+    public void testPrimitiveVariants() {
+        for (int n : new int[]{0, 1, 2, 100, 20000}) {
+            int length = n;
+            long[] longs = RANDOM.longs(n).toArray();
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedLongs);
+            for (Consumer<long[]> sort : List.<Consumer<long[]>>of(InsertionSort::sort, MergeSort::sort, RadixSort::sort)) {
+                long[] actual = longs.clone();
+                sort.accept(actual);
+                assertArrayEquals(expectedLongs, actual, "length " + length);
+            }
+
+            double[] doubles = randomDoubles(n);
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedDoubles);
+            for (Consumer<double[]> sort : List.<Consumer<double[]>>of(InsertionSort::sort, MergeSort::sort, RadixSort::sort)) {
+                double[] actual = doubles.clone();
+                sort.accept(actual);
+                // assertArrayEquals compares doubles like Double.equals, so -0.0 and 0.0 differ
+                assertArrayEquals(expectedDoubles, actual, "length " + length);
+            }
+        }
+    }
+
+    private record Entry(int key, long stamp, double weight, String name) {
+    }
+
+    @Test
+    public void testObjectVariantsAreStable() {
+        Entry[] entries = new Entry[5000];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry(RANDOM.nextInt(50) - 25, RANDOM.nextLong() % 100, RANDOM.nextInt(30) / 4.0, "e" + i);
+        }
+        List<Consumer<Entry[]>> byKey = List.of(
+                a -> InsertionSort.sort(a, Comparator.comparingInt(Entry::key)),
+                a -> MergeSort.sort(a, Comparator.comparingInt(Entry::key)),
+                a -> InsertionSort.sortBy(a, Entry::key),
+                a -> MergeSort.sortBy(a, Entry::key),
+                a -> RadixSort.sortByInt(a, Entry::key));
+        Entry[] expected = entries.clone();
+        // Arrays.sort on objects is a stable merge sort as well
+        Arrays.sort(expected, Comparator.comparingInt(Entry::key));
+        for (Consumer<Entry[]> sort : byKey) {
+            Entry[] actual = entries.clone();
+            sort.accept(actual);
+            assertArrayEquals(expected, actual);
+        }
+
+        Arrays.sort(expected = entries.clone(), Comparator.comparingLong(Entry::stamp));
+        Entry[] actual = entries.clone();
+        RadixSort.sortByLong(actual, Entry::stamp);
+        assertArrayEquals(expected, actual);
+
+        Arrays.sort(expected = entries.clone(), Comparator.comparingDouble(Entry::weight));
+        RadixSort.sortByDouble(actual = entries.clone(), Entry::weight);
+        assertArrayEquals(expected, actual);
+
+        String[] names = Arrays.stream(entries).map(Entry::name).toArray(String[]::new);
+        String[] expectedNames = names.clone();
+        Arrays.sort(expectedNames);
+        MergeSort.sort(names);
+        assertArrayEquals(expectedNames, names);
+    }
+
+    @Test
+    public void testExternalSort(@TempDir Path directory) throws IOException {
+        int[] values = RANDOM.ints(300000).toArray();
+        Path input = directory.resolve("input.bin");
+        Path output = directory.resolve("output.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES);
+        bytes.asIntBuffer().put(values);
+        Files.write(input, bytes.array());
+
+        // A small budget and fan-in force many runs and several merge passes
+        new ExternalSort(64 << 10, 3, directory, 2).sort(input, output);
+
+        int[] sorted = new int[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(output)).asIntBuffer().get(sorted);
+        Arrays.sort(values);
+        assertArrayEquals(values, sorted);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+
+        // Appended sorted batches and a rotation have few descents in every chunk
+        int n = values.length;
+        int[] batches = new int[n];
+        for (int i = 0; i < n; i++) {
+            batches[i] = i % (n / 3);
+        }
+        int[] rotated = new int[n];
+        for (int i = 0; i < n; i++) {
+            rotated[i] = (i + n / 2) % n;
+        }
+        for (int[] presorted : List.of(batches, rotated)) {
+            bytes.clear();
+            bytes.asIntBuffer().put(presorted);
+            Files.write(input, bytes.array());
+            new ExternalSort(1 << 20, 4, directory, 2).sort(input, output);
+            ByteBuffer.wrap(Files.readAllBytes(output)).asIntBuffer().get(sorted);
+            int[] expected = presorted.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, sorted);
+        }
+
+        Files.write(input, new byte[0]);
+        new ExternalSort().sort(input, output);
+        assertEquals(0, Files.size(output));
+        Files.write(input, new byte[3]);
+        assertThrows(IllegalArgumentException.class, () -> new ExternalSort().sort(input, output));
+    }
+
+    @Test
+    public void testAmericanFlagSort() {
+        for (int n : new int[]{0, 1, 31, 33, 1000, 1 << 18}) {
+            assertSorts(AmericanFlagSort::sort, RANDOM.ints(n).toArray());
+            assertSorts(AmericanFlagSort::sort, RANDOM.ints(n, -300, 300).toArray());
+            assertSorts(a -> AmericanFlagSort.sortSequential(a, 0, a.length), RANDOM.ints(n).toArray());
+        }
+        // Values that only differ in the lowest digit, and extreme values
+        assertSorts(AmericanFlagSort::sort, RANDOM.ints(100000, 0x12345600, 0x12345700).toArray());
+        int[] extremes = new int[5000];
+        for (int i = 0; i < extremes.length; i++) {
+            extremes[i] = RANDOM.nextBoolean() ? Integer.MIN_VALUE + RANDOM.nextInt(3) : Integer.MAX_VALUE - RANDOM.nextInt(3);
+        }
+        assertSorts(AmericanFlagSort::sort, extremes);
+
+        int[] array = {5, 4, 3, 2, 1, 0};
+        InsertionSort.sort(array, 1, 5);
+        assertArrayEquals(new int[]{5, 1, 2, 3, 4, 0}, array);
+    }
+
+    @Test
+    public void testQuickSort() {
+        assertSorts(QuickSort::sort, new int[0]);
+        assertSorts(QuickSort::sort, new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, 1});
+        int n = 100000;
+        int[] sorted = new int[n];
+        int[] reversed = new int[n];
+        int[] organPipe = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = i;
+            reversed[i] = n - i;
+            organPipe[i] = Math.min(i, n - i);
+        }
+        List<int[]> inputs = List.of(RANDOM.ints(n).toArray(), RANDOM.ints(n, 0, 3).toArray(), new int[n],
+                sorted, reversed, organPipe);
+        for (int[] input : inputs) {
+            assertSorts(QuickSort::sort, input);
+            assertSorts(QuickSort::parallelSort, input);
+        }
+        // One value dominates, so both pivots are usually equal and the range is split three
+        // ways with a wide spread of values on either side
+        for (int round = 0; round < 20; round++) {
+            int[] dominant = new int[n / 10];
+            for (int i = 0; i < dominant.length; i++) {
+                dominant[i] = RANDOM.nextInt(10) < 7 ? 42 : RANDOM.nextInt();
+            }
+            assertSorts(QuickSort::sort, dominant);
+            assertSorts(QuickSort::parallelSort, dominant);
+        }
+        assertSorts(QuickSort::sort, RANDOM.ints(200, 0, 10).toArray());
+        int[] array = RANDOM.ints(1000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected, 100, 900);
+        QuickSort.sort(array, 100, 900);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void testHeapSort() {
+        assertSorts(HeapSort::sort, new int[0]);
+        assertSorts(HeapSort::sort, RANDOM.ints(10000).toArray());
+        assertSorts(HeapSort::sort, RANDOM.ints(10000, 0, 5).toArray());
+        int[] array = RANDOM.ints(1000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected, 10, 990);
+        HeapSort.sort(array, 10, 990);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void testQuickSelect() {
+        List<int[]> inputs = List.of(RANDOM.ints(100000).toArray(), RANDOM.ints(100000, 0, 4).toArray(),
+                new int[1000], RANDOM.ints(7).toArray(), RANDOM.ints(10000).sorted().toArray());
+        for (int[] input : inputs) {
+            int[] sorted = input.clone();
+            Arrays.sort(sorted);
+            for (int k : new int[]{0, input.length / 3, (input.length - 1) / 2, input.length - 1}) {
+                int[] array = input.clone();
+                assertEquals(sorted[k], QuickSelect.select(array, k));
+                assertEquals(sorted[k], array[k]);
+                for (int i = 0; i < array.length; i++) {
+                    assertTrue(i < k ? array[i] <= array[k] : array[i] >= array[k]);
+                }
+            }
+            assertEquals(sorted[(input.length - 1) / 2], QuickSelect.median(input.clone()));
+
+            int[] array = input.clone();
+            int k = Math.min(100, input.length);
+            QuickSelect.partialSort(array, k);
+            assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(array, k));
+        }
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.select(new int[3], 3));
+        assertThrows(IllegalArgumentException.class, () -> QuickSelect.median(new int[0]));
+    }
+
+    @Test
+    public void testTopK() {
+        int[] input = RANDOM.ints(100000).toArray();
+        input[42] = Integer.MIN_VALUE;
+        input[43] = Integer.MAX_VALUE;
+        int[] sorted = input.clone();
+        Arrays.sort(sorted);
+
+        assertArrayEquals(Arrays.copyOf(sorted, 10), TopK.smallest(Arrays.stream(input).iterator(), 10));
+        int[] largest = TopK.largest(Arrays.stream(input).iterator(), 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], largest[i]);
+        }
+        assertArrayEquals(new int[]{1, 2}, TopK.smallest(Arrays.stream(new int[]{2, 1}).iterator(), 5));
+        assertEquals(0, TopK.smallest(Arrays.stream(input).iterator(), 0).length);
+
+        TopK topK = TopK.smallest(3);
+        topK.addAll(Arrays.stream(new int[]{5, 1, 4, 2, 3}).iterator());
+        assertEquals(3, topK.threshold());
+        assertEquals(3, topK.size());
+    }
+
+    @Test
+    public void testSortingNetwork() {
+        // By the 0-1 principle a network that sorts every sequence of zeros and ones sorts everything
+        for (int n = 0; n <= 16; n++) {
+            for (int bits = 0; bits < 1 << n; bits++) {
+                int[] input = new int[n];
+                for (int i = 0; i < n; i++) {
+                    input[i] = bits >>> i & 1;
+                }
+                assertSorts(a -> SortingNetwork.sort(a, 0, a.length), input);
+            }
+        }
+        for (int n = 17; n <= SortingNetwork.MAX_SIZE; n++) {
+            for (int round = 0; round < 100; round++) {
+                assertSorts(a -> SortingNetwork.sort(a, 0, a.length), RANDOM.ints(n, 0, round % 2 == 0 ? 3 : 1000).toArray());
+            }
+        }
+        assertTrue(SortingNetwork.steps(16) < 16 * 15 / 2);
+        int[] array = {9, 8, 7, 3, 2, 1, 0};
+        SortingNetwork.sort(array, 1, 6);
+        assertArrayEquals(new int[]{9, 1, 2, 3, 7, 8, 0}, array);
+        assertThrows(IllegalArgumentException.class, () -> SortingNetwork.sort(new int[65], 0, 65));
+        assertSorts(MergeSort::sort, RANDOM.ints(1000).toArray());
+    }
+
+    @Test
+    public void testArgsortAndPermutation() {
+        int[] ids = RANDOM.ints(10000, 0, 100).toArray();
+        double[] prices = RANDOM.doubles(10000).toArray();
+        prices[3] = Double.NaN;
+        prices[4] = -0.0;
+        long[] times = RANDOM.longs(10000).toArray();
+
+        for (int[] order : List.of(MergeSort.argsort(ids), RadixSort.argsort(ids))) {
+            for (int i = 1; i < order.length; i++) {
+                assertTrue(ids[order[i - 1]] < ids[order[i]]
+                        || ids[order[i - 1]] == ids[order[i]] && order[i - 1] < order[i], "not sorted or not stable");
+            }
+        }
+        for (int[] order : List.of(MergeSort.argsort(prices), RadixSort.argsort(prices))) {
+            for (int i = 1; i < order.length; i++) {
+                assertTrue(Double.compare(prices[order[i - 1]], prices[order[i]]) <= 0);
+            }
+        }
+        for (int[] order : List.of(MergeSort.argsort(times), RadixSort.argsort(times))) {
+            for (int i = 1; i < order.length; i++) {
+                assertTrue(times[order[i - 1]] <= times[order[i]]);
+            }
+        }
+
+        int[] order = RadixSort.argsort(ids);
+        int[] sortedIds = ids.clone();
+        double[] sortedPrices = prices.clone();
+        int[] rows = Permutation.identity(ids.length);
+        Permutation.apply(order, new int[][]{sortedIds, rows}, new double[][]{sortedPrices});
+        int[] expected = ids.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sortedIds);
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(Double.doubleToLongBits(prices[rows[i]]), Double.doubleToLongBits(sortedPrices[i]));
+        }
+        assertArrayEquals(order, rows);
+        assertArrayEquals(order, Permutation.inverse(Permutation.inverse(order)));
+        assertThrows(IllegalArgumentException.class, () -> Permutation.apply(order, new int[3]));
+    }
+
+    @Test
+    public void testKWayMerge() {
+        for (int k : new int[]{0, 1, 2, 3, 7, 64}) {
+            int[][] arrays = new int[k][];
+            for (int i = 0; i < k; i++) {
+                arrays[i] = RANDOM.ints(RANDOM.nextInt(200), -50, 50).sorted().toArray();
+            }
+            if (k > 2) {
+                arrays[1] = new int[0];
+                arrays[2] = new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE};
+            }
+            int[] expected = Stream.of(arrays).flatMapToInt(Arrays::stream).sorted().toArray();
+            assertArrayEquals(expected, KWayMerge.merge(arrays));
+
+            List<PrimitiveIterator.OfInt> iterators = Stream.of(arrays).map(a -> Arrays.stream(a).iterator()).toList();
+            KWayMerge merge = new KWayMerge(iterators);
+            int[] buffer = new int[expected.length + 5];
+            int written = merge.drainTo(buffer, 0, 10);
+            written += merge.drainTo(buffer, written, buffer.length - written);
+            assertEquals(expected.length, written);
+            assertArrayEquals(expected, Arrays.copyOf(buffer, written));
+            assertFalse(merge.hasNext());
+        }
+        assertThrows(NoSuchElementException.class, () -> KWayMerge.of().nextInt());
+    }
+}
@@ -0,0 +1,116 @@
+package sorts;
+
+import java.util.PrimitiveIterator;
+
+// Keeps the k smallest (or largest) of a stream of ints in a bounded binary heap, O(n log k)
+// time and O(k) memory no matter how long the stream is.
+//
+// The heap is a max-heap of the k best values so far, so its top is the one to replace when a
+// better value arrives. For the largest values every value is stored as ~value, which reverses
+// the order without the overflow that negating Integer.MIN_VALUE would cause.
+public class TopK {
+
+    private final int[] heap;
+    private final boolean largest;
+    private int size;
+
+    private TopK(int k, boolean largest) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.heap = new int[k];
+        this.largest = largest;
+    }
+
+    public static TopK smallest(int k) {
+        return new TopK(k, false);
+    }
+
+    public static TopK largest(int k) {
+        return new TopK(k, true);
+    }
+
+    // The k smallest values in ascending order
+    public static int[] smallest(PrimitiveIterator.OfInt values, int k) {
+        TopK topK = smallest(k);
+        topK.addAll(values);
+        return topK.toSortedArray();
+    }
+
+    // The k largest values in descending order
+    public static int[] largest(PrimitiveIterator.OfInt values, int k) {
+        TopK topK = largest(k);
+        topK.addAll(values);
+        return topK.toSortedArray();
+    }
+
+    public void add(int value) {
+        int key = largest ? ~value : value;
+        if (size < heap.length) {
+            siftUp(key, size++);
+        } else if (size > 0 && key < heap[0]) {
+            // Replace the worst of the kept values in place
+            siftDown(key);
+        }
+    }
+
+    public void addAll(PrimitiveIterator.OfInt values) {
+        while (values.hasNext()) {
+            add(values.nextInt());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The worst of the kept values, i.e. the k-th smallest (or largest) so far
+    public int threshold() {
+        if (size == 0) {
+            throw new IllegalStateException("No values yet");
+        }
+        return largest ? ~heap[0] : heap[0];
+    }
+
+    // The kept values, best first: ascending for smallest, descending for largest
+    public int[] toSortedArray() {
+        int[] result = new int[size];
+        System.arraycopy(heap, 0, result, 0, size);
+        HeapSort.sort(result);
+        if (largest) {
+            for (int i = 0; i < size; i++) {
+                result[i] = ~result[i];
+            }
+        }
+        return result;
+    }
+
+    private void siftUp(int key, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = key;
+    }
+
+    // Puts key at the top and moves it down until both children are smaller
+    private void siftDown(int key) {
+        int i = 0;
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (key >= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+    }
+}